@@ -0,0 +1,207 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Closed-loop HTTP load generator for comparing platform and virtual request threads.
+ * Needs only the JDK (single-file source launch):
+ *
+ * <pre>
+ *   java loadtest/LoadTest.java --url http://localhost:8080/api/courses/{id} \
+ *        --token &lt;JWT&gt; --concurrency 50,200,800 --seconds 30
+ * </pre>
+ *
+ * Each of the N workers sends its next request as soon as the previous one returns, for
+ * the given duration after a short warm-up. Reports throughput, p50/p95/p99/max latency and
+ * responses by status. Run it once against the app started with
+ * {@code --spring.threads.virtual.enabled=false} and once with {@code =true}; the
+ * Server-Timing header and /api/admin/perf/slow show where the time went.
+ *
+ * Options: {@code --accept} sets the Accept header (e.g. {@code application/x-ndjson} for
+ * the streaming student reads); {@code --pid} samples the server process from /proc during
+ * each level and adds its peak thread count, resident memory and open file descriptors
+ * (sockets to clients and to Mongo) to the report.
+ *
+ * Reader scaling (blocking vs reactive reads): run with {@code --pid} and
+ * {@code --concurrency 1000,2000,4000} against the blocking GET /api/courses/{id} and
+ * then the reactive GET /api/student/course/{id} (and /api/student/browse with
+ * {@code --accept application/x-ndjson}) for the same course, with both thread modes. It
+ * needs a reachable Mongo and a real user, since JwtFilter looks the caller up on every request.
+ *
+ * Until that run is made, ReaderScalingBenchmark (src/jmh) measures the same comparison
+ * offline: thousands of concurrent readers on stand-in blocking and reactive repositories
+ * with a simulated Mongo round trip, reporting wave time, platform threads and heap per level.
+ *
+ * Reference run (2026-10-18, JDK 21, 1 vCPU shared by app and generator, 20 s per level
+ * after one discarded run). Target: GET /api/courses with a valid token and no reachable
+ * Mongo, so JwtFilter's user lookup waits out a 200 ms server-selection timeout:
+ *
+ * <pre>
+ *   threads   concurrency   req/s   p50 ms   p95 ms   p99 ms   max ms
+ *   platform       50         227      215      261      331      401
+ *   platform      200         381      452     1053     1433     2364
+ *   platform      800         386     2121     3243     3898     6621
+ *   virtual        50         191      246      384      498      762
+ *   virtual       200         342      569      920     1125     1262
+ *   virtual       800         456     1814     3038     3295     3397
+ * </pre>
+ *
+ * With a single core this run is CPU-bound, so the gains are small: virtual threads keep
+ * throughput growing past Tomcat's 200-thread pool and cut the tail (max 3.4 s vs 6.6 s at
+ * 800), while at low concurrency they cost a little. Repeat on production-sized hardware
+ * against a real Mongo before drawing conclusions; past the pool size the Mongo connection
+ * pool (100 by default) becomes the next limit.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI url = URI.create(require(options, "url"));
+        String token = options.get("token");
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(60)).GET();
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        if (options.containsKey("accept")) builder.header("Accept", options.get("accept"));
+        Path proc = options.containsKey("pid") ? Path.of("/proc", options.get("pid")) : null;
+        HttpRequest request = builder.build();
+
+        System.out.printf("%-12s %10s %10s %10s %10s %10s %8s %8s %8s   %s%n", "concurrency", "requests",
+                "req/s", "p50 ms", "p95 ms", "p99 ms", "threads", "rss MB", "fds", "max ms / statuses");
+        for (String level : options.getOrDefault("concurrency", "50,200,800").split(",")) {
+            int concurrency = Integer.parseInt(level.trim());
+            run(client, request, concurrency, warmup, null);
+            Result result = run(client, request, concurrency, seconds, proc);
+            System.out.printf("%-12d %10d %10.0f %10.1f %10.1f %10.1f %8s %8s %8s   %.1f %s%n",
+                    concurrency, result.latencies.length, result.latencies.length / (double) seconds,
+                    percentile(result.latencies, 0.50), percentile(result.latencies, 0.95),
+                    percentile(result.latencies, 0.99), peak(result.threads), peak(result.rssKb / 1024),
+                    peak(result.fds), percentile(result.latencies, 1.0), result.statuses);
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, int seconds, Path proc)
+            throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Future<Worker>> workers = new ArrayList<>(concurrency);
+        Result result = new Result();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (proc != null) executor.submit(() -> sample(proc, deadline, result));
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    Worker worker = new Worker();
+                    while (System.nanoTime() < deadline) {
+                        long started = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        worker.record(System.nanoTime() - started, status);
+                    }
+                    return worker;
+                }));
+            }
+        }
+
+        int total = 0;
+        for (Future<Worker> worker : workers) total += worker.get().count;
+        result.latencies = new long[total];
+        int offset = 0;
+        for (Future<Worker> future : workers) {
+            Worker worker = future.get();
+            System.arraycopy(worker.latencies, 0, result.latencies, offset, worker.count);
+            offset += worker.count;
+            worker.statuses.forEach((status, count) -> result.statuses.merge(status, count, Integer::sum));
+        }
+        Arrays.sort(result.latencies);
+        return result;
+    }
+
+    // Peak threads, resident memory and open descriptors of the server process while the level runs
+    private static Void sample(Path proc, long deadline, Result result) throws InterruptedException {
+        while (System.nanoTime() < deadline) {
+            try {
+                for (String line : Files.readAllLines(proc.resolve("status"))) {
+                    if (line.startsWith("Threads:")) result.threads = Math.max(result.threads, kb(line));
+                    if (line.startsWith("VmRSS:")) result.rssKb = Math.max(result.rssKb, kb(line));
+                }
+                try (Stream<Path> fds = Files.list(proc.resolve("fd"))) {
+                    result.fds = Math.max(result.fds, fds.count());
+                }
+            } catch (IOException e) {
+                return null; // process gone or not readable
+            }
+            Thread.sleep(200);
+        }
+        return null;
+    }
+
+    private static long kb(String statusLine) {
+        return Long.parseLong(statusLine.replaceAll("[^0-9]", ""));
+    }
+
+    private static String peak(long value) {
+        return value > 0 ? Long.toString(value) : "-";
+    }
+
+    private static double percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static String require(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) throw new IllegalArgumentException("Missing --" + name);
+        return value;
+    }
+
+    private static final class Worker {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+        void record(long nanos, int status) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+            statuses.merge(status, 1, Integer::sum);
+        }
+    }
+
+    private static final class Result {
+        private long[] latencies;
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+        private volatile long threads;
+        private volatile long rssKb;
+        private volatile long fds;
+    }
+}
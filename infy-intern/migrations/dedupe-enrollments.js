@@ -0,0 +1,60 @@
+// Merges duplicate enrollments so the unique (studentEmail, courseId) index can be built.
+//
+// Before the index existed, double-clicks and retries could enroll a student twice. Until
+// the duplicates are gone the index cannot be created: the "mongoIndexes" health check
+// reports enrollments.student_course_unique as DOWN and enrollment is not deduplicated.
+//
+// For every (studentEmail, courseId) with more than one enrollment, the enrollment with the
+// highest progress (then the oldest) is kept and absorbs the others: completion bitsets are
+// OR-ed word by word, progress and watchProgress take the maximum, and status becomes
+// Completed if any copy was. The other copies are deleted and the course's studentsCount is
+// lowered by the number removed. Instructor rollups and platform statistics pick up the new
+// counts at their nightly rebuild.
+//
+// Dry run (prints what would change):
+//   mongosh "$MONGODB_URI" migrations/dedupe-enrollments.js
+// Apply:
+//   mongosh "$MONGODB_URI" --eval 'var apply = true' migrations/dedupe-enrollments.js
+// The running application retries the index every skillforge.mongo.index-retry-ms, so health
+// turns UP again without a restart.
+
+const applyChanges = typeof apply !== 'undefined' && apply === true;
+
+const groups = db.enrollments.aggregate([
+  { $group: { _id: { studentEmail: '$studentEmail', courseId: '$courseId' }, ids: { $push: '$_id' }, count: { $sum: 1 } } },
+  { $match: { count: { $gt: 1 } } },
+], { allowDiskUse: true });
+
+let merged = 0;
+let removed = 0;
+groups.forEach((group) => {
+  const copies = db.enrollments.find({ _id: { $in: group.ids } }).toArray();
+  copies.sort((a, b) => (b.progress || 0) - (a.progress || 0) || (a._id < b._id ? -1 : 1));
+  const keeper = copies[0];
+  const others = copies.slice(1);
+
+  const completion = {};
+  copies.forEach((copy) => {
+    Object.entries(copy.completion || {}).forEach(([word, bits]) => {
+      completion[word] = (completion[word] || 0n) | BigInt(bits.toString());
+    });
+  });
+  const set = {
+    progress: Math.max(...copies.map((c) => c.progress || 0)),
+    watchProgress: Math.max(...copies.map((c) => c.watchProgress || 0)),
+  };
+  Object.entries(completion).forEach(([word, bits]) => { set['completion.' + word] = NumberLong(bits.toString()); });
+  if (copies.some((c) => c.status === 'Completed')) set.status = 'Completed';
+
+  print(`${group._id.studentEmail} / ${group._id.courseId}: keep ${keeper._id}, remove ${others.map((o) => o._id).join(', ')}`);
+  if (applyChanges) {
+    db.enrollments.updateOne({ _id: keeper._id }, { $set: set });
+    db.enrollments.deleteMany({ _id: { $in: others.map((o) => o._id) } });
+    const courseId = /^[0-9a-f]{24}$/.test(group._id.courseId) ? ObjectId(group._id.courseId) : group._id.courseId;
+    db.courses.updateOne({ _id: courseId }, { $inc: { studentsCount: -others.length } });
+  }
+  merged++;
+  removed += others.length;
+});
+
+print(`${applyChanges ? 'Merged' : 'Would merge'} ${merged} duplicate group(s), ${applyChanges ? 'removed' : 'removing'} ${removed} enrollment(s)`);
@@ -0,0 +1,144 @@
+package com.skill_forge.infy_intern.bench;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Runs the JMH benchmarks and compares each score with the checked-in baseline. Every
+ * benchmark here measures average time, so a score more than {@code bench.threshold}
+ * (a fraction, 0.25 = 25%) above its baseline is a regression and the process exits
+ * non-zero, failing {@code mvn -P benchmarks verify}. Both scores carry JMH's 99.9%
+ * confidence interval; a slowdown whose interval still overlaps the baseline's is reported
+ * as noise instead, so a busy machine does not fail the build on its own. Benchmarks
+ * without a baseline are
+ * reported but never fail the build. With {@code bench.update-baseline=true} the baseline
+ * file is rewritten from this run instead.
+ */
+public final class BenchmarkGate {
+
+    private static final String PACKAGE_PREFIX = "com.skill_forge.infy_intern.";
+
+    private BenchmarkGate() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double threshold = Double.parseDouble(System.getProperty("bench.threshold", "0.25"));
+        Path baselineFile = Path.of(System.getProperty("bench.baseline", "src/jmh/resources/benchmark-baseline.properties"));
+        boolean updateBaseline = Boolean.getBoolean("bench.update-baseline");
+
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("bench.include", ".*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("bench.report", "target/jmh-result.json"))
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Score> scores = new TreeMap<>();
+        for (RunResult run : results) {
+            Result<?> primary = run.getPrimaryResult();
+            scores.put(key(run), new Score(primary.getScore(), primary.getScoreError(), primary.getScoreUnit()));
+        }
+
+        if (updateBaseline) {
+            Map<String, Score> merged = new TreeMap<>(readBaseline(baselineFile));
+            merged.putAll(scores);
+            writeBaseline(baselineFile, merged);
+            System.out.println("📏 Baseline updated with " + scores.size() + " score(s): " + baselineFile);
+            System.exit(0);
+        }
+
+        Map<String, Score> baseline = readBaseline(baselineFile);
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%n%-70s %24s %24s %9s%n", "benchmark", "baseline", "score", "change");
+        for (Map.Entry<String, Score> entry : scores.entrySet()) {
+            Score score = entry.getValue();
+            Score expected = baseline.get(entry.getKey());
+            if (expected == null || !expected.unit().equals(score.unit())) {
+                System.out.printf("%-70s %24s %24s %9s%n", entry.getKey(), "-", score, "new");
+                continue;
+            }
+            double change = score.value() / expected.value() - 1;
+            boolean slower = change > threshold;
+            boolean beyondNoise = score.lower() > expected.upper();
+            System.out.printf("%-70s %24s %24s %+8.1f%%%s%n", entry.getKey(), expected, score, change * 100,
+                    !slower ? "" : beyondNoise ? "  ❌" : "  (within error)");
+            if (slower && beyondNoise) regressions.add(entry.getKey());
+        }
+
+        if (!regressions.isEmpty()) {
+            System.err.printf("❌ %d benchmark(s) more than %.0f%% slower than baseline: %s%n",
+                    regressions.size(), threshold * 100, regressions);
+            System.exit(1);
+        }
+        System.out.printf("✅ No benchmark more than %.0f%% slower than baseline%n", threshold * 100);
+        System.exit(0);
+    }
+
+    // e.g. service.QuizGradingBenchmark.gradeSubmission.questions-50
+    private static String key(RunResult run) {
+        StringBuilder key = new StringBuilder(run.getParams().getBenchmark().replace(PACKAGE_PREFIX, ""));
+        for (String param : new TreeSet<>(run.getParams().getParamsKeys())) {
+            key.append('.').append(param).append('-').append(run.getParams().getParam(param));
+        }
+        return key.toString();
+    }
+
+    private static Map<String, Score> readBaseline(Path file) throws IOException {
+        Map<String, Score> baseline = new TreeMap<>();
+        if (!Files.exists(file)) return baseline;
+        for (String line : Files.readAllLines(file)) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            int equals = line.indexOf('=');
+            // 12.345 ± 0.678 us/op, the error being optional
+            String[] value = line.substring(equals + 1).strip().split("\\s+");
+            boolean hasError = value.length > 2 && value[1].equals("±");
+            baseline.put(line.substring(0, equals).strip(), new Score(Double.parseDouble(value[0]),
+                    hasError ? Double.parseDouble(value[2]) : 0, value.length > 1 ? value[value.length - 1] : ""));
+        }
+        return baseline;
+    }
+
+    private static void writeBaseline(Path file, Map<String, Score> baseline) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# JMH baseline scores (average time, lower is better) checked by BenchmarkGate.");
+        lines.add("# Machine-specific: regenerate on the machine that runs the gate with");
+        lines.add("#   mvn -P benchmarks verify -Dbench.update-baseline=true");
+        baseline.forEach((key, score) -> lines.add(key + " = " + score));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, lines);
+    }
+
+    private record Score(double value, double error, String unit) {
+        // JMH reports NaN when there are too few iterations to estimate an error
+        double lower() {
+            return Double.isNaN(error) ? value : value - error;
+        }
+
+        double upper() {
+            return Double.isNaN(error) ? value : value + error;
+        }
+
+        @Override
+        public String toString() {
+            return Double.isNaN(error)
+                    ? String.format(Locale.ROOT, "%.3f %s", value, unit)
+                    : String.format(Locale.ROOT, "%.3f ± %.3f %s", value, error, unit);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.skill_forge.infy_intern.bench;
+
+import org.bson.Document;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * MongoTemplate stand-in backed by maps, so benchmarks run without a database.
+ *
+ * Supports what the benchmarked paths call: save/insert, findById, and find/findOne with
+ * top-level equality and {@code $in} criteria (sort and projections are ignored). Anything
+ * else reaches the unreachable database factory and fails loudly. An optional simulated
+ * round trip is parked on every call, for comparing request shapes rather than CPU cost.
+ */
+public class InMemoryMongoTemplate extends MongoTemplate {
+
+    private final Map<Class<?>, Map<Object, Object>> collections = new ConcurrentHashMap<>();
+    private volatile long roundTripNanos;
+    private volatile boolean discardWrites;
+
+    public InMemoryMongoTemplate() {
+        super(unreachableDatabase());
+    }
+
+    public InMemoryMongoTemplate roundTripMicros(long micros) {
+        this.roundTripNanos = micros * 1_000;
+        return this;
+    }
+
+    // For write-heavy benchmarks that would otherwise grow the heap every iteration
+    public InMemoryMongoTemplate discardWrites() {
+        this.discardWrites = true;
+        return this;
+    }
+
+    public void roundTrip() {
+        if (roundTripNanos > 0) LockSupport.parkNanos(roundTripNanos);
+    }
+
+    // For stand-ins that wait on a timer instead of parking the calling thread
+    public long roundTripNanos() {
+        return roundTripNanos;
+    }
+
+    @Override
+    public <T> T save(T entity) {
+        roundTrip();
+        if (!discardWrites) {
+            collection(entity.getClass()).put(Objects.requireNonNull(property(entity, "id"), "id"), entity);
+        }
+        return entity;
+    }
+
+    @Override
+    public <T> T insert(T entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <T> T findById(Object id, Class<T> entityClass) {
+        roundTrip();
+        return entityClass.cast(collection(entityClass).get(id));
+    }
+
+    @Override
+    public <T> List<T> find(Query query, Class<T> entityClass) {
+        roundTrip();
+        return matching(query.getQueryObject(), entityClass, query.getLimit());
+    }
+
+    @Override
+    public <T> T findOne(Query query, Class<T> entityClass) {
+        roundTrip();
+        List<T> found = matching(query.getQueryObject(), entityClass, 1);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    public <T> List<T> findAll(Class<T> entityClass) {
+        roundTrip();
+        return matching(new Document(), entityClass, 0);
+    }
+
+    public <T> List<T> matching(Document criteria, Class<T> entityClass, int limit) {
+        List<T> result = new ArrayList<>();
+        for (Object entity : collection(entityClass).values()) {
+            if (matches(entity, criteria)) {
+                result.add(entityClass.cast(entity));
+                if (limit > 0 && result.size() == limit) break;
+            }
+        }
+        return result;
+    }
+
+    private Map<Object, Object> collection(Class<?> type) {
+        return collections.computeIfAbsent(type, k -> new ConcurrentHashMap<>());
+    }
+
+    private static boolean matches(Object entity, Document criteria) {
+        for (Map.Entry<String, Object> criterion : criteria.entrySet()) {
+            Object actual = property(entity, criterion.getKey().equals("_id") ? "id" : criterion.getKey());
+            Object expected = criterion.getValue();
+            if (expected instanceof Document operator) {
+                if (operator.size() != 1 || !(operator.get("$in") instanceof Collection<?> values)) {
+                    throw new UnsupportedOperationException("Criteria not supported in memory: " + criterion);
+                }
+                if (!values.contains(actual)) return false;
+            } else if (!Objects.equals(actual, expected)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object property(Object entity, String name) {
+        return PropertyAccessorFactory.forBeanPropertyAccess(entity).getPropertyValue(name);
+    }
+
+    private static MongoDatabaseFactory unreachableDatabase() {
+        MongoExceptionTranslator translator = new MongoExceptionTranslator();
+        return (MongoDatabaseFactory) Proxy.newProxyInstance(MongoDatabaseFactory.class.getClassLoader(),
+                new Class<?>[]{MongoDatabaseFactory.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getExceptionTranslator" -> translator;
+                    case "isTransactionActive" -> false;
+                    case "toString" -> "unreachable database";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(
+                            "Benchmarks run offline; " + method.getName() + " needs an in-memory stand-in");
+                });
+    }
+}
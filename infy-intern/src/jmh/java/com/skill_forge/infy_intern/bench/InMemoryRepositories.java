@@ -0,0 +1,96 @@
+package com.skill_forge.infy_intern.bench;
+
+import org.bson.Document;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.beans.Introspector;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data repository stand-ins over an {@link InMemoryMongoTemplate}: save, findById,
+ * findAll, count and derived {@code findByXAndY} queries with equality. Other methods throw,
+ * so a benchmark never silently measures a no-op.
+ *
+ * Reactive stand-ins ({@link #createReactive}) answer reads only, after the store's round
+ * trip on a timer, so no thread waits while the simulated query runs.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static <R> R create(Class<R> repositoryType, InMemoryMongoTemplate store) {
+        Class<?> domainType = domainType(repositoryType);
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save", "insert" -> store.save(args[0]);
+                    case "findById" -> Optional.ofNullable(store.findById(args[0], domainType));
+                    case "findAll" -> store.findAll(domainType);
+                    case "count" -> (long) store.findAll(domainType).size();
+                    case "toString" -> "in-memory " + repositoryType.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> derivedQuery(store, domainType, method, args);
+                }));
+    }
+
+    public static <R> R createReactive(Class<R> repositoryType, InMemoryMongoTemplate store) {
+        Class<?> domainType = domainType(repositoryType);
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> afterRoundTrip(store)
+                            .flatMap(tick -> Mono.justOrEmpty(first(store.matching(new Document("_id", args[0]), domainType, 1))));
+                    case "findAll" -> afterRoundTrip(store)
+                            .flatMapMany(tick -> Flux.fromIterable(store.matching(new Document(), domainType, 0)));
+                    case "toString" -> "in-memory " + repositoryType.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        Document criteria = derivedCriteria(method, args);
+                        yield afterRoundTrip(store).flatMapMany(tick -> Flux.fromIterable(store.matching(criteria, domainType, 0)));
+                    }
+                }));
+    }
+
+    private static Mono<Long> afterRoundTrip(InMemoryMongoTemplate store) {
+        return Mono.delay(Duration.ofNanos(store.roundTripNanos()));
+    }
+
+    private static Object first(List<?> found) {
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private static Object derivedQuery(InMemoryMongoTemplate store, Class<?> domainType, Method method, Object[] args) {
+        Document criteria = derivedCriteria(method, args);
+        store.roundTrip();
+        List<?> found = store.matching(criteria, domainType, 0);
+        if (method.getReturnType() == Optional.class) {
+            return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+        }
+        return found;
+    }
+
+    private static Document derivedCriteria(Method method, Object[] args) {
+        String name = method.getName();
+        if (!name.startsWith("findBy") || args == null || name.contains("OrderBy")) {
+            throw new UnsupportedOperationException(method + " has no in-memory stand-in");
+        }
+        String[] properties = name.substring("findBy".length()).split("And");
+        Document criteria = new Document();
+        for (int i = 0; i < properties.length; i++) {
+            criteria.put(Introspector.decapitalize(properties[i]), args[i]);
+        }
+        return criteria;
+    }
+
+    private static Class<?> domainType(Class<?> repositoryType) {
+        ParameterizedType repository = (ParameterizedType) repositoryType.getGenericInterfaces()[0];
+        return (Class<?>) repository.getActualTypeArguments()[0];
+    }
+}
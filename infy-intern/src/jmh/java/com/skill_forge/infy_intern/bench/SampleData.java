@@ -0,0 +1,110 @@
+package com.skill_forge.infy_intern.bench;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Note;
+import com.skill_forge.infy_intern.model.Quiz;
+import com.skill_forge.infy_intern.model.QuizQuestion;
+import com.skill_forge.infy_intern.model.Section;
+import com.skill_forge.infy_intern.model.VideoContent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Deterministic course documents shaped like the ones instructors build in the editor
+public final class SampleData {
+
+    public static final int OPTIONS_PER_QUESTION = 4;
+
+    private SampleData() {
+    }
+
+    public static Course course(String id, int sections, int lecturesPerSection, int questionsPerQuiz) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitle("Course " + id + ": Distributed Systems in Practice");
+        course.setDescription("Replication, consensus and the failure modes you meet in production. ".repeat(8));
+        course.setInstructorName("Instructor " + id);
+        course.setInstructorEmail("instructor-" + id + "@skillforge.dev");
+        course.setCategory("Engineering");
+        course.setLevel("Intermediate");
+        course.setLanguage("English");
+        course.setPrice("49.99");
+        course.setThumbnail("https://res.cloudinary.com/demo/image/upload/thumbnails/" + id + ".jpg");
+        course.setStatus("published");
+        course.setStudentsCount(1200);
+        course.setVideoCount(sections * lecturesPerSection);
+
+        List<Section> outline = new ArrayList<>();
+        for (int s = 0; s < sections; s++) {
+            Section section = new Section();
+            section.setId(id + "-s" + s);
+            section.setTitle("Section " + (s + 1));
+            List<Object> lectures = new ArrayList<>();
+            List<VideoContent> videos = new ArrayList<>();
+            for (int l = 0; l < lecturesPerSection; l++) {
+                String lectureId = section.getId() + "-l" + l;
+                Map<String, Object> lecture = new LinkedHashMap<>();
+                lecture.put("id", lectureId);
+                lecture.put("title", "Lecture " + (l + 1) + " of section " + (s + 1));
+                lecture.put("type", "video");
+                lecture.put("videoUrl", "https://res.cloudinary.com/demo/video/upload/" + lectureId + ".mp4");
+                lecture.put("duration", "12:30");
+                lectures.add(lecture);
+
+                VideoContent video = new VideoContent();
+                video.setId(lectureId);
+                video.setTitle((String) lecture.get("title"));
+                video.setUrl((String) lecture.get("videoUrl"));
+                video.setPublicId("skillforge/videos/" + lectureId);
+                video.setSizeBytes(48_000_000L);
+                video.setContentType("video/mp4");
+                video.setDuration("12:30");
+                videos.add(video);
+            }
+            section.setLectures(lectures);
+            section.setVideos(videos);
+            section.setQuizzes(new ArrayList<>(List.of(quiz(section.getId() + "-q", questionsPerQuiz))));
+            outline.add(section);
+        }
+        course.setSections(outline);
+
+        List<Note> notes = new ArrayList<>();
+        for (int n = 0; n < sections; n++) {
+            Note note = new Note();
+            note.setId(id + "-n" + n);
+            note.setTitle("Slides " + (n + 1));
+            note.setUrl("https://res.cloudinary.com/demo/raw/upload/" + id + "-n" + n + ".pdf");
+            notes.add(note);
+        }
+        course.setNotes(notes);
+        return course;
+    }
+
+    public static Quiz quiz(String id, int questions) {
+        Quiz quiz = new Quiz();
+        quiz.setId(id);
+        quiz.setTitle("Checkpoint " + id);
+        quiz.setPassingScore(70);
+        quiz.setIsPublished(true);
+        List<QuizQuestion> items = new ArrayList<>();
+        for (int q = 0; q < questions; q++) {
+            QuizQuestion question = new QuizQuestion();
+            question.setId(id + "-" + q);
+            question.setQuestion("Which statement about scenario " + (q + 1) + " holds under a network partition?");
+            List<String> options = new ArrayList<>();
+            for (int o = 0; o < OPTIONS_PER_QUESTION; o++) options.add("Option " + (char) ('A' + o) + " for question " + (q + 1));
+            question.setOptions(options);
+            question.setCorrectOptionIndex(correctOption(q));
+            question.setExplanation("Only option " + (char) ('A' + correctOption(q)) + " keeps the invariant.");
+            items.add(question);
+        }
+        quiz.setQuestions(items);
+        return quiz;
+    }
+
+    public static int correctOption(int question) {
+        return (question * 7 + 3) % OPTIONS_PER_QUESTION;
+    }
+}
@@ -0,0 +1,75 @@
+package com.skill_forge.infy_intern.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skill_forge.infy_intern.model.CompactAnswers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-body handling of {@code StudentController.submitQuiz}: the JSON body read into
+ * the {@code @RequestBody Map}, then {@code parseAnswers} in both accepted answer shapes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(2)
+public class SubmitQuizPayloadBenchmark {
+
+    private static final TypeReference<Map<String, Object>> BODY = new TypeReference<>() {
+    };
+
+    @Param({"object", "array"})
+    public String shape;
+
+    @Param({"50"})
+    public int questions;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        Object answers;
+        if (shape.equals("object")) {
+            Map<String, Integer> byIndex = new LinkedHashMap<>();
+            for (int q = 0; q < questions; q++) byIndex.put(Integer.toString(q), q % 4);
+            answers = byIndex;
+        } else {
+            List<Integer> positional = new ArrayList<>();
+            for (int q = 0; q < questions; q++) positional.add(q % 4);
+            answers = positional;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("studentEmail", "student@skillforge.dev");
+        payload.put("answers", answers);
+        payload.put("durationSeconds", 240);
+        payload.put("attemptId", "6710f1a2c3d4e5f601234567");
+        body = objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public CompactAnswers parse() throws IOException {
+        Map<String, Object> payload = objectMapper.readValue(body, BODY);
+        return StudentController.parseAnswers(payload.get("answers"));
+    }
+}
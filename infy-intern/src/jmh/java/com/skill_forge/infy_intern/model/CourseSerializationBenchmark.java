@@ -0,0 +1,53 @@
+package com.skill_forge.infy_intern.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skill_forge.infy_intern.bench.SampleData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Course documents as the course page and the export see them: full outline, quizzes and notes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(2)
+public class CourseSerializationBenchmark {
+
+    @Param({"10", "50"})
+    public int sections;
+
+    // Configured like the application's ObjectMapper (Boot builds it from the same builder)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private Course course;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        course = SampleData.course("serialization", sections, 12, 10);
+        json = objectMapper.writeValueAsBytes(course);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(course);
+    }
+
+    @Benchmark
+    public Course deserialize() throws IOException {
+        return objectMapper.readValue(json, Course.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.skill_forge.infy_intern.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Login issues one token; every authenticated request runs the checks in verify()
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(2)
+public class JwtUtilBenchmark {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private String token;
+
+    @Setup
+    public void setUp() {
+        token = jwtUtil.generateToken("student@skillforge.dev", "STUDENT");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("student@skillforge.dev", "STUDENT");
+    }
+
+    // Same calls, in the same order, as JwtFilter before its user lookup
+    @Benchmark
+    public void verify(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.isTokenValidFormat(token));
+        blackhole.consume(jwtUtil.isTokenExpired(token));
+        blackhole.consume(jwtUtil.extractEmail(token));
+        blackhole.consume(jwtUtil.extractRole(token));
+    }
+}
@@ -0,0 +1,99 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.bench.InMemoryMongoTemplate;
+import com.skill_forge.infy_intern.bench.InMemoryRepositories;
+import com.skill_forge.infy_intern.bench.SampleData;
+import com.skill_forge.infy_intern.model.CompactAnswers;
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.QuizResponse;
+import com.skill_forge.infy_intern.repository.CourseRepository;
+import com.skill_forge.infy_intern.repository.QuizResponseRepository;
+import com.skill_forge.infy_intern.repository.VideoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CourseService#gradeQuizSubmission} with its real collaborators (answer-key cache,
+ * item analysis, leaderboards, rollups, platform stats) over in-memory stores, plus the
+ * answer-key cache on its own: a hit versus compiling the key from the course document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(2)
+public class QuizGradingBenchmark {
+
+    private static final String COURSE_ID = "grading";
+
+    @Param({"10", "50"})
+    public int questions;
+
+    private CourseService courseService;
+    private QuizAnswerKeyCache answerKeyCache;
+    private String sectionId;
+    private String quizId;
+    private CompactAnswers answers;
+
+    @Setup
+    public void setUp() {
+        InMemoryMongoTemplate store = new InMemoryMongoTemplate();
+        Course course = SampleData.course(COURSE_ID, 12, 8, questions);
+        store.save(course);
+        sectionId = course.getSections().get(5).getId();
+        quizId = course.getSections().get(5).getQuizzes().get(0).getId();
+
+        // Stored responses are dropped so the heap stays flat across millions of submissions
+        InMemoryMongoTemplate responses = new InMemoryMongoTemplate().discardWrites();
+        answerKeyCache = new QuizAnswerKeyCache(store, 10_000, 3600);
+        courseService = new CourseService(
+                InMemoryRepositories.create(CourseRepository.class, store),
+                InMemoryRepositories.create(VideoRepository.class, store),
+                null,
+                InMemoryRepositories.create(QuizResponseRepository.class, responses),
+                null,
+                answerKeyCache,
+                new QuizItemAnalysisService(store, answerKeyCache),
+                new LeaderboardService(store, 100),
+                new AnalyticsRollupService(store),
+                new PlatformStatsService(store, 30));
+
+        // Roughly three in four answers correct, as in a typical passing attempt
+        List<Integer> selected = new ArrayList<>();
+        for (int q = 0; q < questions; q++) {
+            selected.add(q % 4 == 0 ? (SampleData.correctOption(q) + 1) % SampleData.OPTIONS_PER_QUESTION : SampleData.correctOption(q));
+        }
+        answers = CompactAnswers.fromList(selected);
+    }
+
+    @Benchmark
+    public QuizResponse gradeSubmission() {
+        return courseService.gradeQuizSubmission(COURSE_ID, sectionId, quizId, "student@skillforge.dev", answers, "attempt", 240);
+    }
+
+    @Benchmark
+    public QuizAnswerKeyCache.AnswerKey answerKeyHit() {
+        return answerKeyCache.get(COURSE_ID, sectionId, quizId);
+    }
+
+    // Cost of a miss besides the Mongo read itself: walking the course and compiling the key
+    @Benchmark
+    public QuizAnswerKeyCache.AnswerKey answerKeyMiss() {
+        answerKeyCache.invalidate(COURSE_ID, sectionId, quizId);
+        return answerKeyCache.get(COURSE_ID, sectionId, quizId);
+    }
+}
@@ -0,0 +1,181 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.bench.InMemoryMongoTemplate;
+import com.skill_forge.infy_intern.bench.InMemoryRepositories;
+import com.skill_forge.infy_intern.bench.SampleData;
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.VideoEntity;
+import com.skill_forge.infy_intern.repository.CourseRepository;
+import com.skill_forge.infy_intern.repository.ReactiveCourseRepository;
+import com.skill_forge.infy_intern.repository.ReactiveEnrollmentRepository;
+import com.skill_forge.infy_intern.repository.ReactiveVideoRepository;
+import com.skill_forge.infy_intern.repository.VideoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thousands of concurrent course-player readers (the course, then its videos) on the
+ * blocking repositories, served by Tomcat's 200 platform threads or by virtual threads,
+ * against the reactive {@link StudentCatalogService}. Mongo is simulated by a round trip
+ * per query: the blocking stand-ins park the calling thread, the reactive ones wait on a
+ * timer. One operation is one wave of readers, all in flight at once, until the last one
+ * has its videos.
+ *
+ * Each trial also prints the platform threads alive and the heap in use while a wave is in
+ * flight (virtual threads are not platform threads: a virtual wave adds one per reader).
+ *
+ * Reference run (2026-10-18, JDK 21, 1 vCPU, 2 ms round trip, 2 forks x 4 s; heap is the
+ * highest sample of used heap, uncollected garbage included):
+ *
+ * <pre>
+ *   readers   mode                ms/wave   platform threads   heap in flight MB
+ *   1000      blocking-platform     33.5                207                  36
+ *   2000      blocking-platform     74.9                207                  37
+ *   4000      blocking-platform    205.2                207                  37
+ *   1000      blocking-virtual      16.6                  9                  39
+ *   2000      blocking-virtual      24.4                  9                  50
+ *   4000      blocking-virtual      48.1                  9                  88
+ *   1000      reactive               9.8                  8                  37
+ *   2000      reactive              19.5                  8                  38
+ *   4000      reactive              59.6                  8                  59
+ * </pre>
+ *
+ * The 200-thread pool queues readers, so its wave time grows with the wave (at least 2 x 2 ms
+ * per 200 readers) while memory stays flat. Virtual threads and the reactive pipeline keep
+ * every reader in flight on a handful of carriers; what grows instead is the heap, by the
+ * parked virtual-thread stacks or the pending subscriptions. On one core the reactive wave
+ * is fastest up to 2000 readers; at 4000 the timer and the per-reader operator chain cost
+ * more CPU than parking a virtual thread does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(2)
+public class ReaderScalingBenchmark {
+
+    private static final String COURSE_ID = "reader-course";
+    // Tomcat's default server.tomcat.threads.max
+    private static final int REQUEST_THREADS = 200;
+
+    @Param({"1000", "2000", "4000"})
+    public int readers;
+
+    @Param({"2000"})
+    public long roundTripMicros;
+
+    private CourseRepository courseRepository;
+    private VideoRepository videoRepository;
+    private StudentCatalogService catalogService;
+    private ExecutorService requestThreads;
+    private ExecutorService virtualThreads;
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private int peakThreads;
+    private long peakHeapBytes;
+    private String mode = "";
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryMongoTemplate store = new InMemoryMongoTemplate();
+        Course course = SampleData.course(COURSE_ID, 6, 6, 5);
+        store.save(course);
+        for (int v = 0; v < 36; v++) {
+            VideoEntity video = new VideoEntity();
+            video.setId(COURSE_ID + "-v" + v);
+            video.setCourseId(COURSE_ID);
+            video.setTitle("Lecture " + v);
+            video.setVideoUrl("https://res.cloudinary.com/demo/video/upload/" + video.getId() + ".mp4");
+            store.save(video);
+        }
+        store.roundTripMicros(roundTripMicros);
+
+        courseRepository = InMemoryRepositories.create(CourseRepository.class, store);
+        videoRepository = InMemoryRepositories.create(VideoRepository.class, store);
+        catalogService = new StudentCatalogService(
+                InMemoryRepositories.createReactive(ReactiveCourseRepository.class, store),
+                InMemoryRepositories.createReactive(ReactiveVideoRepository.class, store),
+                InMemoryRepositories.createReactive(ReactiveEnrollmentRepository.class, store),
+                new ProgressWriteBuffer(store, 10_000));
+        requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestThreads.shutdownNow();
+        virtualThreads.shutdownNow();
+        System.out.printf("%n📊 readers=%d %s: %d platform threads, %.1f MB heap in flight%n",
+                readers, mode, peakThreads, peakHeapBytes / 1_048_576.0);
+    }
+
+    @Benchmark
+    public int blockingPlatform() throws Exception {
+        return blockingWave(requestThreads, "blocking-platform");
+    }
+
+    @Benchmark
+    public int blockingVirtual() throws Exception {
+        return blockingWave(virtualThreads, "blocking-virtual");
+    }
+
+    @Benchmark
+    public int reactive() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(readers);
+        int[] videos = new int[1];
+        for (int r = 0; r < readers; r++) {
+            catalogService.getCourse(COURSE_ID)
+                    .flatMap(course -> catalogService.getCourseVideos(course.getId()).collectList())
+                    .doFinally(signal -> done.countDown())
+                    .subscribe(list -> videos[0] = list.size());
+        }
+        sample("reactive");
+        done.await();
+        return videos[0];
+    }
+
+    private int blockingWave(ExecutorService executor, String name) throws Exception {
+        List<Future<Integer>> wave = new ArrayList<>(readers);
+        for (int r = 0; r < readers; r++) {
+            wave.add(executor.submit(() -> {
+                Course course = courseRepository.findById(COURSE_ID).orElseThrow();
+                return videoRepository.findByCourseId(course.getId()).size();
+            }));
+        }
+        sample(name);
+        int videos = 0;
+        for (Future<Integer> reader : wave) videos = reader.get();
+        return videos;
+    }
+
+    // Every reader of the wave has been started and most are still waiting on their round trip
+    private void sample(String name) {
+        mode = name;
+        peakThreads = Math.max(peakThreads, threadBean.getThreadCount());
+        peakHeapBytes = Math.max(peakHeapBytes, memoryBean.getHeapMemoryUsage().getUsed());
+    }
+}
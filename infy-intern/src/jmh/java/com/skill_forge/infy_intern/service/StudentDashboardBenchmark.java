@@ -0,0 +1,110 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.bench.InMemoryMongoTemplate;
+import com.skill_forge.infy_intern.bench.InMemoryRepositories;
+import com.skill_forge.infy_intern.bench.SampleData;
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Enrollment;
+import com.skill_forge.infy_intern.model.QuizResponse;
+import com.skill_forge.infy_intern.model.VideoEntity;
+import com.skill_forge.infy_intern.repository.CourseRepository;
+import com.skill_forge.infy_intern.repository.EnrollmentRepository;
+import com.skill_forge.infy_intern.repository.VideoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The single-request dashboard against the waterfall it replaced (my-courses, then each
+ * enrolled course and its videos, one dependent read at a time). With a simulated Mongo
+ * round trip the gap is the number of sequential hops; at zero it is the CPU cost alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@Fork(2)
+public class StudentDashboardBenchmark {
+
+    private static final String EMAIL = "student@skillforge.dev";
+    private static final int ENROLLMENTS = 8;
+
+    @Param({"0", "500"})
+    public long roundTripMicros;
+
+    private StudentDashboardService dashboardService;
+    private StudentService studentService;
+    private CourseRepository courseRepository;
+    private VideoRepository videoRepository;
+
+    @Setup
+    public void setUp() {
+        InMemoryMongoTemplate store = new InMemoryMongoTemplate();
+        for (int c = 0; c < ENROLLMENTS; c++) {
+            Course course = SampleData.course("dash-" + c, 6, 6, 5);
+            store.save(course);
+            Enrollment enrollment = new Enrollment(EMAIL, course.getId(), course.getTitle(), course.getInstructorName());
+            enrollment.setId("enrollment-" + c);
+            enrollment.setProgress(c * 12.5);
+            store.save(enrollment);
+            for (int v = 0; v < 6; v++) {
+                VideoEntity video = new VideoEntity();
+                video.setId(course.getId() + "-v" + v);
+                video.setCourseId(course.getId());
+                video.setTitle("Lecture " + v);
+                video.setVideoUrl("https://res.cloudinary.com/demo/video/upload/" + video.getId() + ".mp4");
+                store.save(video);
+            }
+        }
+        for (int r = 0; r < 20; r++) {
+            QuizResponse response = new QuizResponse();
+            response.setId("response-" + r);
+            response.setStudentEmail(EMAIL);
+            response.setCourseId("dash-" + (r % ENROLLMENTS));
+            response.setQuizId("quiz-" + r);
+            response.setScore(60 + r);
+            response.setPassed(r % 3 != 0);
+            response.setSubmittedAt(Instant.ofEpochSecond(1_760_000_000L + r * 3600L));
+            store.save(response);
+        }
+        store.roundTripMicros(roundTripMicros);
+
+        courseRepository = InMemoryRepositories.create(CourseRepository.class, store);
+        videoRepository = InMemoryRepositories.create(VideoRepository.class, store);
+        AnalyticsRollupService rollups = new AnalyticsRollupService(store);
+        // Only getMyCourses is reached from the dashboard; its other collaborators stay unset
+        studentService = new StudentService(InMemoryRepositories.create(EnrollmentRepository.class, store),
+                null, new ProgressWriteBuffer(store, 10_000), null, null, rollups, null, store);
+        dashboardService = new StudentDashboardService(studentService, store);
+    }
+
+    @Benchmark
+    public Map<String, Object> dashboard() {
+        return dashboardService.getDashboard(EMAIL);
+    }
+
+    @Benchmark
+    public void waterfall(Blackhole blackhole) {
+        List<Enrollment> enrollments = studentService.getMyCourses(EMAIL);
+        blackhole.consume(enrollments);
+        for (Enrollment enrollment : enrollments) {
+            blackhole.consume(courseRepository.findById(enrollment.getCourseId()));
+            blackhole.consume(videoRepository.findByCourseId(enrollment.getCourseId()));
+        }
+    }
+}
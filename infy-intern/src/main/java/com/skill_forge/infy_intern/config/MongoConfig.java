@@ -0,0 +1,61 @@
+package com.skill_forge.infy_intern.config;
+
+import com.skill_forge.infy_intern.model.CompactAnswers;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                new CompactAnswersWriter(),
+                new BinaryToCompactAnswers(),
+                new BytesToCompactAnswers(),
+                new LegacyAnswersReader()
+        ));
+    }
+
+    // Quiz answers are written as a single BSON binary: one byte per question
+    @WritingConverter
+    static class CompactAnswersWriter implements Converter<CompactAnswers, Binary> {
+        @Override
+        public Binary convert(CompactAnswers source) {
+            return new Binary(source.toBytes());
+        }
+    }
+
+    @ReadingConverter
+    static class BinaryToCompactAnswers implements Converter<Binary, CompactAnswers> {
+        @Override
+        public CompactAnswers convert(Binary source) {
+            return CompactAnswers.fromBytes(source.getData());
+        }
+    }
+
+    @ReadingConverter
+    static class BytesToCompactAnswers implements Converter<byte[], CompactAnswers> {
+        @Override
+        public CompactAnswers convert(byte[] source) {
+            return CompactAnswers.fromBytes(source);
+        }
+    }
+
+    // Responses stored before the compact format hold a {"0": 2, "1": 3} sub-document
+    @ReadingConverter
+    static class LegacyAnswersReader implements Converter<Document, CompactAnswers> {
+        @Override
+        public CompactAnswers convert(Document source) {
+            return CompactAnswers.fromMap(source);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.skill_forge.infy_intern.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Creates the indexes declared with @Indexed / @CompoundIndex on our documents.
+ *
+ * Spring's auto-index-creation runs while MongoTemplate is being built and fails startup
+ * when Mongo is unreachable, so indexes are created once the app is ready, in the background.
+ * An index that cannot be created (Mongo down, or existing duplicates under a unique index
+ * such as enrollments' student_course_unique) turns the "mongoIndexes" health check DOWN
+ * and is retried periodically, so health recovers once the data is fixed. Duplicate
+ * enrollments are merged by migrations/dedupe-enrollments.js.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    private final MongoTemplate mongoTemplate;
+    // "collection.index" -> error of the last attempt; null until the first pass finished
+    private volatile Map<String, String> failures;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        Thread.ofVirtual().name("mongo-index-init").start(this::createIndexes);
+    }
+
+    @Scheduled(initialDelayString = "${skillforge.mongo.index-retry-ms:300000}",
+            fixedDelayString = "${skillforge.mongo.index-retry-ms:300000}")
+    public void retryFailedIndexes() {
+        Map<String, String> last = failures;
+        if (last != null && !last.isEmpty()) createIndexes();
+    }
+
+    @Bean
+    public HealthIndicator mongoIndexesHealthIndicator() {
+        return () -> {
+            Map<String, String> last = failures;
+            if (last == null) return Health.unknown().withDetail("state", "creating").build();
+            if (last.isEmpty()) return Health.up().build();
+            return Health.down().withDetail("failed", last).build();
+        };
+    }
+
+    private void createIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        Map<String, String> failed = new TreeMap<>();
+        entities:
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) continue;
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+            for (IndexDefinition index : resolver.resolveIndexFor(entity.getType())) {
+                String name = entity.getCollection() + "." + index.getIndexOptions().getOrDefault("name", index.getIndexKeys().toJson());
+                try {
+                    indexOps.createIndex(index);
+                } catch (DuplicateKeyException e) {
+                    failed.put(name, "existing documents violate this unique index" + switch (entity.getCollection()) {
+                        case "enrollments" -> "; run migrations/dedupe-enrollments.js";
+                        case "quiz_attempts" -> "; set all but the newest ACTIVE attempt per student and quiz to EXPIRED";
+                        default -> "";
+                    });
+                    System.err.println("❌ Unique index " + name + " not created, existing duplicates: " + e.getMessage());
+                } catch (DataAccessResourceFailureException e) {
+                    // Mongo is unreachable: every other index would wait out the same timeout
+                    failed.put("mongo", e.getMessage());
+                    System.err.println("❌ Could not create indexes, Mongo unreachable: " + e.getMessage());
+                    break entities;
+                } catch (RuntimeException e) {
+                    failed.put(name, e.getMessage());
+                    System.err.println("❌ Could not create index " + name + ": " + e.getMessage());
+                }
+            }
+        }
+        failures = failed;
+    }
+}
@@ -0,0 +1,10 @@
+package com.skill_forge.infy_intern.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled background jobs (write-behind flushes, periodic maintenance)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
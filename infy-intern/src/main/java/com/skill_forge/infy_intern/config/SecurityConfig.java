@@ -3,6 +3,7 @@ package com.skill_forge.infy_intern.config;
 import com.skill_forge.infy_intern.security.JwtFilter;
 import com.skill_forge.infy_intern.security.RestAccessDeniedHandler;
 import com.skill_forge.infy_intern.security.RestAuthEntryPoint;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -32,10 +33,14 @@ public class SecurityConfig {
                         .accessDeniedHandler(new RestAccessDeniedHandler())
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // Resumes a request that was authorized on its first dispatch (Flux/Mono and
+                        // streaming responses); the JWT filter does not run again for it
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/instructor/**").hasAnyAuthority("INSTRUCTOR", "ADMIN")
                         .requestMatchers("/api/student/**").hasAnyAuthority("STUDENT", "ADMIN")
                         .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,41 @@
+package com.skill_forge.infy_intern.controller;
+
+import com.skill_forge.infy_intern.metrics.SlowRequestLog;
+import com.skill_forge.infy_intern.service.PerfSummaryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/perf")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class AdminPerfController {
+
+    private final PerfSummaryService perfSummaryService;
+    private final SlowRequestLog slowRequestLog;
+
+    public AdminPerfController(PerfSummaryService perfSummaryService, SlowRequestLog slowRequestLog) {
+        this.perfSummaryService = perfSummaryService;
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    // 🟢 p50/p95/p99 per endpoint, repository method, Mongo command and external call.
+    // Raw series for Prometheus are at /actuator/prometheus (admin token required).
+    @GetMapping
+    public ResponseEntity<?> getPerfSummary() {
+        return ResponseEntity.ok(perfSummaryService.summary());
+    }
+
+    // 🟢 Recent requests over the slow threshold with their span breakdown, slowest first
+    @GetMapping("/slow")
+    public ResponseEntity<?> getSlowRequests(@RequestParam(defaultValue = "50") int limit) {
+        List<SlowRequestLog.SlowRequest> requests = slowRequestLog.slowest(limit);
+        return ResponseEntity.ok(Map.of(
+                "thresholdMs", slowRequestLog.thresholdMs(),
+                "capacity", slowRequestLog.capacity(),
+                "requests", requests
+        ));
+    }
+}
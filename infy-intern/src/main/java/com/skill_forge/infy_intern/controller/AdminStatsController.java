@@ -0,0 +1,35 @@
+package com.skill_forge.infy_intern.controller;
+
+import com.skill_forge.infy_intern.service.PlatformStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class AdminStatsController {
+
+    private final PlatformStatsService platformStatsService;
+
+    public AdminStatsController(PlatformStatsService platformStatsService) {
+        this.platformStatsService = platformStatsService;
+    }
+
+    // 🟢 Platform totals plus a daily trend, served from memory
+    @GetMapping
+    public ResponseEntity<?> getStats(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(platformStatsService.getStats(days));
+    }
+
+    // 🟢 Recompute the statistics from the source collections now instead of waiting for the nightly job
+    @PostMapping("/reconcile")
+    public ResponseEntity<?> reconcile() {
+        try {
+            return ResponseEntity.ok(platformStatsService.reconcile());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
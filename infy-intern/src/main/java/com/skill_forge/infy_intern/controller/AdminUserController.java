@@ -0,0 +1,39 @@
+package com.skill_forge.infy_intern.controller;
+
+import com.skill_forge.infy_intern.model.Role;
+import com.skill_forge.infy_intern.service.AdminUserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class AdminUserController {
+
+    private final AdminUserService adminUserService;
+
+    public AdminUserController(AdminUserService adminUserService) {
+        this.adminUserService = adminUserService;
+    }
+
+    // 🟢 List users, optionally by role. Pass the previous page's nextCursor as ?after=
+    @GetMapping
+    public ResponseEntity<?> listUsers(@RequestParam(required = false) Role role,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(adminUserService.listUsers(role, after, size));
+    }
+
+    // 🟢 Download every user (optionally one role) as CSV
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) Role role) {
+        StreamingResponseBody body = out -> adminUserService.exportCsv(out, role);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                .body(body);
+    }
+}
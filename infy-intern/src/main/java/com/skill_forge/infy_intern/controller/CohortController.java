@@ -0,0 +1,33 @@
+package com.skill_forge.infy_intern.controller;
+
+import com.skill_forge.infy_intern.model.User;
+import com.skill_forge.infy_intern.security.CurrentUser;
+import com.skill_forge.infy_intern.service.CohortEnrollmentService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/instructor/cohorts")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class CohortController {
+
+    private final CohortEnrollmentService cohortEnrollmentService;
+
+    public CohortController(CohortEnrollmentService cohortEnrollmentService) {
+        this.cohortEnrollmentService = cohortEnrollmentService;
+    }
+
+    // 🟢 Bulk enroll: request body is "email,courseId" lines, response is an NDJSON per-row report
+    @PostMapping(value = "/enroll", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> enrollCohort(HttpServletRequest request, Authentication authentication) {
+        User caller = CurrentUser.from(authentication);
+        StreamingResponseBody body = out -> cohortEnrollmentService.enroll(request.getInputStream(), out, caller);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+}
@@ -7,6 +7,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
 import java.util.Map;
 import com.skill_forge.infy_intern.service.CourseService;
+import com.skill_forge.infy_intern.service.LeaderboardService;
+import com.skill_forge.infy_intern.service.LectureImportService;
+import com.skill_forge.infy_intern.service.QuizGenerationService;
+import com.skill_forge.infy_intern.service.QuizItemAnalysisService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -20,9 +24,19 @@ import java.util.Map;
 public class CourseController {
 
     private final CourseService courseService;
+    private final LectureImportService lectureImportService;
+    private final QuizItemAnalysisService itemAnalysisService;
+    private final QuizGenerationService quizGenerationService;
+    private final LeaderboardService leaderboardService;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, LectureImportService lectureImportService,
+                            QuizItemAnalysisService itemAnalysisService, QuizGenerationService quizGenerationService,
+                            LeaderboardService leaderboardService) {
         this.courseService = courseService;
+        this.lectureImportService = lectureImportService;
+        this.itemAnalysisService = itemAnalysisService;
+        this.quizGenerationService = quizGenerationService;
+        this.leaderboardService = leaderboardService;
     }
 
     // 🟢 Create a course
@@ -47,6 +61,16 @@ public class CourseController {
 
 
 
+    // 🟢 Update course details
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateCourse(@PathVariable String id, @RequestBody Course course) {
+        try {
+            return ResponseEntity.ok(courseService.updateCourse(id, course));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // 🟢 Add a section to course
     @PostMapping("/{courseId}/add-section")
     public ResponseEntity<Course> addSection(@PathVariable String courseId,
@@ -128,6 +152,24 @@ public class CourseController {
         return ResponseEntity.ok(courseService.addLectureToSection(courseId, sectionId, file, title, uploadedBy));
     }
 
+    // 🟢 Bulk import lectures: many files (optionally with a JSON manifest) or one ZIP with manifest.json
+    @PostMapping("/{courseId}/lectures/bulk")
+    public ResponseEntity<?> importLectures(@PathVariable String courseId,
+                                            @RequestParam(value = "files", required = false) List<MultipartFile> files,
+                                            @RequestParam(value = "zip", required = false) MultipartFile zip,
+                                            @RequestParam(required = false) String sectionId,
+                                            @RequestParam(required = false) String manifest,
+                                            @RequestParam String uploadedBy) {
+        try {
+            if (zip != null && !zip.isEmpty()) {
+                return ResponseEntity.ok(lectureImportService.importZip(courseId, zip, uploadedBy));
+            }
+            return ResponseEntity.ok(lectureImportService.importFiles(courseId, files, sectionId, manifest, uploadedBy));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // 🟢 Upload course thumbnail
     @PostMapping("/{courseId}/thumbnail")
     public ResponseEntity<Course> uploadThumbnail(@PathVariable String courseId,
@@ -169,13 +211,75 @@ public class CourseController {
                                           @RequestParam(required = false, defaultValue = "5") int numQuestions,
                                           @RequestParam(required = false) Integer timeLimitSeconds) {
         try {
-            Course updated = courseService.generateQuizFromTopic(courseId, sectionId, topic, numQuestions, timeLimitSeconds);
+            Course updated = quizGenerationService.generateQuiz(courseId, sectionId, topic, numQuestions, timeLimitSeconds);
             return ResponseEntity.ok(updated);
         } catch (RuntimeException e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
 
+    // 🟢 Queue AI quiz generation; returns a job to poll instead of holding the request open
+    @PostMapping("/{courseId}/sections/{sectionId}/generate-quiz/jobs")
+    public ResponseEntity<?> submitQuizGeneration(@PathVariable String courseId,
+                                                  @PathVariable String sectionId,
+                                                  @RequestParam String topic,
+                                                  @RequestParam(required = false, defaultValue = "5") int numQuestions,
+                                                  @RequestParam(required = false) Integer timeLimitSeconds) {
+        try {
+            return ResponseEntity.accepted()
+                    .body(quizGenerationService.submitJob(courseId, sectionId, topic, numQuestions, timeLimitSeconds));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 🟢 Generate a quiz for every section at once. Optional body: {"sectionId": "topic"};
+    // without it each section's title is used as the topic.
+    @PostMapping("/{courseId}/generate-quizzes")
+    public ResponseEntity<?> generateCourseQuizzes(@PathVariable String courseId,
+                                                   @RequestBody(required = false) Map<String, String> topicsBySection,
+                                                   @RequestParam(required = false, defaultValue = "5") int numQuestions,
+                                                   @RequestParam(required = false) Integer timeLimitSeconds) {
+        try {
+            return ResponseEntity.ok(quizGenerationService.generateForCourse(courseId, topicsBySection, numQuestions, timeLimitSeconds));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 🟢 All graded quiz attempts in a course, newest first
+    @GetMapping("/{courseId}/quiz-results")
+    public ResponseEntity<?> getCourseQuizResults(@PathVariable String courseId,
+                                                  @RequestParam(required = false, defaultValue = "0") int page,
+                                                  @RequestParam(required = false, defaultValue = "20") int size) {
+        return ResponseEntity.ok(courseService.getCourseQuizResults(courseId, page, size));
+    }
+
+    // 🟢 Course leaderboard (sum of each student's best quiz scores)
+    @GetMapping("/{courseId}/leaderboard")
+    public ResponseEntity<?> getCourseLeaderboard(@PathVariable String courseId,
+                                                  @RequestParam(required = false, defaultValue = "20") int limit) {
+        return ResponseEntity.ok(leaderboardService.courseLeaderboard(courseId, limit, null, true));
+    }
+
+    // 🟢 Quiz leaderboard (best score, fastest duration breaks ties)
+    @GetMapping("/{courseId}/quizzes/{quizId}/leaderboard")
+    public ResponseEntity<?> getQuizLeaderboard(@PathVariable String courseId,
+                                                @PathVariable String quizId,
+                                                @RequestParam(required = false, defaultValue = "20") int limit) {
+        return ResponseEntity.ok(leaderboardService.quizLeaderboard(courseId, quizId, limit, null, true));
+    }
+
+    // 🟢 Poll a quiz generation job
+    @GetMapping("/quiz-generation-jobs/{jobId}")
+    public ResponseEntity<?> getQuizGenerationJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(quizGenerationService.getJob(jobId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // 🟢 Update quiz in section
     @PutMapping("/{courseId}/sections/{sectionId}/quizzes/{quizId}")
     public ResponseEntity<?> updateQuiz(@PathVariable String courseId,
@@ -202,4 +306,28 @@ public class CourseController {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
+
+    // 🟢 Item analysis for a quiz: difficulty, discrimination and option distribution per question
+    @GetMapping("/{courseId}/sections/{sectionId}/quizzes/{quizId}/stats")
+    public ResponseEntity<?> getQuizStats(@PathVariable String courseId,
+                                          @PathVariable String sectionId,
+                                          @PathVariable String quizId) {
+        try {
+            return ResponseEntity.ok(itemAnalysisService.getStats(courseId, sectionId, quizId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 🟢 Recompute quiz item analysis from all stored responses
+    @PostMapping("/{courseId}/sections/{sectionId}/quizzes/{quizId}/stats/rebuild")
+    public ResponseEntity<?> rebuildQuizStats(@PathVariable String courseId,
+                                              @PathVariable String sectionId,
+                                              @PathVariable String quizId) {
+        try {
+            return ResponseEntity.ok(itemAnalysisService.rebuild(courseId, sectionId, quizId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
 }
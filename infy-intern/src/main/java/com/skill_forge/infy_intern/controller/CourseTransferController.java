@@ -0,0 +1,66 @@
+package com.skill_forge.infy_intern.controller;
+
+import com.skill_forge.infy_intern.model.User;
+import com.skill_forge.infy_intern.security.CurrentUser;
+import com.skill_forge.infy_intern.service.CourseTransferService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/instructor/courses")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class CourseTransferController {
+
+    private final CourseTransferService courseTransferService;
+
+    public CourseTransferController(CourseTransferService courseTransferService) {
+        this.courseTransferService = courseTransferService;
+    }
+
+    // 🟢 Export courses with their videos as NDJSON (one course per line).
+    // Instructors get their own courses; admins may pass ?instructorEmail= and/or ?courseIds=
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportCourses(@RequestParam(required = false) String instructorEmail,
+                                                               @RequestParam(required = false) List<String> courseIds,
+                                                               Authentication authentication) {
+        User caller = CurrentUser.from(authentication);
+        StreamingResponseBody body = out -> courseTransferService.export(out, caller, instructorEmail, courseIds);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"courses.ndjson\"")
+                .body(body);
+    }
+
+    // 🟢 Import an export file: request body is NDJSON, response is an NDJSON per-line report
+    @PostMapping(value = "/import", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importCourses(HttpServletRequest request, Authentication authentication) {
+        User caller = CurrentUser.from(authentication);
+        StreamingResponseBody body = out -> courseTransferService.importCourses(request.getInputStream(), out, caller);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    // 🟢 Clone a course with its sections, lectures, quizzes, notes and video rows (same media files)
+    @PostMapping("/{courseId}/clone")
+    public ResponseEntity<?> cloneCourse(@PathVariable String courseId,
+                                         @RequestParam(required = false) String title,
+                                         Authentication authentication) {
+        User caller = CurrentUser.from(authentication);
+        try {
+            return ResponseEntity.ok(courseTransferService.cloneCourse(courseId, title, caller));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.skill_forge.infy_intern.controller;
+
+import com.skill_forge.infy_intern.model.Role;
+import com.skill_forge.infy_intern.model.User;
+import com.skill_forge.infy_intern.security.CurrentUser;
+import com.skill_forge.infy_intern.service.AnalyticsRollupService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/instructor/dashboard")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class InstructorDashboardController {
+
+    private final AnalyticsRollupService rollupService;
+
+    public InstructorDashboardController(AnalyticsRollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    // 🟢 Dashboard totals plus a per-course breakdown, served from one rollup document.
+    // Instructors always get their own; admins may pass ?email=
+    @GetMapping
+    public ResponseEntity<?> getDashboard(@RequestParam(required = false) String email, Authentication authentication) {
+        User caller = CurrentUser.from(authentication);
+        String instructorEmail = caller != null && caller.getRole() != Role.ADMIN ? caller.getEmail() : email;
+        if (instructorEmail == null || instructorEmail.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Instructor email is required"));
+        }
+        return ResponseEntity.ok(rollupService.getInstructorRollup(instructorEmail));
+    }
+
+    // 🟢 Analytics for one course; instructors only see their own courses
+    @GetMapping("/courses/{courseId}")
+    public ResponseEntity<?> getCourseAnalytics(@PathVariable String courseId, Authentication authentication) {
+        User caller = CurrentUser.from(authentication);
+        try {
+            return ResponseEntity.ok(rollupService.getCourseRollup(courseId, caller));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 🟢 Recompute every rollup from the source collections (admin only)
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild(Authentication authentication) {
+        User caller = CurrentUser.from(authentication);
+        if (caller == null || caller.getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of("error", "Only admins can rebuild analytics"));
+        }
+        try {
+            return ResponseEntity.ok(rollupService.rebuild());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.skill_forge.infy_intern.controller;
 
+import com.skill_forge.infy_intern.model.CompactAnswers;
 import com.skill_forge.infy_intern.model.Course;
 import com.skill_forge.infy_intern.model.Enrollment;
 import com.skill_forge.infy_intern.model.VideoEntity;
-import com.skill_forge.infy_intern.repository.VideoRepository;
+import com.skill_forge.infy_intern.service.LeaderboardService;
+import com.skill_forge.infy_intern.service.StudentCatalogService;
+import com.skill_forge.infy_intern.service.StudentDashboardService;
 import com.skill_forge.infy_intern.service.StudentService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -19,45 +25,147 @@ import com.skill_forge.infy_intern.model.QuizResponse;
 public class StudentController {
 
     private final StudentService studentService;
-    private final VideoRepository videoRepository;
+    private final StudentCatalogService catalogService;
+    private final StudentDashboardService dashboardService;
+    private final LeaderboardService leaderboardService;
 
-    public StudentController(StudentService studentService, VideoRepository videoRepository) {
+    public StudentController(StudentService studentService, StudentCatalogService catalogService,
+                             StudentDashboardService dashboardService, LeaderboardService leaderboardService) {
         this.studentService = studentService;
-        this.videoRepository = videoRepository;
+        this.catalogService = catalogService;
+        this.dashboardService = dashboardService;
+        this.leaderboardService = leaderboardService;
     }
 
+    // 🟢 Catalog reads are non-blocking (see StudentCatalogService) and return the usual JSON
+    // array. Clients sending Accept: application/x-ndjson get one document per line as it is read
     @GetMapping("/browse")
-    public ResponseEntity<List<Course>> browseCourses() {
-        return ResponseEntity.ok(studentService.browseCourses());
+    public Flux<Course> browseCourses() {
+        return catalogService.browseCourses();
+    }
+
+    @GetMapping(value = "/browse", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Course> streamCourses() {
+        return catalogService.browseCourses();
     }
 
     @PostMapping("/enroll/{courseId}")
-    public ResponseEntity<String> enroll(@RequestParam String email, @PathVariable String courseId) {
-        return ResponseEntity.ok(studentService.enrollInCourse(email, courseId));
+    public ResponseEntity<?> enroll(@RequestParam String email, @PathVariable String courseId) {
+        try {
+            return ResponseEntity.ok(studentService.enrollInCourse(email, courseId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/my-courses")
-    public ResponseEntity<List<Enrollment>> getMyCourses(@RequestParam String email) {
-        return ResponseEntity.ok(studentService.getMyCourses(email));
+    public Flux<Enrollment> getMyCourses(@RequestParam String email) {
+        return catalogService.getMyCourses(email);
+    }
+
+    @GetMapping(value = "/my-courses", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Enrollment> streamMyCourses(@RequestParam String email) {
+        return catalogService.getMyCourses(email);
+    }
+
+    // 🟢 Everything the dashboard page needs in one call
+    @GetMapping("/dashboard")
+    public ResponseEntity<?> getDashboard(@RequestParam String email) {
+        try {
+            return ResponseEntity.ok(dashboardService.getDashboard(email));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<?> getCourseById(@PathVariable String courseId) {
-        return studentService.getCourseById(courseId)
+    public Mono<ResponseEntity<?>> getCourseById(@PathVariable String courseId) {
+        return catalogService.getCourse(courseId)
                 .<ResponseEntity<?>>map(ResponseEntity::ok)
-                .orElse(ResponseEntity.badRequest().body("Course not found"));
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Course not found"));
     }
 
     @GetMapping("/course/{courseId}/videos")
-    public ResponseEntity<List<VideoEntity>> getCourseVideos(@PathVariable String courseId) {
-        return ResponseEntity.ok(videoRepository.findByCourseId(courseId));
+    public Flux<VideoEntity> getCourseVideos(@PathVariable String courseId) {
+        return catalogService.getCourseVideos(courseId);
+    }
+
+    @GetMapping(value = "/course/{courseId}/videos", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<VideoEntity> streamCourseVideos(@PathVariable String courseId) {
+        return catalogService.getCourseVideos(courseId);
     }
 
     @PostMapping("/progress")
     public ResponseEntity<String> updateProgress(@RequestParam String email,
                                                  @RequestParam String courseId,
                                                  @RequestParam double progress) {
-        return ResponseEntity.ok(studentService.updateProgress(email, courseId, progress));
+        try {
+            return ResponseEntity.ok(studentService.updateProgress(email, courseId, progress));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 🟢 Mark a lecture or quiz as completed; progress is derived server-side
+    @PostMapping("/course/{courseId}/items/{itemId}/complete")
+    public ResponseEntity<?> completeItem(@PathVariable String courseId,
+                                          @PathVariable String itemId,
+                                          @RequestParam String email) {
+        try {
+            return ResponseEntity.ok(studentService.completeItem(email, courseId, itemId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 🟢 Where the course player should resume
+    @GetMapping("/course/{courseId}/resume")
+    public ResponseEntity<?> getResumePosition(@PathVariable String courseId,
+                                               @RequestParam String email) {
+        try {
+            return ResponseEntity.ok(studentService.getResumePosition(email, courseId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 🟢 Quiz attempt history, newest first; pass quizId for a single quiz
+    @GetMapping("/quiz-history")
+    public ResponseEntity<?> getQuizHistory(@RequestParam String email,
+                                            @RequestParam(required = false) String quizId,
+                                            @RequestParam(required = false, defaultValue = "0") int page,
+                                            @RequestParam(required = false, defaultValue = "20") int size) {
+        return ResponseEntity.ok(studentService.getQuizHistory(email, quizId, page, size));
+    }
+
+    // 🟢 Course leaderboard with the student's own rank; other students are masked
+    @GetMapping("/course/{courseId}/leaderboard")
+    public ResponseEntity<?> getCourseLeaderboard(@PathVariable String courseId,
+                                                  @RequestParam String email,
+                                                  @RequestParam(required = false, defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.courseLeaderboard(courseId, limit, email, false));
+    }
+
+    // 🟢 Quiz leaderboard with the student's own rank
+    @GetMapping("/course/{courseId}/quizzes/{quizId}/leaderboard")
+    public ResponseEntity<?> getQuizLeaderboard(@PathVariable String courseId,
+                                                @PathVariable String quizId,
+                                                @RequestParam String email,
+                                                @RequestParam(required = false, defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.quizLeaderboard(courseId, quizId, limit, email, false));
+    }
+
+    // 🟢 Start (or resume) a quiz attempt; returns the attempt id and its expiry for timed quizzes
+    @PostMapping("/course/{courseId}/sections/{sectionId}/quizzes/{quizId}/start")
+    public ResponseEntity<?> startQuizAttempt(@PathVariable String courseId,
+                                              @PathVariable String sectionId,
+                                              @PathVariable String quizId,
+                                              @RequestParam String email) {
+        try {
+            return ResponseEntity.ok(studentService.startQuizAttempt(courseId, sectionId, quizId, email));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     // 🟢 Submit quiz answers for grading
@@ -68,27 +176,21 @@ public class StudentController {
                                         @RequestBody Map<String, Object> payload) {
         try {
             String studentEmail = (String) payload.get("studentEmail");
-            // payload.answers expected to be a map of stringified indices -> integer selected index
-            Object rawAnswers = payload.get("answers");
-            java.util.Map<Integer, Integer> answers = new java.util.HashMap<>();
-            if (rawAnswers instanceof java.util.Map) {
-                java.util.Map<?,?> raw = (java.util.Map<?,?>) rawAnswers;
-                for (java.util.Map.Entry<?,?> e : raw.entrySet()) {
-                    try {
-                        Integer key = Integer.parseInt(e.getKey().toString());
-                        Integer val = Integer.parseInt(e.getValue().toString());
-                        answers.put(key, val);
-                    } catch (Exception ex) {
-                        // skip bad entries
-                    }
-                }
-            }
-            Integer durationSeconds = payload.get("durationSeconds") == null ? null : Integer.parseInt(payload.get("durationSeconds").toString());
-
-            com.skill_forge.infy_intern.model.QuizResponse resp = studentService.gradeQuiz(courseId, sectionId, quizId, studentEmail, answers, durationSeconds);
+            CompactAnswers answers = parseAnswers(payload.get("answers"));
+            // Any client durationSeconds is ignored; the attempt's server clock measures it
+            String attemptId = (String) payload.get("attemptId");
+
+            com.skill_forge.infy_intern.model.QuizResponse resp = studentService.gradeQuiz(courseId, sectionId, quizId, studentEmail, answers, attemptId);
             return ResponseEntity.ok(resp);
         } catch (RuntimeException e) {
             return ResponseEntity.status(500).body(java.util.Map.of("error", e.getMessage()));
         }
     }
+
+    // payload.answers: {"questionIndex": selectedIndex} object, or a positional array
+    static CompactAnswers parseAnswers(Object rawAnswers) {
+        return rawAnswers instanceof Map<?, ?> raw
+                ? CompactAnswers.fromMap(raw)
+                : rawAnswers instanceof List<?> list ? CompactAnswers.fromList(list) : CompactAnswers.empty();
+    }
 }
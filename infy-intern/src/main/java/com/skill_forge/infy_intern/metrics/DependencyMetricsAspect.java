@@ -0,0 +1,129 @@
+package com.skill_forge.infy_intern.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every Spring Data repository call and every Cloudinary call.
+ *
+ * Controllers are already covered by Spring's {@code http.server.requests} timer and raw
+ * Mongo commands (including MongoTemplate) by {@code mongodb.driver.commands}; this adds the
+ * repository method and external-storage view on top, tagged with outcome and exception.
+ * Each call also counts towards the current request's {@link RequestTiming} span.
+ *
+ * Reactive repositories only assemble a Mono/Flux when called; the query runs once it is
+ * subscribed. Their calls are timed from subscription until the publisher terminates or is
+ * cancelled, and added to the request that made the call.
+ */
+@Aspect
+@Component
+public class DependencyMetricsAspect {
+
+    public static final String REPOSITORY_TIMER = "skillforge.repository.calls";
+    public static final String CLOUDINARY_TIMER = "skillforge.cloudinary.calls";
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public DependencyMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint pjp) throws Throwable {
+        String repository = repositoryNames.computeIfAbsent(pjp.getThis().getClass(), DependencyMetricsAspect::repositoryName);
+        return time(pjp, RequestTiming.REPOSITORY, Timer.builder(REPOSITORY_TIMER)
+                .description("Spring Data repository calls")
+                .tag("repository", repository)
+                .tag("method", pjp.getSignature().getName()));
+    }
+
+    // Thumbnail URLs are derived locally, so only the upload methods are timed
+    @Around("execution(public * com.skill_forge.infy_intern.service.CloudinaryService.upload*(..))")
+    public Object timeCloudinary(ProceedingJoinPoint pjp) throws Throwable {
+        return time(pjp, RequestTiming.CLOUDINARY, Timer.builder(CLOUDINARY_TIMER)
+                .description("Cloudinary API calls")
+                .tag("method", pjp.getSignature().getName()));
+    }
+
+    private Object time(ProceedingJoinPoint pjp, String span, Timer.Builder timer) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        Call call = new Call(span, timer, timing);
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable e) {
+            call.failed(e);
+            call.finish(false);
+            throw e;
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                Call subscribed = new Call(span, timer, timing);
+                return mono.doOnError(subscribed::failed)
+                        .doOnTerminate(() -> subscribed.finish(false))
+                        .doOnCancel(() -> subscribed.finish(true));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                Call subscribed = new Call(span, timer, timing);
+                return flux.doOnError(subscribed::failed)
+                        .doOnTerminate(() -> subscribed.finish(false))
+                        .doOnCancel(() -> subscribed.finish(true));
+            });
+        }
+        call.finish(false);
+        return result;
+    }
+
+    // One timed call; the request's timing is captured on the calling thread
+    private final class Call {
+        private final long started = System.nanoTime();
+        private final String span;
+        private final Timer.Builder timer;
+        private final RequestTiming timing;
+        private String exception = "none";
+        private boolean finished;
+
+        Call(String span, Timer.Builder timer, RequestTiming timing) {
+            this.span = span;
+            this.timer = timer;
+            this.timing = timing;
+        }
+
+        void failed(Throwable e) {
+            exception = e.getClass().getSimpleName();
+        }
+
+        // A Mono is cancelled by its subscriber right after it terminated with a value
+        synchronized void finish(boolean cancelled) {
+            if (finished) return;
+            finished = true;
+            long elapsed = System.nanoTime() - started;
+            String outcome = cancelled ? "CANCELLED" : exception.equals("none") ? "SUCCESS" : "ERROR";
+            timer.tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(registry)
+                    .record(elapsed, java.util.concurrent.TimeUnit.NANOSECONDS);
+            if (timing != null) timing.add(span, elapsed);
+        }
+    }
+
+    // The proxy implements our repository interface next to Spring's own ones
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (type.getPackageName().startsWith("com.skill_forge.")) return type.getSimpleName();
+        }
+        return proxyClass.getSimpleName();
+    }
+}
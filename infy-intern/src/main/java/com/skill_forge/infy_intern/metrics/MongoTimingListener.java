@@ -0,0 +1,33 @@
+package com.skill_forge.infy_intern.metrics;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds driver round-trip time to the request's {@code mongo} span. Unlike the repository
+ * aspect this also covers MongoTemplate calls; the sync driver notifies on the calling thread.
+ */
+@Component
+public class MongoTimingListener implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        builder.addCommandListener(this);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        RequestTiming.record(RequestTiming.MONGO, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        RequestTiming.record(RequestTiming.MONGO, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,96 @@
+package com.skill_forge.infy_intern.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time spent per span (auth, repository, Mongo, external calls, serialization) within the
+ * current request. {@link RequestTimingFilter} opens one per request on the request thread
+ * and resumes it on async dispatches; {@link #record} is a no-op anywhere else (scheduled
+ * jobs, background executors). Reactive repository calls are added to the request that
+ * assembled them when their publisher terminates (see {@link DependencyMetricsAspect}).
+ *
+ * Spans may overlap: a repository call includes the Mongo commands it issues.
+ */
+public final class RequestTiming {
+
+    public static final String AUTH = "auth";
+    public static final String REPOSITORY = "repo";
+    public static final String MONGO = "mongo";
+    public static final String CLOUDINARY = "cloudinary";
+    public static final String AI = "ai";
+    public static final String SERIALIZATION = "ser";
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedNanos = System.nanoTime();
+    private final Map<String, long[]> spans = new LinkedHashMap<>(); // span -> {nanos, calls}
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void resume(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void record(String span, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) timing.add(span, nanos);
+    }
+
+    public static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    // The header of a StreamingResponseBody is rendered on the async thread that writes it,
+    // and reactive calls finish on driver threads
+    synchronized void add(String span, long nanos) {
+        long[] totals = spans.computeIfAbsent(span, k -> new long[2]);
+        totals[0] += nanos;
+        totals[1]++;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedNanos;
+    }
+
+    synchronized List<Span> spans() {
+        List<Span> result = new ArrayList<>(spans.size());
+        spans.forEach((name, totals) -> result.add(new Span(name, millis(totals[0]), (int) totals[1])));
+        return result;
+    }
+
+    // e.g. auth;dur=1.8, repo;dur=12.4;desc="3 calls", ser;dur=0.9, total;dur=16.2
+    String serverTimingHeader() {
+        StringBuilder header = new StringBuilder();
+        for (Span span : spans()) {
+            header.append(span.name()).append(";dur=").append(span.ms());
+            if (span.calls() > 1) header.append(";desc=\"").append(span.calls()).append(" calls\"");
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    public record Span(String name, double ms, int calls) {
+    }
+}
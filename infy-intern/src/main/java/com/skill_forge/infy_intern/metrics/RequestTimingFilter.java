@@ -0,0 +1,147 @@
+package com.skill_forge.infy_intern.metrics;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Opens a {@link RequestTiming} for every request, adds the {@code Server-Timing} header
+ * and hands slow requests to the {@link SlowRequestLog}.
+ *
+ * Runs ahead of the security chain so JWT verification is inside the measured time. The
+ * header is added when the body is first opened, which is after JSON serialization (see
+ * {@link TimedJacksonConverter}), so it carries every span except the body write itself.
+ *
+ * Async requests (Flux/Mono results, streaming bodies) return from the first dispatch before
+ * Mongo answers: the timing is resumed on each async dispatch and the request is only
+ * finished, and offered to the slow log, when the async context completes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final String TIMING_ATTRIBUTE = RequestTimingFilter.class.getName() + ".timing";
+
+    private final SlowRequestLog slowRequestLog;
+    private final boolean serverTimingHeader;
+
+    public RequestTimingFilter(SlowRequestLog slowRequestLog,
+                               @Value("${skillforge.perf.server-timing-header:true}") boolean serverTimingHeader) {
+        this.slowRequestLog = slowRequestLog;
+        this.serverTimingHeader = serverTimingHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = isAsyncDispatch(req) ? (RequestTiming) req.getAttribute(TIMING_ATTRIBUTE) : null;
+        boolean resumed = timing != null;
+        if (resumed) {
+            RequestTiming.resume(timing);
+        } else {
+            timing = RequestTiming.start();
+            req.setAttribute(TIMING_ATTRIBUTE, timing);
+        }
+        TimingResponse response = new TimingResponse(res, timing);
+        try {
+            chain.doFilter(req, serverTimingHeader ? response : res);
+        } finally {
+            RequestTiming.clear();
+            if (req.isAsyncStarted()) {
+                // Registered once; the listener follows the request into later async cycles
+                if (!resumed) req.getAsyncContext().addListener(new Completion(req, res, response, timing));
+            } else if (!resumed) {
+                finish(req, res, response, timing);
+            }
+            // A resumed dispatch that did not restart async completes the context: Completion runs
+        }
+    }
+
+    private void finish(HttpServletRequest req, HttpServletResponse res, TimingResponse response, RequestTiming timing) {
+        if (serverTimingHeader) response.addServerTiming(); // no-op once the body was opened
+        Object route = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        slowRequestLog.offer(req.getMethod(), req.getRequestURI(), route == null ? null : route.toString(),
+                res.getStatus(), timing);
+    }
+
+    // Errors and timeouts are followed by onComplete, so that is the only place to finish
+    private final class Completion implements AsyncListener {
+        private final HttpServletRequest req;
+        private final HttpServletResponse res;
+        private final TimingResponse response;
+        private final RequestTiming timing;
+
+        Completion(HttpServletRequest req, HttpServletResponse res, TimingResponse response, RequestTiming timing) {
+            this.req = req;
+            this.res = res;
+            this.response = response;
+            this.timing = timing;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish(req, res, response, timing);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+        private final RequestTiming timing;
+        private boolean headerAdded;
+
+        TimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        void addServerTiming() {
+            if (headerAdded || isCommitted()) return;
+            headerAdded = true;
+            setHeader(SERVER_TIMING, timing.serverTimingHeader());
+        }
+    }
+}
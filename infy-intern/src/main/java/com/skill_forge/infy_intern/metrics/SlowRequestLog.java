@@ -0,0 +1,61 @@
+package com.skill_forge.infy_intern.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer of the most recent requests slower than the threshold, with their span
+ * breakdown. Writers claim a slot with one atomic increment, so recording never blocks a
+ * request; the oldest entry is overwritten once the buffer is full.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private final AtomicLong written = new AtomicLong();
+
+    public SlowRequestLog(@Value("${skillforge.perf.slow-threshold-ms:500}") long thresholdMs,
+                          @Value("${skillforge.perf.slow-log-size:200}") int capacity) {
+        this.thresholdNanos = thresholdMs * 1_000_000;
+        this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    void offer(String method, String path, String route, int status, RequestTiming timing) {
+        long elapsed = timing.elapsedNanos();
+        if (elapsed < thresholdNanos) return;
+        SlowRequest entry = new SlowRequest(Instant.now(), method, path, route, status,
+                RequestTiming.millis(elapsed), timing.spans());
+        slots.set((int) (written.getAndIncrement() % slots.length()), entry);
+    }
+
+    // 🟢 Buffered slow requests, slowest first
+    public List<SlowRequest> slowest(int limit) {
+        List<SlowRequest> entries = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            SlowRequest entry = slots.get(i);
+            if (entry != null) entries.add(entry);
+        }
+        entries.sort(Comparator.comparingDouble(SlowRequest::totalMs).reversed());
+        return entries.subList(0, Math.min(Math.max(limit, 0), entries.size()));
+    }
+
+    public long thresholdMs() {
+        return thresholdNanos / 1_000_000;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public record SlowRequest(Instant at, String method, String path, String route, int status,
+                              double totalMs, List<RequestTiming.Span> spans) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.skill_forge.infy_intern.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * The JSON converter used by every controller (it replaces Boot's default one, with the same
+ * ObjectMapper). Inside a timed request the body is serialized into a buffer first, so the
+ * {@code ser} span is pure Jackson time and the Server-Timing header can still be added
+ * before the response is committed.
+ */
+@Component
+public class TimedJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJacksonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (!RequestTiming.active()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long started = System.nanoTime();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        RequestTiming.record(RequestTiming.SERIALIZATION, System.nanoTime() - started);
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
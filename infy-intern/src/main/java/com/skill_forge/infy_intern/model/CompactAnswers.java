@@ -0,0 +1,121 @@
+package com.skill_forge.infy_intern.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selected option per question, stored as one byte per question.
+ *
+ * Index = question position, value = selected option index, {@link #UNANSWERED} for
+ * skipped questions. Stored in Mongo as BSON binary (see MongoConfig) and exposed in JSON
+ * as the same {"questionIndex": optionIndex} object the API has always returned.
+ */
+public final class CompactAnswers {
+
+    public static final byte UNANSWERED = -1;
+    public static final int MAX_QUESTIONS = 1000;
+    public static final int MAX_OPTION = Byte.MAX_VALUE;
+
+    private static final CompactAnswers EMPTY = new CompactAnswers(new byte[0]);
+
+    private final byte[] selections;
+
+    private CompactAnswers(byte[] selections) {
+        this.selections = selections;
+    }
+
+    public static CompactAnswers empty() {
+        return EMPTY;
+    }
+
+    public static CompactAnswers fromBytes(byte[] bytes) {
+        return bytes == null || bytes.length == 0 ? EMPTY : new CompactAnswers(bytes.clone());
+    }
+
+    // Builds from any {questionIndex: optionIndex} map (number or string keys/values); bad entries are skipped
+    @JsonCreator
+    public static CompactAnswers fromMap(Map<?, ?> raw) {
+        if (raw == null || raw.isEmpty()) return EMPTY;
+
+        int[] questions = new int[raw.size()];
+        int[] options = new int[raw.size()];
+        int count = 0;
+        int length = 0;
+        for (Map.Entry<?, ?> entry : raw.entrySet()) {
+            int question = parseIndex(entry.getKey());
+            int option = parseIndex(entry.getValue());
+            if (question < 0 || question >= MAX_QUESTIONS || option < 0 || option > MAX_OPTION) continue;
+            questions[count] = question;
+            options[count] = option;
+            count++;
+            length = Math.max(length, question + 1);
+        }
+        if (count == 0) return EMPTY;
+
+        byte[] selections = new byte[length];
+        Arrays.fill(selections, UNANSWERED);
+        for (int i = 0; i < count; i++) {
+            selections[questions[i]] = (byte) options[i];
+        }
+        return new CompactAnswers(selections);
+    }
+
+    // Positional form: [2, null, 0] means q0 -> 2, q1 unanswered, q2 -> 0
+    public static CompactAnswers fromList(List<?> raw) {
+        if (raw == null || raw.isEmpty()) return EMPTY;
+        int length = Math.min(raw.size(), MAX_QUESTIONS);
+        byte[] selections = new byte[length];
+        for (int i = 0; i < length; i++) {
+            int option = parseIndex(raw.get(i));
+            selections[i] = option < 0 || option > MAX_OPTION ? UNANSWERED : (byte) option;
+        }
+        return new CompactAnswers(selections);
+    }
+
+    // Selected option for a question, or -1 when it was not answered
+    public int get(int question) {
+        return question < selections.length ? selections[question] : UNANSWERED;
+    }
+
+    public int length() {
+        return selections.length;
+    }
+
+    public byte[] toBytes() {
+        return selections.clone();
+    }
+
+    @JsonValue
+    public Map<Integer, Integer> toMap() {
+        Map<Integer, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < selections.length; i++) {
+            if (selections[i] != UNANSWERED) map.put(i, (int) selections[i]);
+        }
+        return map;
+    }
+
+    private static int parseIndex(Object value) {
+        if (value instanceof Number number) return number.intValue();
+        if (value == null) return -1;
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompactAnswers other && Arrays.equals(selections, other.selections);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(selections);
+    }
+}
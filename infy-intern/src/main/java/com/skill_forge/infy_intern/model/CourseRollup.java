@@ -0,0 +1,33 @@
+package com.skill_forge.infy_intern.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Materialized analytics for one course; _id is the course id
+@Document(collection = "course_rollups")
+public class CourseRollup {
+    @Id
+    private String id;
+    @Indexed
+    private String instructorEmail;
+    private RollupCounters counters = new RollupCounters();
+    private Instant updatedAt;
+
+    public CourseRollup() {}
+
+    // Getters and setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getInstructorEmail() { return instructorEmail; }
+    public void setInstructorEmail(String instructorEmail) { this.instructorEmail = instructorEmail; }
+
+    public RollupCounters getCounters() { return counters; }
+    public void setCounters(RollupCounters counters) { this.counters = counters != null ? counters : new RollupCounters(); }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
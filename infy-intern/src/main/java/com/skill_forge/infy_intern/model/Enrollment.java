@@ -1,9 +1,14 @@
 package com.skill_forge.infy_intern.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Document(collection = "enrollments")
+@CompoundIndex(name = "student_course_unique", def = "{'studentEmail': 1, 'courseId': 1}", unique = true)
 public class Enrollment {
 
     @Id
@@ -14,9 +19,19 @@ public class Enrollment {
     private String courseTitle;
     private String instructorName;
     private String thumbnail; // Course thumbnail URL
-    private double progress = 0.0;
+    private double progress = 0.0; // derived from completion by CompletionService only
+    private double watchProgress = 0.0; // client-reported player position, never feeds progress
     private String status = "Enrolled";
 
+    // Completed lectures/quizzes as a bitset: word index -> 64 bits, item positions follow
+    // Course.sections order (each section's lectures, then its quizzes)
+    private Map<String, Long> completion = new HashMap<>();
+    // Resume pointer maintained on every completion so the player needs a single read
+    private String lastItemId;
+    private String nextSectionId;
+    private String nextItemId;
+    private String nextItemType; // lecture or quiz
+
     public Enrollment() {}
 
     public Enrollment(String studentEmail, String courseId, String courseTitle, String instructorName) {
@@ -45,9 +60,27 @@ public class Enrollment {
     public double getProgress() { return progress; }
     public void setProgress(double progress) { this.progress = progress; }
 
+    public double getWatchProgress() { return watchProgress; }
+    public void setWatchProgress(double watchProgress) { this.watchProgress = watchProgress; }
+
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
     public String getThumbnail() { return thumbnail; }
     public void setThumbnail(String thumbnail) { this.thumbnail = thumbnail; }
+
+    public Map<String, Long> getCompletion() { return completion; }
+    public void setCompletion(Map<String, Long> completion) { this.completion = completion != null ? completion : new HashMap<>(); }
+
+    public String getLastItemId() { return lastItemId; }
+    public void setLastItemId(String lastItemId) { this.lastItemId = lastItemId; }
+
+    public String getNextSectionId() { return nextSectionId; }
+    public void setNextSectionId(String nextSectionId) { this.nextSectionId = nextSectionId; }
+
+    public String getNextItemId() { return nextItemId; }
+    public void setNextItemId(String nextItemId) { this.nextItemId = nextItemId; }
+
+    public String getNextItemType() { return nextItemType; }
+    public void setNextItemType(String nextItemType) { this.nextItemType = nextItemType; }
 }
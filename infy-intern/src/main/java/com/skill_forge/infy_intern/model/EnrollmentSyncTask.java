@@ -0,0 +1,41 @@
+package com.skill_forge.infy_intern.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+// Pending fan-out of course fields that are copied onto enrollments (one task per course)
+@Document(collection = "enrollment_sync_tasks")
+public class EnrollmentSyncTask {
+
+    @Id
+    private String id; // courseId
+    private Map<String, Object> changes = new HashMap<>(); // enrollment field -> new value
+    private String lastEnrollmentId; // checkpoint: enrollments up to this _id are already updated
+    @Indexed
+    private String status; // PENDING, DONE
+    private Instant updatedAt;
+    private long processed;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Map<String, Object> getChanges() { return changes; }
+    public void setChanges(Map<String, Object> changes) { this.changes = changes != null ? changes : new HashMap<>(); }
+
+    public String getLastEnrollmentId() { return lastEnrollmentId; }
+    public void setLastEnrollmentId(String lastEnrollmentId) { this.lastEnrollmentId = lastEnrollmentId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+}
@@ -0,0 +1,37 @@
+package com.skill_forge.infy_intern.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+// Materialized instructor dashboard; _id is the instructor email so a dashboard load is one fetch
+@Document(collection = "instructor_rollups")
+public class InstructorRollup {
+    @Id
+    private String id;
+    private int courseCount;
+    private RollupCounters totals = new RollupCounters();
+    private Map<String, RollupCounters> courses = new HashMap<>(); // keyed by course id
+    private Instant updatedAt;
+
+    public InstructorRollup() {}
+
+    // Getters and setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public int getCourseCount() { return courseCount; }
+    public void setCourseCount(int courseCount) { this.courseCount = courseCount; }
+
+    public RollupCounters getTotals() { return totals; }
+    public void setTotals(RollupCounters totals) { this.totals = totals != null ? totals : new RollupCounters(); }
+
+    public Map<String, RollupCounters> getCourses() { return courses; }
+    public void setCourses(Map<String, RollupCounters> courses) { this.courses = courses != null ? courses : new HashMap<>(); }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,37 @@
+package com.skill_forge.infy_intern.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// One document per UTC day (_id "yyyy-MM-dd") for the admin dashboard trend charts
+@Document(collection = "platform_daily_stats")
+public class PlatformDailyStats {
+    @Id
+    private String id;
+    private long signups;
+    private long coursesCreated;
+    private long enrollments;
+    private long quizSubmissions;
+    private long videosAdded;
+
+    public PlatformDailyStats() {}
+
+    // Getters and setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public long getSignups() { return signups; }
+    public void setSignups(long signups) { this.signups = signups; }
+
+    public long getCoursesCreated() { return coursesCreated; }
+    public void setCoursesCreated(long coursesCreated) { this.coursesCreated = coursesCreated; }
+
+    public long getEnrollments() { return enrollments; }
+    public void setEnrollments(long enrollments) { this.enrollments = enrollments; }
+
+    public long getQuizSubmissions() { return quizSubmissions; }
+    public void setQuizSubmissions(long quizSubmissions) { this.quizSubmissions = quizSubmissions; }
+
+    public long getVideosAdded() { return videosAdded; }
+    public void setVideosAdded(long videosAdded) { this.videosAdded = videosAdded; }
+}
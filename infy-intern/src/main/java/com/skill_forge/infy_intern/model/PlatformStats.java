@@ -0,0 +1,57 @@
+package com.skill_forge.infy_intern.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+// Persisted platform-wide totals for the admin dashboard (a single document, _id "global")
+@Document(collection = "platform_stats")
+public class PlatformStats {
+    @Id
+    private String id;
+    private Map<String, Long> usersByRole = new HashMap<>();
+    private Map<String, Long> coursesByStatus = new HashMap<>();
+    private long enrollments;
+    private long quizSubmissions;
+    private long quizPassed;
+    private long videos;
+    private long storageBytes; // distinct uploaded media; clones share their source's assets
+    private Instant updatedAt;
+    private Instant reconciledAt;
+
+    public PlatformStats() {}
+
+    // Getters and setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Map<String, Long> getUsersByRole() { return usersByRole; }
+    public void setUsersByRole(Map<String, Long> usersByRole) { this.usersByRole = usersByRole != null ? usersByRole : new HashMap<>(); }
+
+    public Map<String, Long> getCoursesByStatus() { return coursesByStatus; }
+    public void setCoursesByStatus(Map<String, Long> coursesByStatus) { this.coursesByStatus = coursesByStatus != null ? coursesByStatus : new HashMap<>(); }
+
+    public long getEnrollments() { return enrollments; }
+    public void setEnrollments(long enrollments) { this.enrollments = enrollments; }
+
+    public long getQuizSubmissions() { return quizSubmissions; }
+    public void setQuizSubmissions(long quizSubmissions) { this.quizSubmissions = quizSubmissions; }
+
+    public long getQuizPassed() { return quizPassed; }
+    public void setQuizPassed(long quizPassed) { this.quizPassed = quizPassed; }
+
+    public long getVideos() { return videos; }
+    public void setVideos(long videos) { this.videos = videos; }
+
+    public long getStorageBytes() { return storageBytes; }
+    public void setStorageBytes(long storageBytes) { this.storageBytes = storageBytes; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public Instant getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(Instant reconciledAt) { this.reconciledAt = reconciledAt; }
+}
@@ -0,0 +1,61 @@
+package com.skill_forge.infy_intern.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// A server-side quiz attempt; its clock starts when the student opens the quiz
+@Document(collection = "quiz_attempts")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_expires", def = "{'status': 1, 'expiresAt': 1}"),
+        // At most one ACTIVE attempt per student and quiz; start() relies on it to stay atomic
+        @CompoundIndex(name = "student_quiz_active", def = "{'studentEmail': 1, 'quizId': 1}", unique = true,
+                partialFilter = "{'status': 'ACTIVE'}")
+})
+public class QuizAttempt {
+
+    public static final String ACTIVE = "ACTIVE";
+    public static final String SUBMITTED = "SUBMITTED";
+    public static final String EXPIRED = "EXPIRED";
+
+    @Id
+    private String id;
+    private String studentEmail;
+    private String courseId;
+    private String sectionId;
+    private String quizId;
+    private Instant startedAt;
+    private Instant expiresAt; // null for untimed quizzes
+    private String status;
+    private Instant submittedAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getStudentEmail() { return studentEmail; }
+    public void setStudentEmail(String studentEmail) { this.studentEmail = studentEmail; }
+
+    public String getCourseId() { return courseId; }
+    public void setCourseId(String courseId) { this.courseId = courseId; }
+
+    public String getSectionId() { return sectionId; }
+    public void setSectionId(String sectionId) { this.sectionId = sectionId; }
+
+    public String getQuizId() { return quizId; }
+    public void setQuizId(String quizId) { this.quizId = quizId; }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Instant getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(Instant submittedAt) { this.submittedAt = submittedAt; }
+}
@@ -0,0 +1,61 @@
+package com.skill_forge.infy_intern.model;
+
+import java.time.Instant;
+
+/**
+ * In-memory status of an asynchronous AI quiz generation request.
+ * Instructors poll it until the quiz has been attached to the section.
+ */
+public class QuizGenerationJob {
+
+    public static final String PENDING = "PENDING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final String id;
+    private final String courseId;
+    private final String sectionId;
+    private final String topic;
+    private final int numQuestions;
+    private final Instant createdAt;
+    private volatile String status = PENDING;
+    private volatile boolean cached;
+    private volatile String quizId;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    public QuizGenerationJob(String id, String courseId, String sectionId, String topic, int numQuestions) {
+        this.id = id;
+        this.courseId = courseId;
+        this.sectionId = sectionId;
+        this.topic = topic;
+        this.numQuestions = numQuestions;
+        this.createdAt = Instant.now();
+    }
+
+    public void complete(String quizId, boolean cached) {
+        this.quizId = quizId;
+        this.cached = cached;
+        this.finishedAt = Instant.now();
+        this.status = COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = FAILED;
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public String getCourseId() { return courseId; }
+    public String getSectionId() { return sectionId; }
+    public String getTopic() { return topic; }
+    public int getNumQuestions() { return numQuestions; }
+    public Instant getCreatedAt() { return createdAt; }
+    public String getStatus() { return status; }
+    public boolean isCached() { return cached; }
+    public String getQuizId() { return quizId; }
+    public String getError() { return error; }
+    public Instant getFinishedAt() { return finishedAt; }
+}
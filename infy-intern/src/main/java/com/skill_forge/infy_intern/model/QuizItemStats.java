@@ -0,0 +1,69 @@
+package com.skill_forge.infy_intern.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Item-analysis counters for one quiz, summed over all instances; arrays are flattened row-major
+@Document(collection = "quiz_item_stats")
+public class QuizItemStats {
+
+    @Id
+    private String id; // courseId:sectionId:quizId
+    private String courseId;
+    private String sectionId;
+    private String quizId;
+    private int questionCount;
+    private int optionStride; // counters per question in optionCounts
+    private int answerKeyHash; // correct options the counts were taken against
+    private long responses;
+    private long scoreSum;
+    private int[] bucketTotals; // responses per score decile
+    private int[] correctByBucket; // [question * buckets + bucket]
+    private int[] optionCounts; // [question * optionStride + option]
+    private int[] unanswered; // per question
+    private Instant updatedAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getCourseId() { return courseId; }
+    public void setCourseId(String courseId) { this.courseId = courseId; }
+
+    public String getSectionId() { return sectionId; }
+    public void setSectionId(String sectionId) { this.sectionId = sectionId; }
+
+    public String getQuizId() { return quizId; }
+    public void setQuizId(String quizId) { this.quizId = quizId; }
+
+    public int getQuestionCount() { return questionCount; }
+    public void setQuestionCount(int questionCount) { this.questionCount = questionCount; }
+
+    public int getOptionStride() { return optionStride; }
+    public void setOptionStride(int optionStride) { this.optionStride = optionStride; }
+
+    public int getAnswerKeyHash() { return answerKeyHash; }
+    public void setAnswerKeyHash(int answerKeyHash) { this.answerKeyHash = answerKeyHash; }
+
+    public long getResponses() { return responses; }
+    public void setResponses(long responses) { this.responses = responses; }
+
+    public long getScoreSum() { return scoreSum; }
+    public void setScoreSum(long scoreSum) { this.scoreSum = scoreSum; }
+
+    public int[] getBucketTotals() { return bucketTotals; }
+    public void setBucketTotals(int[] bucketTotals) { this.bucketTotals = bucketTotals; }
+
+    public int[] getCorrectByBucket() { return correctByBucket; }
+    public void setCorrectByBucket(int[] correctByBucket) { this.correctByBucket = correctByBucket; }
+
+    public int[] getOptionCounts() { return optionCounts; }
+    public void setOptionCounts(int[] optionCounts) { this.optionCounts = optionCounts; }
+
+    public int[] getUnanswered() { return unanswered; }
+    public void setUnanswered(int[] unanswered) { this.unanswered = unanswered; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
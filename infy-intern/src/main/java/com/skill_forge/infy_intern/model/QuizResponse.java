@@ -1,11 +1,20 @@
 package com.skill_forge.infy_intern.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.Instant;
-import java.util.Map;
 
 @Document(collection = "quiz_responses")
+@CompoundIndexes({
+        // a student's attempts at one quiz, newest first
+        @CompoundIndex(name = "student_quiz_submitted", def = "{'studentEmail': 1, 'quizId': 1, 'submittedAt': -1}"),
+        // a student's attempts across all quizzes (history, dashboard recent results)
+        @CompoundIndex(name = "student_submitted", def = "{'studentEmail': 1, 'submittedAt': -1}"),
+        // course-wide results for instructors; also serves quiz rebuilds by courseId prefix
+        @CompoundIndex(name = "course_submitted", def = "{'courseId': 1, 'submittedAt': -1}")
+})
 public class QuizResponse {
     @Id
     private String id;
@@ -13,10 +22,11 @@ public class QuizResponse {
     private String courseId;
     private String sectionId;
     private String quizId;
-    private Map<Integer, Integer> answers; // questionIndex -> selectedOptionIndex
+    private CompactAnswers answers; // one byte per question: selected option index or unanswered
     private Integer score;
     private Boolean passed;
     private Integer durationSeconds;
+    private String attemptId; // server attempt graded; null on responses stored before attempts
     private Instant submittedAt;
 
     public QuizResponse() {}
@@ -36,8 +46,8 @@ public class QuizResponse {
     public String getQuizId() { return quizId; }
     public void setQuizId(String quizId) { this.quizId = quizId; }
 
-    public Map<Integer, Integer> getAnswers() { return answers; }
-    public void setAnswers(Map<Integer, Integer> answers) { this.answers = answers; }
+    public CompactAnswers getAnswers() { return answers; }
+    public void setAnswers(CompactAnswers answers) { this.answers = answers; }
 
     public Integer getScore() { return score; }
     public void setScore(Integer score) { this.score = score; }
@@ -48,6 +58,9 @@ public class QuizResponse {
     public Integer getDurationSeconds() { return durationSeconds; }
     public void setDurationSeconds(Integer durationSeconds) { this.durationSeconds = durationSeconds; }
 
+    public String getAttemptId() { return attemptId; }
+    public void setAttemptId(String attemptId) { this.attemptId = attemptId; }
+
     public Instant getSubmittedAt() { return submittedAt; }
     public void setSubmittedAt(Instant submittedAt) { this.submittedAt = submittedAt; }
 }
@@ -0,0 +1,51 @@
+package com.skill_forge.infy_intern.model;
+
+/**
+ * Additive analytics counters shared by course and instructor rollups.
+ * Averages are derived on read so every field can be maintained with {@code $inc}.
+ */
+public class RollupCounters {
+    private String title; // course title, only set for per-course entries
+    private long enrollments;
+    private long completedEnrollments;
+    private double progressSum;
+    private long quizAttempts;
+    private long quizPassed;
+
+    public RollupCounters() {}
+
+    public void add(RollupCounters other) {
+        enrollments += other.enrollments;
+        completedEnrollments += other.completedEnrollments;
+        progressSum += other.progressSum;
+        quizAttempts += other.quizAttempts;
+        quizPassed += other.quizPassed;
+    }
+
+    public double getAverageProgress() {
+        return enrollments == 0 ? 0.0 : Math.round(progressSum * 10 / enrollments) / 10.0;
+    }
+
+    public double getQuizPassRate() {
+        return quizAttempts == 0 ? 0.0 : Math.round(quizPassed * 1000.0 / quizAttempts) / 10.0;
+    }
+
+    // Getters and setters
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public long getEnrollments() { return enrollments; }
+    public void setEnrollments(long enrollments) { this.enrollments = enrollments; }
+
+    public long getCompletedEnrollments() { return completedEnrollments; }
+    public void setCompletedEnrollments(long completedEnrollments) { this.completedEnrollments = completedEnrollments; }
+
+    public double getProgressSum() { return progressSum; }
+    public void setProgressSum(double progressSum) { this.progressSum = progressSum; }
+
+    public long getQuizAttempts() { return quizAttempts; }
+    public void setQuizAttempts(long quizAttempts) { this.quizAttempts = quizAttempts; }
+
+    public long getQuizPassed() { return quizPassed; }
+    public void setQuizPassed(long quizPassed) { this.quizPassed = quizPassed; }
+}
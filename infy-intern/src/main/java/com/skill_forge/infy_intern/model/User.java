@@ -1,15 +1,19 @@
 package com.skill_forge.infy_intern.model;
 
-
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "users")
+// Admin listing filters by role and pages by _id
+@CompoundIndex(name = "role_id", def = "{'role': 1, '_id': 1}")
 public class User {
     @Id
     private String id;
     private String name;
     private String email;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // accepted on register, never serialized
     private String password;
     private Role role;
     private String headline;
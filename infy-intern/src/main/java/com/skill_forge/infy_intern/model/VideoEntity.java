@@ -1,6 +1,7 @@
 package com.skill_forge.infy_intern.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "videos")
@@ -10,11 +11,13 @@ public class VideoEntity {
     private String id;
     private String title;
     private String videoUrl;
+    @Indexed
     private String courseId;
     private String uploadedBy;
     private String thumbnail; // Video thumbnail URL
     private String sectionTitle; // Section this video belongs to
     private Integer duration; // Video duration in seconds
+    private Long sizeBytes; // Uploaded file size, for storage totals
 
     public VideoEntity() {}
 
@@ -47,6 +50,9 @@ public class VideoEntity {
     public String getSectionTitle() { return sectionTitle; }
     public void setSectionTitle(String sectionTitle) { this.sectionTitle = sectionTitle; }
 
+    public Long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(Long sizeBytes) { this.sizeBytes = sizeBytes; }
+
     public Integer getDuration() { return duration; }
     public void setDuration(Integer duration) { this.duration = duration; }
 }
@@ -2,8 +2,14 @@ package com.skill_forge.infy_intern.repository;
 
 import com.skill_forge.infy_intern.model.Course;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import java.util.List;
+import java.util.Optional;
 
 public interface CourseRepository extends MongoRepository<Course, String> {
     List<Course> findByInstructorEmail(String instructorEmail);
+
+    // Just the status, without loading sections and lectures
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'status': 1 }")
+    Optional<Course> findStatusById(String id);
 }
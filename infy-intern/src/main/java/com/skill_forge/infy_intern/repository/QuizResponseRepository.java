@@ -1,9 +1,22 @@
 package com.skill_forge.infy_intern.repository;
 
 import com.skill_forge.infy_intern.model.QuizResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface QuizResponseRepository extends MongoRepository<QuizResponse, String> {
+
+    // Served by the student_quiz_submitted index
+    Page<QuizResponse> findByStudentEmailAndQuizIdOrderBySubmittedAtDesc(String studentEmail, String quizId, Pageable pageable);
+
+    // Served by the student_submitted index
+    Page<QuizResponse> findByStudentEmailOrderBySubmittedAtDesc(String studentEmail, Pageable pageable);
+
+    // Served by the course_submitted index; answers are left out of course-wide listings
+    @Query(value = "{ 'courseId': ?0 }", fields = "{ 'answers': 0 }", sort = "{ 'submittedAt': -1 }")
+    Page<QuizResponse> findCourseResults(String courseId, Pageable pageable);
 }
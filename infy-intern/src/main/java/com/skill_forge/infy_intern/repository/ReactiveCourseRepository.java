@@ -0,0 +1,8 @@
+package com.skill_forge.infy_intern.repository;
+
+import com.skill_forge.infy_intern.model.Course;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+// Non-blocking reads for the student catalog; writes stay on CourseRepository / MongoTemplate
+public interface ReactiveCourseRepository extends ReactiveMongoRepository<Course, String> {
+}
@@ -0,0 +1,9 @@
+package com.skill_forge.infy_intern.repository;
+
+import com.skill_forge.infy_intern.model.Enrollment;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveEnrollmentRepository extends ReactiveMongoRepository<Enrollment, String> {
+    Flux<Enrollment> findByStudentEmail(String studentEmail);
+}
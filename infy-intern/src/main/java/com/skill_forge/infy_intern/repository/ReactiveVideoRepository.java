@@ -0,0 +1,9 @@
+package com.skill_forge.infy_intern.repository;
+
+import com.skill_forge.infy_intern.model.VideoEntity;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveVideoRepository extends ReactiveMongoRepository<VideoEntity, String> {
+    Flux<VideoEntity> findByCourseId(String courseId);
+}
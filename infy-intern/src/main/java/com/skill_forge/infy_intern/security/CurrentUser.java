@@ -0,0 +1,14 @@
+package com.skill_forge.infy_intern.security;
+
+import com.skill_forge.infy_intern.model.User;
+import org.springframework.security.core.Authentication;
+
+// The User that JwtFilter put into the security context, or null for anonymous requests
+public final class CurrentUser {
+
+    private CurrentUser() {}
+
+    public static User from(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.skill_forge.infy_intern.security;
 
+import com.skill_forge.infy_intern.metrics.RequestTiming;
 import com.skill_forge.infy_intern.model.User;
 import com.skill_forge.infy_intern.service.AuthService;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -49,6 +50,7 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
+        long authStarted = System.nanoTime();
 
         try {
             // Check token format first (this might throw exception)
@@ -131,6 +133,8 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Token checks plus the user lookup; the rest of the chain is timed by its own spans
+        RequestTiming.record(RequestTiming.AUTH, System.nanoTime() - authStarted);
         chain.doFilter(req, res);
     }
 }
@@ -0,0 +1,108 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Role;
+import com.skill_forge.infy_intern.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Admin views over the users collection.
+ *
+ * Listing uses keyset pagination on {@code _id} (served by the {role, _id} index when a
+ * role filter is given), so every page costs the same no matter how deep it is. The CSV
+ * export walks a cursor and flushes as it goes. Passwords are excluded from every
+ * projection here and are write-only in JSON.
+ */
+@Service
+public class AdminUserService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int EXPORT_BATCH_SIZE = 1000;
+    private static final String[] FIELDS = {"name", "email", "role", "headline", "avatarUrl"};
+
+    private final MongoTemplate mongoTemplate;
+
+    public AdminUserService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // 🟢 One page of users after the given cursor (the last id of the previous page)
+    public Map<String, Object> listUsers(Role role, String after, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Criteria criteria = roleCriteria(role);
+        if (after != null && !after.isBlank()) {
+            criteria.and("_id").gt(ObjectId.isValid(after) ? new ObjectId(after) : after);
+        }
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(limit + 1);
+        query.fields().include(FIELDS);
+
+        List<User> users = new ArrayList<>(mongoTemplate.find(query, User.class));
+        boolean hasMore = users.size() > limit;
+        if (hasMore) users = users.subList(0, limit);
+
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("users", users);
+        page.put("size", users.size());
+        page.put("hasMore", hasMore);
+        page.put("nextCursor", hasMore ? users.get(users.size() - 1).getId() : null);
+        return page;
+    }
+
+    // 🟢 Stream every user (optionally one role) as CSV
+    public void exportCsv(OutputStream output, Role role) throws IOException {
+        Query query = Query.query(roleCriteria(role)).with(Sort.by(Sort.Direction.ASC, "_id"));
+        query.fields().include(FIELDS);
+        query.cursorBatchSize(EXPORT_BATCH_SIZE);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write("id,name,email,role,headline\n");
+        long rows = 0;
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            for (User user : (Iterable<User>) users::iterator) {
+                writer.write(csv(user.getId()));
+                writer.write(',');
+                writer.write(csv(user.getName()));
+                writer.write(',');
+                writer.write(csv(user.getEmail()));
+                writer.write(',');
+                writer.write(user.getRole() == null ? "" : user.getRole().name());
+                writer.write(',');
+                writer.write(csv(user.getHeadline()));
+                writer.write('\n');
+                if (++rows % EXPORT_BATCH_SIZE == 0) writer.flush();
+            }
+        }
+        writer.flush();
+        System.out.println("📤 Exported " + rows + " user(s) as CSV");
+    }
+
+    private static Criteria roleCriteria(Role role) {
+        return role == null ? new Criteria() : Criteria.where("role").is(role);
+    }
+
+    // RFC 4180 quoting; a leading =,+,-,@, tab or CR is prefixed so spreadsheets don't evaluate it
+    static String csv(String value) {
+        if (value == null || value.isEmpty()) return "";
+        String text = "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
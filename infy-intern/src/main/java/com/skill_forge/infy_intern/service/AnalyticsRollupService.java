@@ -0,0 +1,395 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.CourseRollup;
+import com.skill_forge.infy_intern.model.Enrollment;
+import com.skill_forge.infy_intern.model.InstructorRollup;
+import com.skill_forge.infy_intern.model.QuizResponse;
+import com.skill_forge.infy_intern.model.Role;
+import com.skill_forge.infy_intern.model.RollupCounters;
+import com.skill_forge.infy_intern.model.User;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Materialized analytics for instructor dashboards.
+ *
+ * Enrollment, progress, completion and quiz-grade events are folded into per-course
+ * deltas in memory and flushed with two unordered bulk {@code $inc} writes: one to
+ * {@code course_rollups} and one to {@code instructor_rollups}, which embeds a per-course
+ * breakdown so the dashboard is a single {@code _id} fetch. A rebuild recomputes everything
+ * from the source collections with aggregations run in parallel, correcting any drift.
+ */
+@Service
+public class AnalyticsRollupService {
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, RollupCounters> pending = new ConcurrentHashMap<>();
+    private final Map<String, CourseOwner> owners = new ConcurrentHashMap<>();
+    // Not a synchronized method: a virtual thread waiting on the scans would pin its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public AnalyticsRollupService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public void enrollmentsAdded(String courseId, int count) {
+        delta(courseId, d -> d.setEnrollments(d.getEnrollments() + count));
+    }
+
+    public void progressAdvanced(String courseId, double progressDelta, boolean completed) {
+        if (progressDelta <= 0 && !completed) return;
+        delta(courseId, d -> {
+            d.setProgressSum(d.getProgressSum() + Math.max(0, progressDelta));
+            if (completed) d.setCompletedEnrollments(d.getCompletedEnrollments() + 1);
+        });
+    }
+
+    public void quizGraded(String courseId, boolean passed) {
+        delta(courseId, d -> {
+            d.setQuizAttempts(d.getQuizAttempts() + 1);
+            if (passed) d.setQuizPassed(d.getQuizPassed() + 1);
+        });
+    }
+
+    public void courseCreated(Course course) {
+        if (course.getId() == null || course.getInstructorEmail() == null) return;
+        owners.put(course.getId(), new CourseOwner(course.getInstructorEmail(), course.getTitle()));
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(course.getInstructorEmail())),
+                new Update().inc("courseCount", 1)
+                        .set("courses." + course.getId() + ".title", course.getTitle())
+                        .set("updatedAt", Instant.now()),
+                InstructorRollup.class);
+    }
+
+    // Bulk variant for imports and clones: one upsert per instructor
+    public void coursesCreated(List<Course> courses) {
+        Map<String, List<Course>> byInstructor = new HashMap<>();
+        for (Course course : courses) {
+            if (course.getId() == null || course.getInstructorEmail() == null) continue;
+            owners.put(course.getId(), new CourseOwner(course.getInstructorEmail(), course.getTitle()));
+            byInstructor.computeIfAbsent(course.getInstructorEmail(), k -> new ArrayList<>()).add(course);
+        }
+        if (byInstructor.isEmpty()) return;
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InstructorRollup.class);
+        byInstructor.forEach((email, owned) -> {
+            Update update = new Update().inc("courseCount", owned.size()).set("updatedAt", Instant.now());
+            owned.forEach(course -> update.set("courses." + course.getId() + ".title", course.getTitle()));
+            ops.upsert(Query.query(Criteria.where("_id").is(email)), update);
+        });
+        ops.execute();
+    }
+
+    // Call before the course document is removed so its instructor can still be resolved
+    public void courseDeleted(String courseId) {
+        CourseOwner owner = ownersOf(Set.of(courseId)).get(courseId);
+        owners.remove(courseId);
+        pending.remove(courseId);
+        CourseRollup rollup = mongoTemplate.findAndRemove(Query.query(Criteria.where("_id").is(courseId)), CourseRollup.class);
+        String instructorEmail = rollup != null ? rollup.getInstructorEmail() : owner == null ? null : owner.instructorEmail();
+        if (instructorEmail == null) return;
+        RollupCounters c = rollup != null ? rollup.getCounters() : new RollupCounters();
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(instructorEmail)),
+                new Update().inc("courseCount", -1)
+                        .inc("totals.enrollments", -c.getEnrollments())
+                        .inc("totals.completedEnrollments", -c.getCompletedEnrollments())
+                        .inc("totals.progressSum", -c.getProgressSum())
+                        .inc("totals.quizAttempts", -c.getQuizAttempts())
+                        .inc("totals.quizPassed", -c.getQuizPassed())
+                        .unset("courses." + courseId)
+                        .set("updatedAt", Instant.now()),
+                InstructorRollup.class);
+    }
+
+    // Title or owner changed: resolve it again on the next flush
+    public void courseUpdated(String courseId) {
+        owners.remove(courseId);
+    }
+
+    // 🟢 Instructor dashboard: one document read
+    public InstructorRollup getInstructorRollup(String instructorEmail) {
+        InstructorRollup rollup = mongoTemplate.findById(instructorEmail, InstructorRollup.class);
+        if (rollup == null) {
+            rollup = new InstructorRollup();
+            rollup.setId(instructorEmail);
+        }
+        return rollup;
+    }
+
+    // Instructors may only read their own courses; admins (or internal callers, null) any
+    public CourseRollup getCourseRollup(String courseId, User caller) {
+        CourseRollup rollup = mongoTemplate.findById(courseId, CourseRollup.class);
+        if (rollup == null) {
+            throw new RuntimeException("No analytics for course: " + courseId);
+        }
+        boolean instructor = caller != null && caller.getRole() != Role.ADMIN;
+        if (instructor && !caller.getEmail().equals(rollup.getInstructorEmail())) {
+            throw new SecurityException("Only the course instructor can view its analytics");
+        }
+        return rollup;
+    }
+
+    @Scheduled(fixedDelayString = "${skillforge.rollups.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        Map<String, RollupCounters> batch = new HashMap<>();
+        for (String courseId : new ArrayList<>(pending.keySet())) {
+            RollupCounters d = pending.remove(courseId);
+            if (d != null) batch.put(courseId, d);
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            Map<String, CourseOwner> batchOwners = ownersOf(batch.keySet());
+            Instant now = Instant.now();
+            BulkOperations courseOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CourseRollup.class);
+            BulkOperations instructorOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InstructorRollup.class);
+            boolean courseWrites = false;
+            boolean instructorWrites = false;
+            for (Map.Entry<String, RollupCounters> entry : batch.entrySet()) {
+                String courseId = entry.getKey();
+                CourseOwner owner = batchOwners.get(courseId);
+                if (owner == null) continue; // course deleted since the event
+                courseWrites = true;
+
+                courseOps.upsert(Query.query(Criteria.where("_id").is(courseId)),
+                        increments(new Update(), "counters.", entry.getValue())
+                                .set("instructorEmail", owner.instructorEmail())
+                                .set("counters.title", owner.title())
+                                .set("updatedAt", now));
+                if (owner.instructorEmail() != null) {
+                    Update update = increments(new Update(), "totals.", entry.getValue());
+                    increments(update, "courses." + courseId + ".", entry.getValue())
+                            .set("courses." + courseId + ".title", owner.title())
+                            .set("updatedAt", now);
+                    instructorOps.upsert(Query.query(Criteria.where("_id").is(owner.instructorEmail())), update);
+                    instructorWrites = true;
+                }
+            }
+            if (courseWrites) courseOps.execute();
+            if (instructorWrites) instructorOps.execute();
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            batch.forEach((courseId, d) -> delta(courseId, p -> p.add(d)));
+            System.err.println("❌ Rollup flush failed for " + batch.size() + " course(s): " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Nightly full recompute; also corrects drift from events that raced a flush or rebuild
+    @Scheduled(cron = "${skillforge.rollups.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Rollup rebuild failed: " + e.getMessage());
+        }
+    }
+
+    // First start against an existing database: build the rollups in the background
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        Thread.ofVirtual().name("rollup-bootstrap").start(() -> {
+            try {
+                if (!mongoTemplate.exists(new Query(), InstructorRollup.class)) {
+                    rebuild();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("❌ Rollup bootstrap failed: " + e.getMessage());
+            }
+        });
+    }
+
+    // 🟢 Recompute every rollup; the three source scans run in parallel
+    public Map<String, Object> rebuild() {
+        rebuildLock.lock();
+        try {
+            return rebuildAll();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Map<String, Object> rebuildAll() {
+        flush();
+        long started = System.currentTimeMillis();
+
+        Future<List<Course>> coursesFuture;
+        Future<List<Document>> enrollmentsFuture;
+        Future<List<Document>> quizzesFuture;
+        List<Course> courses;
+        List<Document> enrollmentGroups;
+        List<Document> quizGroups;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            coursesFuture = executor.submit(() -> {
+                Query query = new Query();
+                query.fields().include("_id", "instructorEmail", "title");
+                return mongoTemplate.find(query, Course.class);
+            });
+            enrollmentsFuture = executor.submit(() -> mongoTemplate.aggregate(Aggregation.newAggregation(
+                    Aggregation.group("courseId")
+                            .count().as("enrollments")
+                            .sum("progress").as("progressSum")
+                            .sum(ConditionalOperators.when(Criteria.where("status").is("Completed")).then(1).otherwise(0))
+                            .as("completedEnrollments")
+            ), Enrollment.class, Document.class).getMappedResults());
+            quizzesFuture = executor.submit(() -> mongoTemplate.aggregate(Aggregation.newAggregation(
+                    Aggregation.group("courseId")
+                            .count().as("quizAttempts")
+                            .sum(ConditionalOperators.when(Criteria.where("passed").is(true)).then(1).otherwise(0))
+                            .as("quizPassed")
+            ), QuizResponse.class, Document.class).getMappedResults());
+
+            courses = coursesFuture.get();
+            enrollmentGroups = enrollmentsFuture.get();
+            quizGroups = quizzesFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Rollup rebuild interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Rollup rebuild failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        Map<String, RollupCounters> byCourse = new HashMap<>();
+        for (Course course : courses) {
+            RollupCounters counters = new RollupCounters();
+            counters.setTitle(course.getTitle());
+            byCourse.put(course.getId(), counters);
+            owners.put(course.getId(), new CourseOwner(course.getInstructorEmail(), course.getTitle()));
+        }
+        for (Document group : enrollmentGroups) {
+            RollupCounters counters = byCourse.get(String.valueOf(group.get("_id")));
+            if (counters == null) continue;
+            counters.setEnrollments(number(group, "enrollments").longValue());
+            counters.setProgressSum(number(group, "progressSum").doubleValue());
+            counters.setCompletedEnrollments(number(group, "completedEnrollments").longValue());
+        }
+        for (Document group : quizGroups) {
+            RollupCounters counters = byCourse.get(String.valueOf(group.get("_id")));
+            if (counters == null) continue;
+            counters.setQuizAttempts(number(group, "quizAttempts").longValue());
+            counters.setQuizPassed(number(group, "quizPassed").longValue());
+        }
+
+        Instant now = Instant.now();
+        Map<String, InstructorRollup> byInstructor = new HashMap<>();
+        BulkOperations courseOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CourseRollup.class);
+        for (Course course : courses) {
+            RollupCounters counters = byCourse.get(course.getId());
+            CourseRollup rollup = new CourseRollup();
+            rollup.setId(course.getId());
+            rollup.setInstructorEmail(course.getInstructorEmail());
+            rollup.setCounters(counters);
+            rollup.setUpdatedAt(now);
+            courseOps.replaceOne(Query.query(Criteria.where("_id").is(course.getId())), rollup,
+                    FindAndReplaceOptions.options().upsert());
+
+            if (course.getInstructorEmail() == null) continue;
+            InstructorRollup instructor = byInstructor.computeIfAbsent(course.getInstructorEmail(), email -> {
+                InstructorRollup r = new InstructorRollup();
+                r.setId(email);
+                r.setUpdatedAt(now);
+                return r;
+            });
+            instructor.setCourseCount(instructor.getCourseCount() + 1);
+            instructor.getTotals().add(counters);
+            instructor.getCourses().put(course.getId(), counters);
+        }
+        if (!courses.isEmpty()) courseOps.execute();
+
+        if (!byInstructor.isEmpty()) {
+            BulkOperations instructorOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InstructorRollup.class);
+            byInstructor.values().forEach(rollup -> instructorOps.replaceOne(
+                    Query.query(Criteria.where("_id").is(rollup.getId())), rollup, FindAndReplaceOptions.options().upsert()));
+            instructorOps.execute();
+        }
+
+        // Drop rollups for courses and instructors that no longer exist
+        mongoTemplate.remove(Query.query(Criteria.where("_id").nin(byCourse.keySet())), CourseRollup.class);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").nin(byInstructor.keySet())), InstructorRollup.class);
+
+        long elapsed = System.currentTimeMillis() - started;
+        System.out.println("📊 Rollups rebuilt: " + courses.size() + " course(s), " + byInstructor.size()
+                + " instructor(s) in " + elapsed + " ms");
+        Map<String, Object> result = new HashMap<>();
+        result.put("courses", courses.size());
+        result.put("instructors", byInstructor.size());
+        result.put("elapsedMs", elapsed);
+        return result;
+    }
+
+    private void delta(String courseId, Consumer<RollupCounters> change) {
+        if (courseId == null) return;
+        // compute() holds the entry lock, so a concurrent flush never drops a half-applied delta
+        pending.compute(courseId, (k, d) -> {
+            RollupCounters counters = d != null ? d : new RollupCounters();
+            change.accept(counters);
+            return counters;
+        });
+    }
+
+    private Map<String, CourseOwner> ownersOf(Set<String> courseIds) {
+        List<String> missing = courseIds.stream().filter(id -> !owners.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            Query query = Query.query(Criteria.where("_id").in(missing));
+            query.fields().include("_id", "instructorEmail", "title");
+            for (Course course : mongoTemplate.find(query, Course.class)) {
+                owners.put(course.getId(), new CourseOwner(course.getInstructorEmail(), course.getTitle()));
+            }
+        }
+        Map<String, CourseOwner> result = new HashMap<>();
+        for (String courseId : courseIds) {
+            CourseOwner owner = owners.get(courseId);
+            if (owner != null) result.put(courseId, owner);
+        }
+        return result;
+    }
+
+    private static Update increments(Update update, String prefix, RollupCounters d) {
+        if (d.getEnrollments() != 0) update.inc(prefix + "enrollments", d.getEnrollments());
+        if (d.getCompletedEnrollments() != 0) update.inc(prefix + "completedEnrollments", d.getCompletedEnrollments());
+        if (d.getProgressSum() != 0) update.inc(prefix + "progressSum", d.getProgressSum());
+        if (d.getQuizAttempts() != 0) update.inc(prefix + "quizAttempts", d.getQuizAttempts());
+        if (d.getQuizPassed() != 0) update.inc(prefix + "quizPassed", d.getQuizPassed());
+        return update;
+    }
+
+    private static Number number(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number n ? n : 0;
+    }
+
+    private record CourseOwner(String instructorEmail, String title) {}
+}
@@ -15,10 +15,12 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final Map<String, String> activeSessions = new HashMap<>(); // email → token
     private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final PlatformStatsService platformStats;
 
-    public AuthService(UserRepository userRepository, JwtUtil jwtUtil) {
+    public AuthService(UserRepository userRepository, JwtUtil jwtUtil, PlatformStatsService platformStats) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
+        this.platformStats = platformStats;
     }
 
     public String register(User user) {
@@ -27,6 +29,7 @@ public class AuthService {
 
         user.setPassword(encoder.encode(user.getPassword()));
         userRepository.save(user);
+        platformStats.userRegistered(user.getRole());
         return "User registered successfully!";
     }
 
@@ -5,6 +5,7 @@ import com.cloudinary.utils.ObjectUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Map;
 
@@ -26,12 +27,33 @@ public class CloudinaryService {
             System.out.println("Uploading video to Cloudinary: " + file.getOriginalFilename() + 
                              " (" + (file.getSize() / 1024 / 1024) + " MB)");
             
+            return uploadVideoSource(file.getBytes(), folder);
+        } catch (IOException e) {
+            throw videoUploadFailure(e);
+        }
+    }
+
+    // Upload a video that is already spooled to disk (used by bulk imports so large
+    // batches are never held in memory at once)
+    public String uploadVideo(File file, String folder) {
+        if (file == null || !file.exists() || file.length() == 0) {
+            throw new RuntimeException("Video file is empty or null");
+        }
+
+        System.out.println("Uploading video to Cloudinary: " + file.getName() +
+                         " (" + (file.length() / 1024 / 1024) + " MB)");
+
+        return uploadVideoSource(file, folder);
+    }
+
+    private String uploadVideoSource(Object source, String folder) {
+        try {
             // Clean folder path - remove any invalid characters
             String cleanFolder = folder != null ? folder.replaceAll("[^a-zA-Z0-9/_\\-]", "_") : "skillforge/videos";
             
             System.out.println("📤 Uploading to Cloudinary folder: " + cleanFolder);
             
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(),
+            Map uploadResult = cloudinary.uploader().upload(source,
                     ObjectUtils.asMap(
                             "resource_type", "video",
                             "folder", cleanFolder,
@@ -42,33 +64,37 @@ public class CloudinaryService {
             String videoUrl = uploadResult.get("secure_url").toString();
             System.out.println("Video uploaded successfully: " + videoUrl);
             return videoUrl;
-        } catch (IOException e) {
-            String errorMsg = e.getMessage();
+        } catch (Exception e) {
+            throw videoUploadFailure(e);
+        }
+    }
+
+    private RuntimeException videoUploadFailure(Exception e) {
+        String errorMsg = e.getMessage();
+        if (e instanceof IOException) {
             if (errorMsg != null && (errorMsg.contains("No such host is known") || 
                                      errorMsg.contains("UnknownHostException"))) {
-                throw new RuntimeException("Cannot connect to Cloudinary API. Please check your internet connection and Cloudinary credentials in application.properties");
+                return new RuntimeException("Cannot connect to Cloudinary API. Please check your internet connection and Cloudinary credentials in application.properties");
             }
-            throw new RuntimeException("Cloudinary video upload failed: " + errorMsg);
-        } catch (Exception e) {
-            String errorMsg = e.getMessage();
-            
-            // Check for specific Cloudinary errors
-            if (errorMsg != null) {
-                if (errorMsg.contains("Invalid Signature") || errorMsg.contains("401 Unauthorized")) {
-                    throw new RuntimeException("Cloudinary authentication failed: Invalid API credentials. Please check your cloudinary.api_secret in application.properties. The API secret may be incorrect or contain special characters.");
-                }
-                if (errorMsg.contains("No such host is known") || errorMsg.contains("UnknownHostException")) {
-                    throw new RuntimeException("Cannot connect to Cloudinary API. Please check your internet connection and Cloudinary credentials in application.properties");
-                }
-                if (errorMsg.contains("403 Forbidden")) {
-                    throw new RuntimeException("Cloudinary access denied: Check your API key and secret permissions in Cloudinary dashboard");
-                }
+            return new RuntimeException("Cloudinary video upload failed: " + errorMsg);
+        }
+
+        // Check for specific Cloudinary errors
+        if (errorMsg != null) {
+            if (errorMsg.contains("Invalid Signature") || errorMsg.contains("401 Unauthorized")) {
+                return new RuntimeException("Cloudinary authentication failed: Invalid API credentials. Please check your cloudinary.api_secret in application.properties. The API secret may be incorrect or contain special characters.");
+            }
+            if (errorMsg.contains("No such host is known") || errorMsg.contains("UnknownHostException")) {
+                return new RuntimeException("Cannot connect to Cloudinary API. Please check your internet connection and Cloudinary credentials in application.properties");
+            }
+            if (errorMsg.contains("403 Forbidden")) {
+                return new RuntimeException("Cloudinary access denied: Check your API key and secret permissions in Cloudinary dashboard");
             }
-            
-            System.err.println("Video upload error: " + e.getClass().getName() + ": " + errorMsg);
-            e.printStackTrace();
-            throw new RuntimeException("Cloudinary video upload failed: " + (errorMsg != null ? errorMsg : e.getClass().getSimpleName()));
         }
+        
+        System.err.println("Video upload error: " + e.getClass().getName() + ": " + errorMsg);
+        e.printStackTrace();
+        return new RuntimeException("Cloudinary video upload failed: " + (errorMsg != null ? errorMsg : e.getClass().getSimpleName()));
     }
     
     // Generate thumbnail from video URL (Cloudinary can extract frames from videos)
@@ -0,0 +1,203 @@
+package com.skill_forge.infy_intern.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Enrollment;
+import com.skill_forge.infy_intern.model.Role;
+import com.skill_forge.infy_intern.model.User;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Enrolls a cohort of students from a streamed list of "email,courseId" lines.
+ *
+ * Rows are processed in batches: courses are validated with one {@code $in} query,
+ * enrollments are written with unordered bulk upserts, and every course touched by the
+ * batch gets a single aggregated {@code studentsCount} increment. A per-row report is
+ * written back as NDJSON while the input is still being read.
+ */
+@Service
+public class CohortEnrollmentService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final AnalyticsRollupService rollupService;
+    private final PlatformStatsService platformStats;
+
+    public CohortEnrollmentService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                                   AnalyticsRollupService rollupService, PlatformStatsService platformStats) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.rollupService = rollupService;
+        this.platformStats = platformStats;
+    }
+
+    public void enroll(InputStream input, OutputStream output, User caller) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        Map<String, Integer> totals = new LinkedHashMap<>();
+
+        List<Row> batch = new ArrayList<>(BATCH_SIZE);
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || (lineNumber == 1 && trimmed.toLowerCase().startsWith("email"))) {
+                continue; // blank line or CSV header
+            }
+            String[] parts = trimmed.split(",", -1);
+            batch.add(parts.length == 2
+                    ? new Row(lineNumber, parts[0].trim(), parts[1].trim())
+                    : new Row(lineNumber, trimmed, null));
+            if (batch.size() == BATCH_SIZE) {
+                processBatch(batch, caller, writer, totals);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            processBatch(batch, caller, writer, totals);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("summary", totals);
+        writeLine(writer, summary);
+        writer.flush();
+    }
+
+    private void processBatch(List<Row> batch, User caller, Writer writer, Map<String, Integer> totals) throws IOException {
+        Map<String, Course> courses = findCourses(batch);
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Enrollment.class);
+        List<Row> queued = new ArrayList<>();
+        Map<Row, String> statuses = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (Row row : batch) {
+            if (row.courseId() == null || row.courseId().isEmpty() || !row.email().contains("@")) {
+                statuses.put(row, "INVALID_ROW");
+                continue;
+            }
+            Course course = courses.get(row.courseId());
+            if (course == null) {
+                statuses.put(row, "COURSE_NOT_FOUND");
+                continue;
+            }
+            if (caller != null && caller.getRole() == Role.INSTRUCTOR
+                    && !caller.getEmail().equals(course.getInstructorEmail())) {
+                statuses.put(row, "NOT_COURSE_INSTRUCTOR");
+                continue;
+            }
+            if (!seen.add(row.email() + "\n" + row.courseId())) {
+                statuses.put(row, "DUPLICATE_ROW");
+                continue;
+            }
+            ops.upsert(StudentService.enrollmentQuery(row.email(), row.courseId()), StudentService.enrollmentUpsert(course));
+            queued.add(row);
+        }
+
+        if (!queued.isEmpty()) {
+            BulkWriteResult result;
+            Set<Integer> failed = new HashSet<>();
+            try {
+                result = ops.execute();
+            } catch (BulkOperationException e) {
+                result = e.getResult();
+                for (BulkWriteError error : e.getErrors()) {
+                    failed.add(error.getIndex());
+                }
+            }
+
+            Set<Integer> inserted = new HashSet<>();
+            for (BulkWriteUpsert upsert : result.getUpserts()) {
+                inserted.add(upsert.getIndex());
+            }
+
+            Map<String, Integer> newStudents = new HashMap<>();
+            for (int i = 0; i < queued.size(); i++) {
+                Row row = queued.get(i);
+                if (failed.contains(i)) {
+                    statuses.put(row, "FAILED");
+                } else if (inserted.contains(i)) {
+                    statuses.put(row, "ENROLLED");
+                    newStudents.merge(row.courseId(), 1, Integer::sum);
+                } else {
+                    statuses.put(row, "ALREADY_ENROLLED");
+                }
+            }
+            incrementStudentCounts(newStudents);
+        }
+
+        for (Row row : batch) {
+            String status = statuses.get(row);
+            totals.merge(status, 1, Integer::sum);
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("line", row.line());
+            report.put("email", row.email());
+            report.put("courseId", row.courseId());
+            report.put("status", status);
+            writeLine(writer, report);
+        }
+        writer.flush();
+    }
+
+    // One query validates every course referenced by the batch
+    private Map<String, Course> findCourses(List<Row> batch) {
+        Set<String> courseIds = new HashSet<>();
+        for (Row row : batch) {
+            if (row.courseId() != null && !row.courseId().isEmpty()) courseIds.add(row.courseId());
+        }
+        Map<String, Course> courses = new HashMap<>();
+        if (courseIds.isEmpty()) return courses;
+
+        Query query = Query.query(Criteria.where("_id").in(courseIds));
+        query.fields().include("title", "instructorName", "instructorEmail", "thumbnail");
+        for (Course course : mongoTemplate.find(query, Course.class)) {
+            courses.put(course.getId(), course);
+        }
+        return courses;
+    }
+
+    private void incrementStudentCounts(Map<String, Integer> newStudents) {
+        if (newStudents.isEmpty()) return;
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Course.class);
+        newStudents.forEach((courseId, count) ->
+                ops.updateOne(Query.query(Criteria.where("_id").is(courseId)), new Update().inc("studentsCount", count)));
+        ops.execute();
+        newStudents.forEach(rollupService::enrollmentsAdded);
+        platformStats.enrollmentsAdded(newStudents.values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    private void writeLine(Writer writer, Object value) throws IOException {
+        writer.write(objectMapper.writeValueAsString(value));
+        writer.write('\n');
+    }
+
+    private record Row(int line, String email, String courseId) {}
+}
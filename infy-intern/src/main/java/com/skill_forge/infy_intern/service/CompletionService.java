@@ -0,0 +1,218 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Enrollment;
+import com.skill_forge.infy_intern.model.Quiz;
+import com.skill_forge.infy_intern.model.Section;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Server-side lecture/quiz completion tracking.
+ *
+ * Each enrollment keeps a bitset of finished items, indexed by position in the course
+ * outline. Bits are set with Mongo's atomic {@code $bit}, progress is derived from the
+ * population count, and the next item to play is stored on the enrollment so resuming
+ * the course player is one read. The bit and everything derived from it are written in
+ * one update guarded by the words it was derived from, so concurrent completions cannot
+ * leave a stale progress or resume pointer behind.
+ */
+@Service
+public class CompletionService {
+
+    public static final String LECTURE = "lecture";
+    public static final String QUIZ = "quiz";
+
+    // Concurrent completions of the same enrollment retry; this many conflicts in a row fail
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final AnalyticsRollupService rollupService;
+
+    public CompletionService(MongoTemplate mongoTemplate, AnalyticsRollupService rollupService) {
+        this.mongoTemplate = mongoTemplate;
+        this.rollupService = rollupService;
+    }
+
+    // 🟢 Mark a lecture or quiz as completed and return the derived progress
+    public Map<String, Object> markCompleted(String email, String courseId, String itemId) {
+        List<Item> outline = loadOutline(courseId);
+        int index = indexOf(outline, itemId);
+        if (index < 0) {
+            throw new RuntimeException("Item not found in course: " + itemId);
+        }
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Query read = enrollmentQuery(email, courseId);
+            read.fields().include("completion", "progress", "status");
+            Enrollment current = mongoTemplate.findOne(read, Enrollment.class);
+            if (current == null) {
+                throw new RuntimeException("Enrollment not found");
+            }
+
+            long[] before = toWords(current.getCompletion(), outline.size());
+            long[] bits = before.clone();
+            bits[index >>> 6] |= 1L << (index & 63);
+            int completed = countCompleted(bits, outline.size());
+            double progress = percentage(completed, outline.size());
+            Item next = nextIncomplete(outline, bits, index);
+
+            // Bit, progress and resume pointer in one write, applied only if no other completion
+            // changed the words since they were read; otherwise re-read and derive again
+            Update update = new Update()
+                    .set("lastItemId", itemId)
+                    .set("progress", progress)
+                    .set("nextSectionId", next == null ? null : next.sectionId())
+                    .set("nextItemId", next == null ? null : next.itemId())
+                    .set("nextItemType", next == null ? null : next.type());
+            update.bitwise("completion." + (index >>> 6)).or(1L << (index & 63));
+            if (next == null) {
+                update.set("status", "Completed");
+            }
+            if (mongoTemplate.updateFirst(unchangedSince(email, courseId, before), update, Enrollment.class).getMatchedCount() == 0) {
+                continue;
+            }
+
+            rollupService.progressAdvanced(courseId, progress - current.getProgress(),
+                    next == null && !"Completed".equals(current.getStatus()));
+            return result(progress, completed, outline.size(), next);
+        }
+        throw new RuntimeException("Completion update conflicted with concurrent updates, please retry");
+    }
+
+    private static Map<String, Object> result(double progress, int completed, int totalItems, Item next) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("progress", progress);
+        result.put("completedItems", completed);
+        result.put("totalItems", totalItems);
+        result.put("next", next == null ? null : next.toMap());
+        return result;
+    }
+
+    // 🟢 Resume position for the course player: a single projected enrollment read
+    public Map<String, Object> resumePosition(String email, String courseId) {
+        Query query = enrollmentQuery(email, courseId);
+        query.fields().include("progress", "lastItemId", "nextSectionId", "nextItemId", "nextItemType");
+        Enrollment enrollment = mongoTemplate.findOne(query, Enrollment.class);
+        if (enrollment == null) {
+            throw new RuntimeException("Enrollment not found");
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("progress", enrollment.getProgress());
+        result.put("lastItemId", enrollment.getLastItemId());
+        result.put("nextSectionId", enrollment.getNextSectionId());
+        result.put("nextItemId", enrollment.getNextItemId());
+        result.put("nextItemType", enrollment.getNextItemType());
+        return result;
+    }
+
+    // Flatten the course into positional items: per section, lectures first, then quizzes
+    List<Item> loadOutline(String courseId) {
+        Query query = Query.query(Criteria.where("_id").is(courseId));
+        query.fields().include("sections.id", "sections.lectures.id", "sections.quizzes.id");
+        Course course = mongoTemplate.findOne(query, Course.class);
+        if (course == null) {
+            throw new RuntimeException("Course not found");
+        }
+        return outlineOf(course);
+    }
+
+    static List<Item> outlineOf(Course course) {
+        List<Item> items = new ArrayList<>();
+        for (Section section : course.getSections()) {
+            for (Object lecture : section.getLectures()) {
+                if (lecture instanceof Map<?, ?> map && map.get("id") != null) {
+                    items.add(new Item(section.getId(), map.get("id").toString(), LECTURE));
+                }
+            }
+            for (Quiz quiz : section.getQuizzes()) {
+                items.add(new Item(section.getId(), quiz.getId(), QUIZ));
+            }
+        }
+        return items;
+    }
+
+    static long[] toWords(Map<String, Long> completion, int totalItems) {
+        long[] words = new long[(totalItems + 63) >>> 6];
+        if (completion == null) return words;
+        for (Map.Entry<String, Long> entry : completion.entrySet()) {
+            int word = Integer.parseInt(entry.getKey());
+            if (word < words.length && entry.getValue() != null) {
+                words[word] = entry.getValue();
+            }
+        }
+        return words;
+    }
+
+    static int countCompleted(long[] words, int totalItems) {
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            // Ignore stale bits past the end of the outline (e.g. after lectures were removed)
+            int valid = Math.min(64, totalItems - (i << 6));
+            if (valid < 64) word &= (1L << valid) - 1;
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    static double percentage(int completed, int total) {
+        return total == 0 ? 0.0 : Math.round(completed * 1000.0 / total) / 10.0;
+    }
+
+    private static boolean isSet(long[] words, int index) {
+        return (words[index >>> 6] & (1L << (index & 63))) != 0;
+    }
+
+    // First unfinished item after the one just completed, wrapping to the start of the course
+    private static Item nextIncomplete(List<Item> outline, long[] words, int from) {
+        int size = outline.size();
+        for (int step = 1; step <= size; step++) {
+            int i = (from + step) % size;
+            if (!isSet(words, i)) return outline.get(i);
+        }
+        return null;
+    }
+
+    private static int indexOf(List<Item> outline, String itemId) {
+        for (int i = 0; i < outline.size(); i++) {
+            if (outline.get(i).itemId().equals(itemId)) return i;
+        }
+        return -1;
+    }
+
+    private static Query enrollmentQuery(String email, String courseId) {
+        return Query.query(Criteria.where("studentEmail").is(email).and("courseId").is(courseId));
+    }
+
+    // Matches the enrollment only while every outline word still holds the value read
+    static Query unchangedSince(String email, String courseId, long[] words) {
+        Criteria criteria = Criteria.where("studentEmail").is(email).and("courseId").is(courseId);
+        for (int i = 0; i < words.length; i++) {
+            // A zero word may also be missing, since words are created by the first $bit on them
+            criteria = words[i] == 0
+                    ? criteria.and("completion." + i).in(0L, null)
+                    : criteria.and("completion." + i).is(words[i]);
+        }
+        return Query.query(criteria);
+    }
+
+    record Item(String sectionId, String itemId, String type) {
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("sectionId", sectionId);
+            map.put("itemId", itemId);
+            map.put("itemType", type);
+            return map;
+        }
+    }
+}
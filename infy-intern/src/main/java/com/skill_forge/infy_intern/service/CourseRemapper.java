@@ -0,0 +1,93 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Note;
+import com.skill_forge.infy_intern.model.Quiz;
+import com.skill_forge.infy_intern.model.QuizQuestion;
+import com.skill_forge.infy_intern.model.Section;
+import com.skill_forge.infy_intern.model.VideoContent;
+import com.skill_forge.infy_intern.model.VideoEntity;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Gives a course and its video rows a fresh identity so they can be inserted next to the
+ * original (imports and clones). Every id inside the course is replaced and lecture
+ * references are pointed at the new video rows; media URLs are kept, so no storage asset
+ * is copied. The objects passed in are modified in place.
+ */
+final class CourseRemapper {
+
+    private CourseRemapper() {}
+
+    static void remap(Course course, List<VideoEntity> videos) {
+        String courseId = new ObjectId().toHexString();
+        course.setId(courseId);
+        course.setStudentsCount(0);
+
+        Map<String, String> videoIds = new HashMap<>();
+        for (VideoEntity video : videos) {
+            String newId = new ObjectId().toHexString();
+            if (video.getId() != null) videoIds.put(video.getId(), newId);
+            video.setId(newId);
+            video.setCourseId(courseId);
+        }
+
+        if (course.getSections() == null) course.setSections(new ArrayList<>());
+        for (Section section : course.getSections()) {
+            section.setId(newId());
+            if (section.getVideos() != null) {
+                for (VideoContent content : section.getVideos()) {
+                    content.setId(newId());
+                }
+            }
+            if (section.getLectures() != null) {
+                List<Object> lectures = new ArrayList<>(section.getLectures().size());
+                for (Object lecture : section.getLectures()) {
+                    lectures.add(remapLecture(lecture, videoIds));
+                }
+                section.setLectures(lectures);
+            }
+            if (section.getQuizzes() != null) {
+                for (Quiz quiz : section.getQuizzes()) {
+                    quiz.setId(newId());
+                    if (quiz.getQuestions() == null) continue;
+                    for (QuizQuestion question : quiz.getQuestions()) {
+                        question.setId(newId());
+                    }
+                }
+            }
+        }
+
+        if (course.getNotes() != null) {
+            for (Note note : course.getNotes()) {
+                note.setId(newId());
+            }
+        }
+    }
+
+    // Lectures are free-form maps: "id"/"videoId" point at VideoEntity rows when uploaded
+    private static Object remapLecture(Object lecture, Map<String, String> videoIds) {
+        if (!(lecture instanceof Map<?, ?> source)) return lecture;
+        Map<String, Object> copy = new LinkedHashMap<>();
+        source.forEach((key, value) -> copy.put(String.valueOf(key), value));
+
+        Object videoId = copy.get("videoId");
+        if (videoId != null && videoIds.containsKey(videoId.toString())) {
+            copy.put("videoId", videoIds.get(videoId.toString()));
+        }
+        Object id = copy.get("id");
+        copy.put("id", id != null && videoIds.containsKey(id.toString()) ? videoIds.get(id.toString()) : newId());
+        return copy;
+    }
+
+    private static String newId() {
+        return UUID.randomUUID().toString();
+    }
+}
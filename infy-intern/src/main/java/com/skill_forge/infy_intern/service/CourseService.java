@@ -9,14 +9,6 @@ import com.skill_forge.infy_intern.repository.CourseRepository;
 import com.skill_forge.infy_intern.repository.VideoRepository;
 import com.skill_forge.infy_intern.model.QuizResponse;
 import com.skill_forge.infy_intern.repository.QuizResponseRepository;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -30,23 +22,35 @@ public class CourseService {
     private final VideoRepository videoRepository;
     private final CloudinaryService cloudinaryService;
     private final QuizResponseRepository quizResponseRepository;
-    private final String perplexityApiKey;
-    private final String perplexityApiUrl;
+    private final EnrollmentSyncService enrollmentSyncService;
+    private final QuizAnswerKeyCache answerKeyCache;
+    private final QuizItemAnalysisService itemAnalysisService;
+    private final LeaderboardService leaderboardService;
+    private final AnalyticsRollupService rollupService;
+    private final PlatformStatsService platformStats;
 
 
-    // Additional constructor used by Spring to inject QuizResponseRepository and API config
+    // Additional constructor used by Spring to inject QuizResponseRepository
     public CourseService(CourseRepository courseRepository,
                          VideoRepository videoRepository,
                          CloudinaryService cloudinaryService,
                          QuizResponseRepository quizResponseRepository,
-                         @Value("${perplexity.api.key:}") String perplexityApiKey,
-                         @Value("${perplexity.api.url:https://api.perplexity.ai/v1/generate}") String perplexityApiUrl) {
+                         EnrollmentSyncService enrollmentSyncService,
+                         QuizAnswerKeyCache answerKeyCache,
+                         QuizItemAnalysisService itemAnalysisService,
+                         LeaderboardService leaderboardService,
+                         AnalyticsRollupService rollupService,
+                         PlatformStatsService platformStats) {
         this.courseRepository = courseRepository;
         this.videoRepository = videoRepository;
         this.cloudinaryService = cloudinaryService;
         this.quizResponseRepository = quizResponseRepository;
-        this.perplexityApiKey = perplexityApiKey;
-        this.perplexityApiUrl = perplexityApiUrl;
+        this.enrollmentSyncService = enrollmentSyncService;
+        this.answerKeyCache = answerKeyCache;
+        this.itemAnalysisService = itemAnalysisService;
+        this.leaderboardService = leaderboardService;
+        this.rollupService = rollupService;
+        this.platformStats = platformStats;
     }
 
     // 🟢 Create a new course
@@ -64,7 +68,14 @@ public class CourseService {
         if (course.getLanguage() == null || course.getLanguage().isEmpty()) {
             course.setLanguage("English");
         }
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        try {
+            rollupService.courseCreated(saved);
+        } catch (RuntimeException e) {
+            System.err.println("❌ Rollup update failed for new course: " + e.getMessage());
+        }
+        platformStats.courseCreated(saved);
+        return saved;
     }
 
     // 🟢 Fetch all courses
@@ -77,6 +88,33 @@ public class CourseService {
         return courseRepository.findById(id);
     }
 
+    // 🟢 Update course details (only fields present in the request are changed)
+    public Course updateCourse(String courseId, Course changes) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        String oldTitle = course.getTitle();
+        String oldInstructorName = course.getInstructorName();
+        String oldThumbnail = course.getThumbnail();
+        String oldStatus = course.getStatus();
+
+        if (changes.getTitle() != null) course.setTitle(changes.getTitle());
+        if (changes.getDescription() != null) course.setDescription(changes.getDescription());
+        if (changes.getInstructorName() != null) course.setInstructorName(changes.getInstructorName());
+        if (changes.getCategory() != null) course.setCategory(changes.getCategory());
+        if (changes.getLevel() != null) course.setLevel(changes.getLevel());
+        if (changes.getLanguage() != null) course.setLanguage(changes.getLanguage());
+        if (changes.getPrice() != null) course.setPrice(changes.getPrice());
+        if (changes.getDiscountPrice() != null) course.setDiscountPrice(changes.getDiscountPrice());
+        if (changes.getThumbnail() != null) course.setThumbnail(changes.getThumbnail());
+        if (changes.getStatus() != null) course.setStatus(changes.getStatus());
+
+        Course saved = courseRepository.save(course);
+        enrollmentSyncService.courseChanged(courseId, oldTitle, oldInstructorName, oldThumbnail, saved);
+        rollupService.courseUpdated(courseId);
+        platformStats.courseStatusChanged(oldStatus, saved.getStatus());
+        return saved;
+    }
+
     // 🟢 Add section to course
     public Course addSection(String courseId, String sectionTitle) {
         Optional<Course> courseOpt = courseRepository.findById(courseId);
@@ -107,7 +145,9 @@ public class CourseService {
         Course course = courseOpt.get();
         if (course.getSections() != null) {
             course.getSections().removeIf(section -> sectionId.equals(section.getId()));
-            return courseRepository.save(course);
+            Course saved = courseRepository.save(course);
+            answerKeyCache.invalidateSection(courseId, sectionId);
+            return saved;
         }
         
         return course;
@@ -115,7 +155,16 @@ public class CourseService {
     
     // 🟢 Delete course
     public void deleteCourse(String courseId) {
-        courseRepository.deleteById(courseId);
+        try {
+            rollupService.courseDeleted(courseId);
+        } catch (RuntimeException e) {
+            System.err.println("❌ Rollup update failed for deleted course: " + e.getMessage());
+        }
+        courseRepository.findStatusById(courseId).ifPresent(course -> {
+            courseRepository.deleteById(courseId);
+            platformStats.courseDeleted(course.getStatus());
+        });
+        answerKeyCache.invalidateCourse(courseId);
     }
 
     // 🟢 Upload video and attach to a course
@@ -143,6 +192,7 @@ public class CourseService {
 
             course = courseRepository.save(course); // save new course
             courseId = course.getId();
+            platformStats.courseCreated(course);
 
             System.out.println("🆕 Auto-created course with ID: " + courseId);
         }
@@ -178,7 +228,9 @@ public class CourseService {
             VideoEntity video = new VideoEntity(title, videoUrl, courseId, uploadedBy);
             video.setSectionTitle(finalSectionTitle);
             video.setThumbnail(thumbnailUrl);
+            video.setSizeBytes(file.getSize());
             video = videoRepository.save(video);
+            platformStats.videosAdded(1, file.getSize());
             
             System.out.println("💾 Video saved to database with ID: " + video.getId());
 
@@ -277,7 +329,9 @@ public class CourseService {
             VideoEntity video = new VideoEntity(title, videoUrl, courseId, uploadedBy);
             video.setSectionTitle(targetSection.getTitle());
             video.setThumbnail(thumbnailUrl);
+            video.setSizeBytes(file.getSize());
             video = videoRepository.save(video);
+            platformStats.videosAdded(1, file.getSize());
             
             // Add to section's lectures
             if (targetSection.getLectures() == null) {
@@ -317,8 +371,11 @@ public class CourseService {
 
         String folder = "skillforge/courses/" + courseId + "/thumbnail";
         String thumbnailUrl = cloudinaryService.uploadImage(file, folder);
+        String oldThumbnail = course.getThumbnail();
         course.setThumbnail(thumbnailUrl);
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        enrollmentSyncService.courseChanged(courseId, saved.getTitle(), saved.getInstructorName(), oldThumbnail, saved);
+        return saved;
     }
 
     // 🟢 Upload notes (PDF) and attach to course
@@ -367,7 +424,9 @@ public class CourseService {
         }
 
         section.getQuizzes().add(quiz);
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        answerKeyCache.invalidate(courseId, sectionId, quiz.getId());
+        return saved;
     }
 
     // 🟢 Update quiz in section
@@ -392,7 +451,9 @@ public class CourseService {
         existingQuiz.setPassingScore(updatedQuiz.getPassingScore());
         existingQuiz.setIsPublished(updatedQuiz.getIsPublished());
 
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        answerKeyCache.invalidate(courseId, sectionId, quizId);
+        return saved;
     }
 
     // 🟢 Delete quiz from section
@@ -409,209 +470,25 @@ public class CourseService {
             section.getQuizzes().removeIf(q -> quizId.equals(q.getId()));
         }
 
-        return courseRepository.save(course);
-    }
-
-    // 🟢 Generate a quiz using external AI (Perplexity) based on a topic provided by instructor
-    public Course generateQuizFromTopic(String courseId, String sectionId, String topic, int numQuestions, Integer timeLimitSeconds) {
-        // Check if API key is configured; if not, fall back to mock generator
-        if (perplexityApiKey == null || perplexityApiKey.isEmpty() || perplexityApiKey.equals("")) {
-            System.out.println("⚠️  Perplexity API key not configured. Using mock quiz generator for testing.");
-            return generateMockQuiz(courseId, sectionId, topic, numQuestions, timeLimitSeconds);
-        }
-
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-
-        Section section = course.getSections().stream()
-                .filter(s -> sectionId.equals(s.getId()))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Section not found"));
-
-        try {
-            // Build prompt for AI
-            String prompt = String.format(
-                    "Generate %d multiple-choice questions (4 options each) about the topic: %s. " +
-                    "Return a JSON object with key 'questions' which is an array of objects {question, options, correctOptionIndex, explanation}. " +
-                    "Do not include any extra text outside JSON.",
-                    numQuestions, topic
-            );
-
-            ObjectMapper mapper = new ObjectMapper();
-            RestTemplate rest = new RestTemplate();
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Bearer " + perplexityApiKey);
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            // request body - many external APIs accept prompt, adapt as necessary
-            java.util.Map<String,Object> payload = new java.util.HashMap<>();
-            payload.put("prompt", prompt);
-            payload.put("max_questions", numQuestions);
-
-            HttpEntity<java.util.Map<String,Object>> entity = new HttpEntity<>(payload, headers);
-            ResponseEntity<String> response = rest.postForEntity(perplexityApiUrl, entity, String.class);
-
-            String body = response.getBody();
-            JsonNode root = mapper.readTree(body);
-
-            JsonNode questionsNode = root.path("questions");
-            if (!questionsNode.isArray()) {
-                // try if root is array
-                if (root.isArray()) {
-                    questionsNode = root;
-                } else {
-                    throw new RuntimeException("AI response did not include a 'questions' array. Response: " + body);
-                }
-            }
-
-            Quiz quiz = new Quiz();
-            quiz.setId(java.util.UUID.randomUUID().toString());
-            quiz.setTitle("Quiz: " + topic);
-            quiz.setDescription("Auto-generated quiz on: " + topic);
-            quiz.setPassingScore(70);
-            quiz.setIsPublished(true);
-            quiz.setGeneratedByAI(true);
-            quiz.setTimeLimitSeconds(timeLimitSeconds);
-
-            java.util.List<com.skill_forge.infy_intern.model.QuizQuestion> qlist = new java.util.ArrayList<>();
-            for (JsonNode qn : questionsNode) {
-                com.skill_forge.infy_intern.model.QuizQuestion qq = new com.skill_forge.infy_intern.model.QuizQuestion();
-                qq.setQuestion(qn.path("question").asText(""));
-                java.util.List<String> opts = new java.util.ArrayList<>();
-                if (qn.has("options") && qn.get("options").isArray()) {
-                    for (JsonNode on : qn.get("options")) {
-                        opts.add(on.asText());
-                    }
-                }
-                qq.setOptions(opts);
-                qq.setCorrectOptionIndex(qn.path("correctOptionIndex").asInt(0));
-                qq.setExplanation(qn.path("explanation").asText(null));
-                qq.setId(java.util.UUID.randomUUID().toString());
-                qlist.add(qq);
-            }
-
-            quiz.setQuestions(qlist);
-
-            // Attach quiz to section and save
-            return addQuizToSection(courseId, sectionId, quiz);
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate quiz from AI: " + e.getMessage(), e);
-        }
-    }
-
-    // 🟢 Generate a mock quiz for testing when API is not configured
-    private Course generateMockQuiz(String courseId, String sectionId, String topic, int numQuestions, Integer timeLimitSeconds) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-
-        Section section = course.getSections().stream()
-                .filter(s -> sectionId.equals(s.getId()))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Section not found"));
-
-        Quiz quiz = new Quiz();
-        quiz.setId(java.util.UUID.randomUUID().toString());
-        quiz.setTitle("Quiz: " + topic);
-        quiz.setDescription("Auto-generated quiz on: " + topic + " (Mock - API not configured)");
-        quiz.setPassingScore(70);
-        quiz.setIsPublished(true);
-        quiz.setGeneratedByAI(true);
-        quiz.setTimeLimitSeconds(timeLimitSeconds);
-
-        java.util.List<com.skill_forge.infy_intern.model.QuizQuestion> qlist = new java.util.ArrayList<>();
-
-        // Generate mock questions with unique options per question
-        String[][] questionTemplates = {
-            {
-                "What is the primary definition of " + topic + "?",
-                "A fundamental concept in " + topic,
-                "An advanced technique in " + topic,
-                "A historical reference to " + topic,
-                "A modern interpretation of " + topic
-            },
-            {
-                "Which of the following is a key characteristic of " + topic + "?",
-                "It focuses on efficiency and speed",
-                "It emphasizes scalability and flexibility",
-                "It prioritizes security and reliability",
-                "It combines all of the above"
-            },
-            {
-                "How is " + topic + " typically implemented?",
-                "Through a top-down approach",
-                "Using a bottom-up methodology",
-                "By iterative development cycles",
-                "By waterfall project management"
-            },
-            {
-                "What is one major advantage of " + topic + "?",
-                "Reduces complexity significantly",
-                "Improves performance and throughput",
-                "Enhances user experience",
-                "Lowers overall costs"
-            },
-            {
-                "Which field or industry benefits most from " + topic + "?",
-                "Software development",
-                "Data science and analytics",
-                "Cloud computing",
-                "All fields that require structured solutions"
-            }
-        };
-
-        for (int i = 0; i < Math.min(numQuestions, questionTemplates.length); i++) {
-            String[] template = questionTemplates[i];
-            
-            com.skill_forge.infy_intern.model.QuizQuestion qq = new com.skill_forge.infy_intern.model.QuizQuestion();
-            qq.setQuestion(template[0]);
-            
-            // Create options from array indices 1-4
-            java.util.List<String> options = new java.util.ArrayList<>();
-            options.add(template[1]);
-            options.add(template[2]);
-            options.add(template[3]);
-            options.add(template[4]);
-            
-            qq.setOptions(options);
-            qq.setCorrectOptionIndex((i + 1) % 4); // Rotate correct answer position
-            qq.setExplanation("This is a sample question generated without API access. To enable real AI-generated questions with " + topic + ", configure your Perplexity API key in the server environment.");
-            qq.setId(java.util.UUID.randomUUID().toString());
-            qlist.add(qq);
-        }
-
-        quiz.setQuestions(qlist);
-
-        // Attach quiz to section and save
-        return addQuizToSection(courseId, sectionId, quiz);
+        Course saved = courseRepository.save(course);
+        answerKeyCache.invalidate(courseId, sectionId, quizId);
+        return saved;
     }
 
     // 🟢 Grade a student quiz submission, store QuizResponse
-    public com.skill_forge.infy_intern.model.QuizResponse gradeQuizSubmission(String courseId, String sectionId, String quizId, String studentEmail, java.util.Map<Integer,Integer> answers, Integer durationSeconds) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-
-        Section section = course.getSections().stream()
-                .filter(s -> sectionId.equals(s.getId()))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Section not found"));
+    public com.skill_forge.infy_intern.model.QuizResponse gradeQuizSubmission(String courseId, String sectionId, String quizId, String studentEmail, com.skill_forge.infy_intern.model.CompactAnswers answers, String attemptId, int durationSeconds) {
+        // Compiled answer key: no course read once the quiz is hot
+        QuizAnswerKeyCache.AnswerKey answerKey = answerKeyCache.get(courseId, sectionId, quizId);
+        int[] correctOptions = answerKey.correctOptions();
 
-        Quiz quiz = section.getQuizzes().stream()
-                .filter(q -> quizId.equals(q.getId()))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Quiz not found"));
-
-        int total = quiz.getQuestions() == null ? 0 : quiz.getQuestions().size();
+        int total = correctOptions.length;
         int correct = 0;
         for (int i = 0; i < total; i++) {
-            Integer selected = answers.get(i);
-            Integer correctIdx = quiz.getQuestions().get(i).getCorrectOptionIndex();
-            if (selected != null && selected.equals(correctIdx)) correct++;
+            if (answers.get(i) == correctOptions[i]) correct++;
         }
 
         int score = total == 0 ? 0 : (int)Math.round((correct / (double) total) * 100);
-        boolean passed = score >= (quiz.getPassingScore() == null ? 70 : quiz.getPassingScore());
+        boolean passed = score >= answerKey.passingScore();
 
         com.skill_forge.infy_intern.model.QuizResponse resp = new com.skill_forge.infy_intern.model.QuizResponse();
         resp.setId(java.util.UUID.randomUUID().toString());
@@ -623,12 +500,54 @@ public class CourseService {
         resp.setScore(score);
         resp.setPassed(passed);
         resp.setDurationSeconds(durationSeconds);
+        resp.setAttemptId(attemptId);
         resp.setSubmittedAt(java.time.Instant.now());
 
         if (quizResponseRepository != null) {
             quizResponseRepository.save(resp);
         }
+        try {
+            itemAnalysisService.record(courseId, sectionId, quizId, answerKey, answers, score);
+        } catch (RuntimeException e) {
+            // Analytics must never fail a submission that is already stored
+            System.err.println("❌ Quiz item analysis update failed: " + e.getMessage());
+        }
+        rollupService.quizGraded(courseId, passed);
+        platformStats.quizSubmitted(passed);
+        try {
+            leaderboardService.record(resp);
+        } catch (RuntimeException e) {
+            System.err.println("❌ Leaderboard update failed: " + e.getMessage());
+        }
 
         return resp;
     }
+
+    // 🟢 A student's graded attempts, newest first; optionally limited to one quiz
+    public java.util.Map<String, Object> getStudentQuizHistory(String studentEmail, String quizId, int page, int size) {
+        org.springframework.data.domain.Pageable pageable = pageRequest(page, size);
+        org.springframework.data.domain.Page<QuizResponse> results = quizId == null || quizId.isBlank()
+                ? quizResponseRepository.findByStudentEmailOrderBySubmittedAtDesc(studentEmail, pageable)
+                : quizResponseRepository.findByStudentEmailAndQuizIdOrderBySubmittedAtDesc(studentEmail, quizId, pageable);
+        return pageBody(results);
+    }
+
+    // 🟢 Every graded attempt in a course, newest first (answers omitted)
+    public java.util.Map<String, Object> getCourseQuizResults(String courseId, int page, int size) {
+        return pageBody(quizResponseRepository.findCourseResults(courseId, pageRequest(page, size)));
+    }
+
+    private static org.springframework.data.domain.Pageable pageRequest(int page, int size) {
+        return org.springframework.data.domain.PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, 100)));
+    }
+
+    private static java.util.Map<String, Object> pageBody(org.springframework.data.domain.Page<?> page) {
+        java.util.Map<String, Object> body = new java.util.LinkedHashMap<>();
+        body.put("content", page.getContent());
+        body.put("page", page.getNumber());
+        body.put("size", page.getSize());
+        body.put("totalElements", page.getTotalElements());
+        body.put("totalPages", page.getTotalPages());
+        return body;
+    }
 }
@@ -0,0 +1,294 @@
+package com.skill_forge.infy_intern.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Role;
+import com.skill_forge.infy_intern.model.User;
+import com.skill_forge.infy_intern.model.VideoEntity;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Moves whole courses between environments as NDJSON, one {@code {"course": ..., "videos": [...]}}
+ * bundle per line.
+ *
+ * Export walks a Mongo cursor and writes each batch as soon as its video rows are loaded;
+ * import reads the body line by line, gives every course a fresh set of ids and inserts
+ * courses and videos with unordered bulk writes. Neither side holds more than one batch in
+ * memory, so catalogs of any size can be moved. Cloning a single course reuses the same
+ * remapping, so copies share the uploaded media instead of re-uploading it.
+ */
+@Service
+public class CourseTransferService {
+
+    private static final int EXPORT_BATCH_SIZE = 100;
+    private static final int IMPORT_BATCH_SIZE = 200;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final AnalyticsRollupService rollupService;
+    private final PlatformStatsService platformStats;
+
+    public CourseTransferService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                                 AnalyticsRollupService rollupService, PlatformStatsService platformStats) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.rollupService = rollupService;
+        this.platformStats = platformStats;
+    }
+
+    // Instructors export their own courses; admins may filter by instructor and/or course ids
+    public void export(OutputStream output, User caller, String instructorEmail, List<String> courseIds) throws IOException {
+        Criteria criteria = new Criteria();
+        if (caller != null && caller.getRole() != Role.ADMIN) {
+            criteria.and("instructorEmail").is(caller.getEmail());
+        } else if (instructorEmail != null && !instructorEmail.isBlank()) {
+            criteria.and("instructorEmail").is(instructorEmail);
+        }
+        if (courseIds != null && !courseIds.isEmpty()) {
+            criteria.and("_id").in(courseIds);
+        }
+        Query query = Query.query(criteria);
+        query.cursorBatchSize(EXPORT_BATCH_SIZE);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        List<Course> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        long exported = 0;
+        try (Stream<Course> courses = mongoTemplate.stream(query, Course.class)) {
+            for (Course course : (Iterable<Course>) courses::iterator) {
+                batch.add(course);
+                if (batch.size() == EXPORT_BATCH_SIZE) {
+                    exported += writeExportBatch(batch, writer);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            exported += writeExportBatch(batch, writer);
+        }
+        writer.flush();
+        System.out.println("📤 Exported " + exported + " course(s)");
+    }
+
+    private int writeExportBatch(List<Course> batch, Writer writer) throws IOException {
+        List<String> ids = new ArrayList<>(batch.size());
+        batch.forEach(course -> ids.add(course.getId()));
+
+        // One query loads the video rows of the whole batch
+        Map<String, List<VideoEntity>> videosByCourse = new HashMap<>();
+        for (VideoEntity video : mongoTemplate.find(Query.query(Criteria.where("courseId").in(ids)), VideoEntity.class)) {
+            videosByCourse.computeIfAbsent(video.getCourseId(), k -> new ArrayList<>()).add(video);
+        }
+
+        for (Course course : batch) {
+            writeLine(writer, new CourseBundle(course, videosByCourse.getOrDefault(course.getId(), List.of())));
+        }
+        writer.flush();
+        return batch.size();
+    }
+
+    // Every imported course gets new ids; instructors always become the owner of what they import
+    public void importCourses(InputStream input, OutputStream output, User caller) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        Map<String, Integer> totals = new LinkedHashMap<>();
+
+        List<Row> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+
+            Row row;
+            try {
+                CourseBundle bundle = objectMapper.readValue(line, CourseBundle.class);
+                if (bundle.course() == null) throw new RuntimeException("Line has no 'course'");
+                row = new Row(lineNumber, bundle.course().getId(), bundle, null);
+            } catch (JsonProcessingException | RuntimeException e) {
+                row = new Row(lineNumber, null, null, "Invalid line: " + e.getMessage());
+            }
+            batch.add(row);
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                processImportBatch(batch, caller, writer, totals);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            processImportBatch(batch, caller, writer, totals);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("summary", totals);
+        writeLine(writer, summary);
+        writer.flush();
+        System.out.println("📥 Course import finished: " + totals);
+    }
+
+    private void processImportBatch(List<Row> batch, User caller, Writer writer, Map<String, Integer> totals) throws IOException {
+        List<Row> queued = new ArrayList<>();
+        BulkOperations courseOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Course.class);
+        for (Row row : batch) {
+            if (row.bundle() == null) continue;
+            Course course = row.bundle().course();
+            List<VideoEntity> videos = row.bundle().videos() == null ? new ArrayList<>() : row.bundle().videos();
+            CourseRemapper.remap(course, videos);
+            if (caller != null && caller.getRole() != Role.ADMIN) {
+                course.setInstructorEmail(caller.getEmail());
+                course.setInstructorName(caller.getName());
+                videos.forEach(video -> video.setUploadedBy(caller.getEmail()));
+            }
+            courseOps.insert(course);
+            queued.add(row);
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        Map<Integer, String> errors = new HashMap<>();
+        if (!queued.isEmpty()) {
+            try {
+                courseOps.execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    failed.add(error.getIndex());
+                    errors.put(error.getIndex(), error.getMessage());
+                }
+            }
+        }
+
+        // Video rows only for the courses that were actually written
+        List<Course> created = new ArrayList<>();
+        List<VideoEntity> videos = new ArrayList<>();
+        for (int i = 0; i < queued.size(); i++) {
+            if (failed.contains(i)) continue;
+            CourseBundle bundle = queued.get(i).bundle();
+            created.add(bundle.course());
+            if (bundle.videos() != null) videos.addAll(bundle.videos());
+        }
+        int videoFailures = insertVideos(videos);
+        platformStats.coursesCreated(created);
+        platformStats.videosAdded(videos.size() - videoFailures, 0);
+        if (videoFailures > 0) {
+            System.err.println("❌ " + videoFailures + " video row(s) failed during course import");
+        }
+        if (!created.isEmpty()) {
+            try {
+                rollupService.coursesCreated(created);
+            } catch (RuntimeException e) {
+                System.err.println("❌ Rollup update failed for imported courses: " + e.getMessage());
+            }
+        }
+
+        Map<Row, Integer> queuedIndex = new IdentityHashMap<>();
+        for (int i = 0; i < queued.size(); i++) queuedIndex.put(queued.get(i), i);
+        for (Row row : batch) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("line", row.line());
+            report.put("sourceId", row.sourceId());
+            Integer index = queuedIndex.get(row);
+            String status;
+            if (index == null) {
+                status = "INVALID_LINE";
+                report.put("error", row.error());
+            } else if (failed.contains(index)) {
+                status = "FAILED";
+                report.put("error", errors.get(index));
+            } else {
+                status = "IMPORTED";
+                report.put("courseId", row.bundle().course().getId());
+                report.put("videos", row.bundle().videos() == null ? 0 : row.bundle().videos().size());
+            }
+            report.put("status", status);
+            totals.merge(status, 1, Integer::sum);
+            writeLine(writer, report);
+        }
+        writer.flush();
+    }
+
+    // 🟢 Deep-copy a course and its video rows server-side. The copy is a draft owned by the
+    // caller (instructors may only clone their own courses) and points at the same media files.
+    public Map<String, Object> cloneCourse(String courseId, String title, User caller) {
+        Course course = mongoTemplate.findById(courseId, Course.class);
+        if (course == null) {
+            throw new RuntimeException("Course not found");
+        }
+        boolean instructor = caller != null && caller.getRole() != Role.ADMIN;
+        if (instructor && !caller.getEmail().equals(course.getInstructorEmail())) {
+            throw new SecurityException("Only the course instructor can clone this course");
+        }
+        List<VideoEntity> videos = mongoTemplate.find(Query.query(Criteria.where("courseId").is(courseId)), VideoEntity.class);
+
+        CourseRemapper.remap(course, videos);
+        course.setTitle(title == null || title.isBlank() ? course.getTitle() + " (Copy)" : title.trim());
+        course.setStatus("draft");
+        if (instructor) {
+            course.setInstructorEmail(caller.getEmail());
+            course.setInstructorName(caller.getName());
+        }
+
+        Course clone = mongoTemplate.insert(course);
+        int videoFailures = insertVideos(videos);
+        platformStats.courseCreated(clone);
+        platformStats.videosAdded(videos.size() - videoFailures, 0);
+        try {
+            rollupService.courseCreated(clone);
+        } catch (RuntimeException e) {
+            System.err.println("❌ Rollup update failed for cloned course: " + e.getMessage());
+        }
+        System.out.println("🧬 Cloned course " + courseId + " -> " + clone.getId() + " (" + videos.size() + " video row(s))");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sourceId", courseId);
+        result.put("course", clone);
+        result.put("videos", videos.size() - videoFailures);
+        result.put("failedVideos", videoFailures);
+        return result;
+    }
+
+    // One unordered bulk insert; returns how many rows failed
+    private int insertVideos(List<VideoEntity> videos) {
+        if (videos.isEmpty()) return 0;
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, VideoEntity.class);
+        ops.insert(videos);
+        try {
+            ops.execute();
+            return 0;
+        } catch (BulkOperationException e) {
+            return e.getErrors().size();
+        }
+    }
+
+    private void writeLine(Writer writer, Object value) throws IOException {
+        writer.write(objectMapper.writeValueAsString(value));
+        writer.write('\n');
+    }
+
+    // One NDJSON line: the course document (sections, lectures, quizzes, notes) and its video rows
+    record CourseBundle(Course course, List<VideoEntity> videos) {}
+
+    private record Row(int line, String sourceId, CourseBundle bundle, String error) {}
+}
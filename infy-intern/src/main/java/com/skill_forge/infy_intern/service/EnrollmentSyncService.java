@@ -0,0 +1,129 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Enrollment;
+import com.skill_forge.infy_intern.model.EnrollmentSyncTask;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the course fields copied onto enrollments (title, instructor, thumbnail) in sync.
+ *
+ * A course edit only records a task; a background drain applies it with batched
+ * {@code updateMulti} calls over enrollment ids, pausing between batches. The task stores
+ * its checkpoint in Mongo, so a restart resumes where it stopped, and a newer edit of the
+ * same course replaces the pending values and restarts the scan.
+ */
+@Service
+public class EnrollmentSyncService {
+
+    private static final String PENDING = "PENDING";
+    private static final String DONE = "DONE";
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final long pauseMs;
+
+    public EnrollmentSyncService(MongoTemplate mongoTemplate,
+                                 @Value("${skillforge.enrollment-sync.batch-size:500}") int batchSize,
+                                 @Value("${skillforge.enrollment-sync.pause-ms:50}") long pauseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMs = Math.max(0, pauseMs);
+    }
+
+    // Record a fan-out task if any denormalized field differs between the two versions
+    public void courseChanged(String courseId, String oldTitle, String oldInstructorName, String oldThumbnail, Course updated) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (!Objects.equals(oldTitle, updated.getTitle())) changes.put("courseTitle", updated.getTitle());
+        if (!Objects.equals(oldInstructorName, updated.getInstructorName())) changes.put("instructorName", updated.getInstructorName());
+        if (!Objects.equals(oldThumbnail, updated.getThumbnail())) changes.put("thumbnail", updated.getThumbnail());
+        if (changes.isEmpty()) return;
+
+        Update update = new Update()
+                .set("status", PENDING)
+                .set("lastEnrollmentId", null)
+                .set("processed", 0L)
+                .set("updatedAt", Instant.now());
+        changes.forEach((field, value) -> update.set("changes." + field, value));
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(courseId)), update, EnrollmentSyncTask.class);
+    }
+
+    @Scheduled(fixedDelayString = "${skillforge.enrollment-sync.poll-ms:1000}")
+    public void drain() {
+        List<EnrollmentSyncTask> tasks;
+        try {
+            tasks = mongoTemplate.find(Query.query(Criteria.where("status").is(PENDING)).limit(10), EnrollmentSyncTask.class);
+        } catch (RuntimeException e) {
+            return; // Mongo unavailable; try again on the next tick
+        }
+        for (EnrollmentSyncTask task : tasks) {
+            try {
+                process(task);
+            } catch (RuntimeException e) {
+                System.err.println("❌ Enrollment sync failed for course " + task.getId() + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void process(EnrollmentSyncTask task) throws InterruptedException {
+        String courseId = task.getId();
+        String lastId = task.getLastEnrollmentId();
+        long processed = task.getProcessed();
+
+        Update apply = new Update();
+        task.getChanges().forEach(apply::set);
+
+        while (true) {
+            Criteria criteria = Criteria.where("courseId").is(courseId);
+            if (lastId != null) criteria = criteria.and("_id").gt(new ObjectId(lastId));
+            Query page = Query.query(criteria).with(Sort.by("_id")).limit(batchSize);
+            page.fields().include("_id");
+            List<Enrollment> batch = mongoTemplate.find(page, Enrollment.class);
+
+            if (!batch.isEmpty()) {
+                List<ObjectId> ids = new ArrayList<>(batch.size());
+                for (Enrollment enrollment : batch) ids.add(new ObjectId(enrollment.getId()));
+                mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)), apply, Enrollment.class);
+                lastId = batch.get(batch.size() - 1).getId();
+                processed += batch.size();
+            }
+
+            boolean finished = batch.size() < batchSize;
+            // Checkpoint only if no newer edit replaced this task in the meantime
+            Update checkpoint = new Update()
+                    .set("lastEnrollmentId", lastId)
+                    .set("processed", processed);
+            if (finished) checkpoint.set("status", DONE);
+            boolean current = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(courseId).and("updatedAt").is(task.getUpdatedAt())),
+                    checkpoint, EnrollmentSyncTask.class).getModifiedCount() > 0;
+
+            if (!current || finished) {
+                if (finished && current) {
+                    System.out.println("🔁 Synced course " + courseId + " fields " + task.getChanges().keySet()
+                            + " to " + processed + " enrollment(s)");
+                }
+                return;
+            }
+            Thread.sleep(pauseMs);
+        }
+    }
+}
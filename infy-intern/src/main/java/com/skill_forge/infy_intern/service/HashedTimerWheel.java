@@ -0,0 +1,121 @@
+package com.skill_forge.infy_intern.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel for large numbers of coarse-grained deadlines.
+ *
+ * Scheduling and cancelling are O(1) and allocate one small handle; a single worker thread
+ * advances the wheel once per tick and hands every timeout that fell due in that tick to
+ * the callback as one batch. Deadlines are accurate to one tick.
+ */
+public final class HashedTimerWheel<T> implements AutoCloseable {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<Timeout<T>>[] wheel;
+    private final Queue<Timeout<T>> incoming = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<T>> onExpired;
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean running = true;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(String name, long tickDuration, TimeUnit unit, int slots, Consumer<List<T>> onExpired) {
+        int size = Integer.highestOneBit(Math.max(2, slots - 1)) << 1; // round up to a power of two
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = size - 1;
+        this.wheel = new List[size];
+        for (int i = 0; i < size; i++) wheel[i] = new ArrayList<>();
+        this.onExpired = onExpired;
+        this.startNanos = System.nanoTime();
+        this.worker = Thread.ofPlatform().name(name).daemon(true).start(this::run);
+    }
+
+    // Schedule item to expire after the given delay; the returned handle can cancel it
+    public Timeout<T> schedule(T item, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout<T> timeout = new Timeout<>(item, deadline);
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        long tick = 0;
+        while (running) {
+            long sleepNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) return;
+                }
+            }
+            transferIncoming(tick);
+            List<T> expired = expireBucket(tick);
+            if (!expired.isEmpty()) {
+                try {
+                    onExpired.accept(expired);
+                } catch (RuntimeException e) {
+                    System.err.println("❌ Timer wheel callback failed: " + e.getMessage());
+                }
+            }
+            tick++;
+        }
+    }
+
+    private void transferIncoming(long currentTick) {
+        Timeout<T> timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.cancelled) continue;
+            long deadlineTick = Math.max(currentTick, timeout.deadlineNanos / tickNanos);
+            timeout.remainingRounds = (deadlineTick - currentTick) / wheel.length;
+            wheel[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private List<T> expireBucket(long tick) {
+        List<T> expired = new ArrayList<>();
+        Iterator<Timeout<T>> it = wheel[(int) (tick & mask)].iterator();
+        while (it.hasNext()) {
+            Timeout<T> timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                it.remove();
+                expired.add(timeout.item);
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+        return expired;
+    }
+
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineNanos;
+        private long remainingRounds; // touched only by the worker thread
+        private volatile boolean cancelled;
+
+        private Timeout(T item, long deadlineNanos) {
+            this.item = item;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
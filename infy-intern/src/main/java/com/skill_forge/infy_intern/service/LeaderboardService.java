@@ -0,0 +1,273 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.QuizResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Live quiz and course leaderboards kept in memory.
+ *
+ * Each quiz board holds every student's best attempt (highest score, then fastest
+ * duration) plus a bounded top-K set; the course board ranks students by the sum of their
+ * quiz bests. Only durations measured by a server-side attempt take part in the tiebreak;
+ * anything else ranks as untimed. Boards are updated as each submission is graded and
+ * rebuilt from {@code quiz_responses} on startup. Applying a response is idempotent
+ * (best-of), so live updates are simply applied to both the serving and the rebuilding
+ * state.
+ */
+@Service
+public class LeaderboardService {
+
+    // Best first: score desc, fewest attempts without a duration, duration asc,
+    // earliest to reach it, email
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt(Entry::score).reversed()
+            .thenComparingInt(Entry::untimed)
+            .thenComparingInt(Entry::durationSeconds)
+            .thenComparingLong(Entry::achievedAt)
+            .thenComparing(Entry::email);
+
+    private final MongoTemplate mongoTemplate;
+    private final int capacity;
+    private volatile State state = new State();
+    private volatile State rebuilding;
+
+    public LeaderboardService(MongoTemplate mongoTemplate,
+                              @Value("${skillforge.leaderboard.size:100}") int capacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    // Called for every graded (and stored) submission
+    public void record(QuizResponse response) {
+        State pending = rebuilding;
+        State serving = state;
+        apply(serving, response);
+        if (pending != null && pending != serving) {
+            apply(pending, response);
+        }
+    }
+
+    public Map<String, Object> quizLeaderboard(String courseId, String quizId, int limit, String viewerEmail, boolean revealEmails) {
+        Board board = state.quizzes.get(courseId + ":" + quizId);
+        Map<String, Object> result = view(board, limit, viewerEmail, revealEmails);
+        result.put("quizId", quizId);
+        return result;
+    }
+
+    public Map<String, Object> courseLeaderboard(String courseId, int limit, String viewerEmail, boolean revealEmails) {
+        Board board = state.courses.get(courseId);
+        Map<String, Object> result = view(board, limit, viewerEmail, revealEmails);
+        result.put("courseId", courseId);
+        return result;
+    }
+
+    // Rebuild in the background so startup never waits on Mongo
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread.ofVirtual().name("leaderboard-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                System.err.println("❌ Leaderboard rebuild failed: " + e.getMessage());
+            }
+        });
+    }
+
+    public void rebuild() {
+        State fresh = new State();
+        rebuilding = fresh;
+        try {
+            Query query = new Query();
+            query.fields().include("studentEmail", "courseId", "quizId", "score", "durationSeconds", "attemptId", "submittedAt");
+            query.cursorBatchSize(1000);
+            long count = 0;
+            try (Stream<QuizResponse> responses = mongoTemplate.stream(query, QuizResponse.class)) {
+                for (QuizResponse response : (Iterable<QuizResponse>) responses::iterator) {
+                    apply(fresh, response);
+                    count++;
+                }
+            }
+            state = fresh;
+            System.out.println("🏆 Leaderboards rebuilt from " + count + " quiz response(s)");
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void apply(State target, QuizResponse response) {
+        if (response.getStudentEmail() == null || response.getCourseId() == null
+                || response.getQuizId() == null || response.getScore() == null) {
+            return;
+        }
+        // Responses without an attempt carry a client-reported duration (stored before attempts
+        // were required), which must not win ties
+        boolean timed = response.getAttemptId() != null && response.getDurationSeconds() != null;
+        Entry candidate = new Entry(
+                response.getStudentEmail(),
+                response.getScore(),
+                timed ? response.getDurationSeconds() : 0,
+                timed ? 0 : 1,
+                response.getSubmittedAt() == null ? 0L : response.getSubmittedAt().toEpochMilli());
+
+        Board quizBoard = target.quizzes.computeIfAbsent(response.getCourseId() + ":" + response.getQuizId(),
+                k -> new Board(capacity));
+        Entry previous = quizBoard.offer(candidate);
+        if (previous == candidate) return; // not an improvement
+
+        Board courseBoard = target.courses.computeIfAbsent(response.getCourseId(), k -> new Board(capacity));
+        courseBoard.adjust(candidate.email(),
+                candidate.score() - (previous == null ? 0 : previous.score()),
+                candidate.durationSeconds() - (previous == null ? 0 : previous.durationSeconds()),
+                candidate.untimed() - (previous == null ? 0 : previous.untimed()),
+                candidate.achievedAt());
+    }
+
+    private static Map<String, Object> view(Board board, int limit, String viewerEmail, boolean revealEmails) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        List<Map<String, Object>> top = new ArrayList<>();
+        Map<String, Object> me = null;
+        int participants = 0;
+        if (board != null) {
+            int rank = 1;
+            for (Entry entry : board.top(limit)) {
+                top.add(row(rank++, entry, viewerEmail, revealEmails));
+            }
+            participants = board.size();
+            if (viewerEmail != null) {
+                Board.Ranked ranked = board.rank(viewerEmail);
+                if (ranked != null) me = row(ranked.rank(), ranked.entry(), viewerEmail, true);
+            }
+        }
+        result.put("participants", participants);
+        result.put("top", top);
+        result.put("me", me);
+        return result;
+    }
+
+    private static Map<String, Object> row(int rank, Entry entry, String viewerEmail, boolean revealEmails) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("rank", rank);
+        row.put("student", revealEmails || entry.email().equals(viewerEmail) ? entry.email() : maskEmail(entry.email()));
+        row.put("score", entry.score());
+        row.put("durationSeconds", entry.untimed() > 0 && entry.durationSeconds() == 0 ? null : entry.durationSeconds());
+        row.put("you", entry.email().equals(viewerEmail));
+        return row;
+    }
+
+    // Students see each other as "a***@example.com"
+    static String maskEmail(String email) {
+        int at = email.indexOf('@');
+        if (at <= 0) return "***";
+        return email.charAt(0) + "***" + email.substring(at);
+    }
+
+    private static final class State {
+        final Map<String, Board> quizzes = new ConcurrentHashMap<>();
+        final Map<String, Board> courses = new ConcurrentHashMap<>();
+    }
+
+    // durationSeconds sums the server-measured durations; untimed counts attempts that had none
+    record Entry(String email, int score, int durationSeconds, int untimed, long achievedAt) {}
+
+    /**
+     * One leaderboard: every participant's current entry, a bounded top-K set and a count per
+     * score, so ranks outside the top-K only scan students tied on the same score.
+     */
+    static final class Board {
+        private final int capacity;
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final TreeMap<Integer, Integer> scoreCounts = new TreeMap<>();
+        private final TreeSet<Entry> top = new TreeSet<>(ORDER);
+
+        Board(int capacity) {
+            this.capacity = capacity;
+        }
+
+        // Keeps the student's best entry; returns the entry it replaced (null if new), or the
+        // candidate itself when it is not an improvement
+        synchronized Entry offer(Entry candidate) {
+            Entry current = entries.get(candidate.email());
+            if (current != null && ORDER.compare(candidate, current) >= 0) return candidate;
+            put(candidate);
+            return current;
+        }
+
+        // Adds deltas to the student's aggregate entry (course boards)
+        synchronized void adjust(String email, int scoreDelta, int durationDelta, int untimedDelta, long achievedAt) {
+            Entry current = entries.get(email);
+            put(current == null
+                    ? new Entry(email, scoreDelta, durationDelta, untimedDelta, achievedAt)
+                    : new Entry(email, current.score() + scoreDelta, current.durationSeconds() + durationDelta,
+                            current.untimed() + untimedDelta, achievedAt));
+        }
+
+        synchronized List<Entry> top(int limit) {
+            List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, top.size())));
+            for (Entry entry : top) {
+                if (result.size() >= limit) break;
+                result.add(entry);
+            }
+            return result;
+        }
+
+        synchronized Ranked rank(String email) {
+            Entry entry = entries.get(email);
+            if (entry == null) return null;
+            if (top.contains(entry)) {
+                return new Ranked(top.headSet(entry).size() + 1, entry);
+            }
+            int better = 0;
+            for (int count : scoreCounts.tailMap(entry.score(), false).values()) better += count;
+            for (Entry other : entries.values()) {
+                if (other.score() == entry.score() && ORDER.compare(other, entry) < 0) better++;
+            }
+            return new Ranked(better + 1, entry);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        private void put(Entry entry) {
+            Entry old = entries.put(entry.email(), entry);
+            if (old != null) {
+                scoreCounts.merge(old.score(), -1, (a, b) -> a + b == 0 ? null : a + b);
+            }
+            scoreCounts.merge(entry.score(), 1, Integer::sum);
+
+            boolean wasTop = old != null && top.remove(old);
+            if (wasTop && ORDER.compare(entry, old) > 0 && entries.size() > top.size() + 1) {
+                // The entry got worse and someone outside the top-K may now outrank it
+                top.clear();
+                entries.values().forEach(this::insertTop);
+            } else {
+                insertTop(entry);
+            }
+        }
+
+        private void insertTop(Entry entry) {
+            if (top.size() < capacity || ORDER.compare(entry, top.last()) < 0) {
+                top.add(entry);
+                if (top.size() > capacity) top.pollLast();
+            }
+        }
+
+        record Ranked(int rank, Entry entry) {}
+    }
+}
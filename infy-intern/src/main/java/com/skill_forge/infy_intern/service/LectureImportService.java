@@ -0,0 +1,308 @@
+package com.skill_forge.infy_intern.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Section;
+import com.skill_forge.infy_intern.model.VideoEntity;
+import com.skill_forge.infy_intern.repository.CourseRepository;
+import com.skill_forge.infy_intern.repository.VideoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Imports many lectures into a course in one request.
+ *
+ * Files are pushed to Cloudinary in parallel on virtual threads (bounded by
+ * {@code skillforge.upload.max-concurrency}), the resulting {@link VideoEntity} rows are
+ * inserted in one batch, and every lecture is attached to the course with a single
+ * document update instead of one read/write per lecture.
+ */
+@Service
+public class LectureImportService {
+
+    private static final String MANIFEST_NAME = "manifest.json";
+
+    private final CourseRepository courseRepository;
+    private final VideoRepository videoRepository;
+    private final CloudinaryService cloudinaryService;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final PlatformStatsService platformStats;
+    private final int maxConcurrentUploads;
+
+    public LectureImportService(CourseRepository courseRepository,
+                                VideoRepository videoRepository,
+                                CloudinaryService cloudinaryService,
+                                MongoTemplate mongoTemplate,
+                                ObjectMapper objectMapper,
+                                PlatformStatsService platformStats,
+                                @Value("${skillforge.upload.max-concurrency:4}") int maxConcurrentUploads) {
+        this.courseRepository = courseRepository;
+        this.videoRepository = videoRepository;
+        this.cloudinaryService = cloudinaryService;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.platformStats = platformStats;
+        this.maxConcurrentUploads = Math.max(1, maxConcurrentUploads);
+    }
+
+    // 🟢 Import uploaded files. Without a manifest every file goes to sectionId, titled by its file name.
+    public Map<String, Object> importFiles(String courseId, List<MultipartFile> files, String sectionId,
+                                           String manifestJson, String uploadedBy) {
+        if (files == null || files.isEmpty()) {
+            throw new RuntimeException("At least one lecture file is required");
+        }
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+
+        Map<String, ManifestEntry> manifest = manifestJson == null || manifestJson.isBlank()
+                ? Map.of()
+                : parseManifest(manifestJson);
+
+        List<ImportTask> tasks = new ArrayList<>();
+        for (MultipartFile file : files) {
+            String name = file.getOriginalFilename();
+            ManifestEntry entry = manifest.get(name);
+            if (entry == null) {
+                if (sectionId == null || sectionId.isBlank()) {
+                    throw new RuntimeException("No manifest entry or sectionId for file: " + name);
+                }
+                entry = new ManifestEntry(name, sectionId, null, stripExtension(name));
+            }
+            Section section = resolveSection(course, entry);
+            tasks.add(new ImportTask(name, entry.title(), section, file.getSize(), folder ->
+                    cloudinaryService.uploadVideo(file, folder)));
+        }
+
+        return runImport(course, tasks, uploadedBy);
+    }
+
+    // 🟢 Import a ZIP archive that carries a manifest.json next to the lecture files
+    public Map<String, Object> importZip(String courseId, MultipartFile archive, String uploadedBy) {
+        if (archive == null || archive.isEmpty()) {
+            throw new RuntimeException("ZIP archive is required");
+        }
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+
+        Path zipPath = null;
+        try {
+            zipPath = Files.createTempFile("lecture-import-", ".zip");
+            archive.transferTo(zipPath);
+
+            try (ZipFile zip = new ZipFile(zipPath.toFile())) {
+                ZipEntry manifestEntry = zip.getEntry(MANIFEST_NAME);
+                if (manifestEntry == null) {
+                    throw new RuntimeException("ZIP archive must contain " + MANIFEST_NAME);
+                }
+                Map<String, ManifestEntry> manifest;
+                try (InputStream in = zip.getInputStream(manifestEntry)) {
+                    manifest = parseManifest(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+
+                List<ImportTask> tasks = new ArrayList<>();
+                for (ManifestEntry entry : manifest.values()) {
+                    ZipEntry fileEntry = zip.getEntry(entry.file());
+                    if (fileEntry == null || fileEntry.isDirectory()) {
+                        throw new RuntimeException("File listed in manifest not found in ZIP: " + entry.file());
+                    }
+                    Section section = resolveSection(course, entry);
+                    tasks.add(new ImportTask(entry.file(), entry.title(), section, Math.max(0, fileEntry.getSize()),
+                            folder -> uploadZipEntry(zip, fileEntry, folder)));
+                }
+
+                // The ZIP must stay open until every upload task has finished reading from it
+                return runImport(course, tasks, uploadedBy);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Lecture import failed: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(zipPath);
+        }
+    }
+
+    private Map<String, Object> runImport(Course course, List<ImportTask> tasks, String uploadedBy) {
+        String courseId = course.getId();
+        System.out.println("📦 Bulk lecture import: " + tasks.size() + " file(s) into course " + courseId
+                + " (max " + maxConcurrentUploads + " concurrent uploads)");
+
+        // Upload in parallel, bounded so a large batch cannot open hundreds of Cloudinary connections
+        Semaphore permits = new Semaphore(maxConcurrentUploads);
+        List<Future<String>> futures = new ArrayList<>(tasks.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ImportTask task : tasks) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        String folder = "skillforge/videos/" + courseId + "/" + task.section().getTitle();
+                        return task.uploader().upload(folder);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<VideoEntity> videos = new ArrayList<>();
+        List<ImportTask> uploaded = new ArrayList<>();
+        List<Map<String, String>> failures = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            ImportTask task = tasks.get(i);
+            try {
+                String videoUrl = futures.get(i).get();
+                VideoEntity video = new VideoEntity(task.title(), videoUrl, courseId, uploadedBy);
+                video.setSectionTitle(task.section().getTitle());
+                video.setThumbnail(cloudinaryService.generateVideoThumbnail(videoUrl));
+                video.setSizeBytes(task.sizeBytes());
+                videos.add(video);
+                uploaded.add(task);
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                System.err.println("❌ Lecture upload failed for " + task.fileName() + ": " + cause.getMessage());
+                failures.add(Map.of("file", task.fileName(), "error", String.valueOf(cause.getMessage())));
+            }
+        }
+
+        Course updated = course;
+        if (!videos.isEmpty()) {
+            // One batched insert for the video rows
+            videos = videoRepository.saveAll(videos);
+            platformStats.videosAdded(videos.size(), uploaded.stream().mapToLong(ImportTask::sizeBytes).sum());
+
+            Map<String, List<Map<String, Object>>> lecturesBySection = new LinkedHashMap<>();
+            for (int i = 0; i < videos.size(); i++) {
+                VideoEntity video = videos.get(i);
+                Map<String, Object> lecture = new HashMap<>();
+                lecture.put("id", video.getId());
+                lecture.put("title", video.getTitle());
+                lecture.put("videoId", video.getId());
+                lecture.put("videoUrl", video.getVideoUrl());
+                lecture.put("url", video.getVideoUrl());
+                lecture.put("thumbnail", video.getThumbnail());
+                lecturesBySection.computeIfAbsent(uploaded.get(i).section().getId(), k -> new ArrayList<>())
+                        .add(lecture);
+            }
+
+            // One document update for every section touched by the import
+            Update update = new Update().inc("videoCount", videos.size());
+            int alias = 0;
+            for (Map.Entry<String, List<Map<String, Object>>> entry : lecturesBySection.entrySet()) {
+                String name = "s" + alias++;
+                update.push("sections.$[" + name + "].lectures").each(entry.getValue().toArray());
+                update.filterArray(Criteria.where(name + ".id").is(entry.getKey()));
+            }
+            updated = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(courseId)),
+                    update,
+                    FindAndModifyOptions.options().returnNew(true),
+                    Course.class);
+        }
+
+        System.out.println("✅ Bulk lecture import finished: " + videos.size() + " imported, " + failures.size() + " failed");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("course", updated);
+        result.put("imported", videos.size());
+        result.put("failed", failures);
+        return result;
+    }
+
+    private String uploadZipEntry(ZipFile zip, ZipEntry entry, String folder) throws IOException {
+        String name = Path.of(entry.getName()).getFileName().toString();
+        Path spooled = Files.createTempFile("lecture-", "-" + name);
+        try (InputStream in = zip.getInputStream(entry)) {
+            Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            File file = spooled.toFile();
+            return cloudinaryService.uploadVideo(file, folder);
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    // Manifest is either an array or {"lectures": [...]} of {file, sectionId | section, title}
+    private Map<String, ManifestEntry> parseManifest(String json) {
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            JsonNode items = root.isArray() ? root : root.path("lectures");
+            if (!items.isArray()) {
+                throw new RuntimeException("Manifest must be an array or contain a 'lectures' array");
+            }
+            Map<String, ManifestEntry> entries = new LinkedHashMap<>();
+            for (JsonNode item : items) {
+                String file = item.path("file").asText(null);
+                if (file == null || file.isBlank()) {
+                    throw new RuntimeException("Every manifest entry needs a 'file'");
+                }
+                String title = item.path("title").asText(null);
+                entries.put(file, new ManifestEntry(
+                        file,
+                        item.path("sectionId").asText(null),
+                        item.path("section").asText(null),
+                        title == null || title.isBlank() ? stripExtension(file) : title));
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid manifest: " + e.getMessage());
+        }
+    }
+
+    private Section resolveSection(Course course, ManifestEntry entry) {
+        return course.getSections().stream()
+                .filter(s -> entry.sectionId() != null
+                        ? entry.sectionId().equals(s.getId())
+                        : entry.sectionTitle() != null && entry.sectionTitle().equals(s.getTitle()))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Section not found for file: " + entry.file()));
+    }
+
+    private static String stripExtension(String fileName) {
+        if (fileName == null) return "Untitled Lecture";
+        String name = Path.of(fileName).getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // temp files are cleaned up by the OS eventually
+        }
+    }
+
+    private record ManifestEntry(String file, String sectionId, String sectionTitle, String title) {}
+
+    private record ImportTask(String fileName, String title, Section section, long sizeBytes, Uploader uploader) {}
+
+    @FunctionalInterface
+    private interface Uploader {
+        String upload(String folder) throws Exception;
+    }
+}
@@ -0,0 +1,127 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.metrics.DependencyMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint and per-dependency latency summary for {@code /api/admin/perf}.
+ *
+ * Every timer is split by status/outcome/exception tags, so the timers of one endpoint are
+ * merged by adding their cumulative histogram buckets (the same way Prometheus'
+ * {@code histogram_quantile} works over {@code sum by (le)}) before p50/p95/p99 are
+ * interpolated. Figures cover the whole uptime of the instance.
+ */
+@Service
+public class PerfSummaryService {
+
+    private static final Set<String> ERROR_OUTCOMES = Set.of("CLIENT_ERROR", "SERVER_ERROR", "ERROR", "FAILED");
+
+    private final MeterRegistry registry;
+
+    public PerfSummaryService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // 🟢 Rows sorted by total time spent, slowest first
+    public Map<String, Object> summary() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("endpoints", summarize("http.server.requests", "method", "uri"));
+        result.put("repositories", summarize(DependencyMetricsAspect.REPOSITORY_TIMER, "repository", "method"));
+        result.put("mongoCommands", summarize("mongodb.driver.commands", "collection", "command"));
+        result.put("cloudinary", summarize(DependencyMetricsAspect.CLOUDINARY_TIMER, "method"));
+        result.put("ai", summarize(QuizGenerationService.AI_TIMER));
+        return result;
+    }
+
+    private List<Map<String, Object>> summarize(String timerName, String... groupTags) {
+        Map<String, Group> groups = new TreeMap<>();
+        for (Timer timer : registry.find(timerName).timers()) {
+            List<String> key = new ArrayList<>(groupTags.length);
+            for (String tag : groupTags) key.add(String.valueOf(timer.getId().getTag(tag)));
+            Group group = groups.computeIfAbsent(String.join(" ", key), k -> new Group(groupTags, key));
+            group.add(timer);
+        }
+        return groups.values().stream()
+                .sorted(Comparator.comparingDouble(Group::totalMs).reversed())
+                .map(Group::toRow)
+                .toList();
+    }
+
+    private static final class Group {
+        private final Map<String, Object> labels = new LinkedHashMap<>();
+        private final TreeMap<Double, Double> buckets = new TreeMap<>(); // upper bound ms -> cumulative count
+        private long count;
+        private long errors;
+        private double totalMs;
+        private double maxMs;
+
+        Group(String[] tags, List<String> values) {
+            for (int i = 0; i < tags.length; i++) labels.put(tags[i], values.get(i));
+        }
+
+        void add(Timer timer) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            count += snapshot.count();
+            totalMs += snapshot.total(TimeUnit.MILLISECONDS);
+            maxMs = Math.max(maxMs, snapshot.max(TimeUnit.MILLISECONDS));
+            String outcome = timer.getId().getTag("outcome");
+            if (outcome == null) outcome = timer.getId().getTag("status");
+            if (outcome != null && ERROR_OUTCOMES.contains(outcome)) errors += snapshot.count();
+            for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                buckets.merge(bucket.bucket(TimeUnit.MILLISECONDS), bucket.count(), Double::sum);
+            }
+        }
+
+        double totalMs() {
+            return totalMs;
+        }
+
+        Map<String, Object> toRow() {
+            Map<String, Object> row = new LinkedHashMap<>(labels);
+            row.put("count", count);
+            row.put("errors", errors);
+            row.put("meanMs", round(count == 0 ? 0 : totalMs / count));
+            row.put("maxMs", round(maxMs)); // recent maximum (decays after a few minutes)
+            row.put("p50Ms", round(quantile(0.50)));
+            row.put("p95Ms", round(quantile(0.95)));
+            row.put("p99Ms", round(quantile(0.99)));
+            row.put("totalMs", round(totalMs));
+            return row;
+        }
+
+        // Linear interpolation inside the bucket that holds the rank; null without a histogram
+        private Double quantile(double q) {
+            if (buckets.isEmpty() || count == 0) return null;
+            double rank = q * count;
+            double lowerBound = 0;
+            double lowerCount = 0;
+            for (Map.Entry<Double, Double> bucket : buckets.entrySet()) {
+                if (bucket.getValue() >= rank) {
+                    double inBucket = bucket.getValue() - lowerCount;
+                    double fraction = inBucket <= 0 ? 1 : (rank - lowerCount) / inBucket;
+                    return lowerBound + (bucket.getKey() - lowerBound) * fraction;
+                }
+                lowerBound = bucket.getKey();
+                lowerCount = bucket.getValue();
+            }
+            return lowerBound; // rank is above the last finite bucket
+        }
+
+        private static Double round(Double value) {
+            return value == null ? null : Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Enrollment;
+import com.skill_forge.infy_intern.model.PlatformDailyStats;
+import com.skill_forge.infy_intern.model.PlatformStats;
+import com.skill_forge.infy_intern.model.QuizResponse;
+import com.skill_forge.infy_intern.model.Role;
+import com.skill_forge.infy_intern.model.User;
+import com.skill_forge.infy_intern.model.VideoEntity;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Platform-wide totals and daily trends for the admin dashboard, kept in memory.
+ *
+ * The service layer reports signups, course changes, enrollments, quiz submissions and
+ * uploads as they happen; each event bumps the serving counters and a pending delta.
+ * Deltas are flushed periodically with {@code $inc} into {@code platform_stats} (one
+ * document) and {@code platform_daily_stats} (one per UTC day), which seed the counters on
+ * startup. A nightly reconcile recomputes everything from the source collections; daily
+ * trends are derived from ObjectId creation times, so no collection needs a createdAt field.
+ */
+@Service
+public class PlatformStatsService {
+
+    private static final String GLOBAL_ID = "global";
+    private static final String[] DAILY_FIELDS = {"signups", "coursesCreated", "enrollments", "quizSubmissions", "videosAdded"};
+
+    private final MongoTemplate mongoTemplate;
+    private final int trendDays;
+    private final Object lock = new Object(); // in-memory counters only, never held across I/O
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    // Serving counters: totals by field path ("usersByRole.STUDENT", "enrollments", ...),
+    // daily counters by "yyyy-MM-dd|field"
+    private volatile Map<String, Long> totals = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> daily = new ConcurrentHashMap<>();
+    // Deltas not yet written to Mongo, same keys
+    private final Map<String, Long> pendingTotals = new ConcurrentHashMap<>();
+    private final Map<String, Long> pendingDaily = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile boolean reconciling; // flushes are held until the recomputed documents are written
+    private volatile Instant updatedAt;
+    private volatile Instant reconciledAt;
+
+    public PlatformStatsService(MongoTemplate mongoTemplate,
+                                @Value("${skillforge.platform-stats.trend-days:30}") int trendDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.trendDays = Math.max(1, trendDays);
+    }
+
+    public void userRegistered(Role role) {
+        record("usersByRole." + key(role == null ? null : role.name()), 1, "signups");
+    }
+
+    public void courseCreated(Course course) {
+        record("coursesByStatus." + key(course.getStatus()), 1, "coursesCreated");
+    }
+
+    public void coursesCreated(List<Course> courses) {
+        courses.forEach(this::courseCreated);
+    }
+
+    public void courseStatusChanged(String oldStatus, String newStatus) {
+        if (key(oldStatus).equals(key(newStatus))) return;
+        record("coursesByStatus." + key(oldStatus), -1, null);
+        record("coursesByStatus." + key(newStatus), 1, null);
+    }
+
+    public void courseDeleted(String status) {
+        record("coursesByStatus." + key(status), -1, null);
+    }
+
+    public void enrollmentsAdded(int count) {
+        if (count > 0) record("enrollments", count, "enrollments");
+    }
+
+    public void quizSubmitted(boolean passed) {
+        record("quizSubmissions", 1, "quizSubmissions");
+        if (passed) record("quizPassed", 1, null);
+    }
+
+    // bytes is 0 for rows that reuse an existing asset (clones, imports)
+    public void videosAdded(int count, long bytes) {
+        if (count <= 0) return;
+        record("videos", count, "videosAdded");
+        if (bytes > 0) record("storageBytes", bytes, null);
+    }
+
+    // Storage is left to the nightly reconcile: another row may still reference the asset
+    public void videoDeleted() {
+        record("videos", -1, null);
+    }
+
+    // 🟢 Everything the admin dashboard shows, read from memory
+    public Map<String, Object> getStats(int days) {
+        int window = Math.max(1, Math.min(days, trendDays));
+        Map<String, Long> current = totals;
+        Map<String, Long> usersByRole = new TreeMap<>();
+        Map<String, Long> coursesByStatus = new TreeMap<>();
+        current.forEach((path, value) -> {
+            if (path.startsWith("usersByRole.")) usersByRole.put(path.substring("usersByRole.".length()), value);
+            if (path.startsWith("coursesByStatus.")) coursesByStatus.put(path.substring("coursesByStatus.".length()), value);
+        });
+        long quizSubmissions = current.getOrDefault("quizSubmissions", 0L);
+        long quizPassed = current.getOrDefault("quizPassed", 0L);
+
+        Map<String, Object> users = new LinkedHashMap<>();
+        users.put("total", usersByRole.values().stream().mapToLong(Long::longValue).sum());
+        users.put("byRole", usersByRole);
+        Map<String, Object> courses = new LinkedHashMap<>();
+        courses.put("total", coursesByStatus.values().stream().mapToLong(Long::longValue).sum());
+        courses.put("byStatus", coursesByStatus);
+
+        Map<String, Long> currentDaily = daily;
+        List<Map<String, Object>> trend = new ArrayList<>(window);
+        LocalDate today = today();
+        for (int i = window - 1; i >= 0; i--) {
+            String day = today.minusDays(i).toString();
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("date", day);
+            for (String field : DAILY_FIELDS) {
+                point.put(field, currentDaily.getOrDefault(day + "|" + field, 0L));
+            }
+            trend.add(point);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("users", users);
+        result.put("courses", courses);
+        result.put("enrollments", current.getOrDefault("enrollments", 0L));
+        result.put("quizSubmissions", quizSubmissions);
+        result.put("quizPassRate", quizSubmissions == 0 ? 0 : Math.round(quizPassed * 1000.0 / quizSubmissions) / 10.0);
+        result.put("videos", current.getOrDefault("videos", 0L));
+        result.put("storageBytes", current.getOrDefault("storageBytes", 0L));
+        result.put("daily", trend);
+        result.put("loaded", loaded);
+        result.put("updatedAt", updatedAt);
+        result.put("reconciledAt", reconciledAt);
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${skillforge.platform-stats.flush-interval-ms:10000}")
+    public void flush() {
+        if (reconciling) return;
+        Instant now = Instant.now();
+        Map<String, Long> totalsBatch = drain(pendingTotals);
+        if (!totalsBatch.isEmpty()) {
+            try {
+                Update update = new Update().set("updatedAt", now);
+                totalsBatch.forEach(update::inc);
+                mongoTemplate.upsert(Query.query(Criteria.where("_id").is(GLOBAL_ID)), update, PlatformStats.class);
+                updatedAt = now;
+            } catch (RuntimeException e) {
+                totalsBatch.forEach((path, delta) -> pendingTotals.merge(path, delta, Long::sum));
+                System.err.println("❌ Platform stats flush failed: " + e.getMessage());
+            }
+        }
+
+        Map<String, Long> dailyBatch = drain(pendingDaily);
+        if (!dailyBatch.isEmpty()) {
+            try {
+                Map<String, Update> byDay = new HashMap<>();
+                dailyBatch.forEach((key, delta) -> {
+                    int bar = key.indexOf('|');
+                    byDay.computeIfAbsent(key.substring(0, bar), d -> new Update()).inc(key.substring(bar + 1), delta);
+                });
+                BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlatformDailyStats.class);
+                byDay.forEach((day, update) -> ops.upsert(Query.query(Criteria.where("_id").is(day)), update));
+                ops.execute();
+            } catch (RuntimeException e) {
+                dailyBatch.forEach((key, delta) -> pendingDaily.merge(key, delta, Long::sum));
+                System.err.println("❌ Platform daily stats flush failed: " + e.getMessage());
+            }
+        }
+
+        // Days that fell out of the trend window are only kept in Mongo
+        String cutoff = today().minusDays(trendDays).toString();
+        daily.keySet().removeIf(key -> key.compareTo(cutoff) < 0);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Seed the counters from the persisted documents, or build them on first start
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread.ofVirtual().name("platform-stats-load").start(() -> {
+            try {
+                PlatformStats stored = mongoTemplate.findById(GLOBAL_ID, PlatformStats.class);
+                if (stored == null) {
+                    reconcile();
+                    return;
+                }
+                Query query = Query.query(Criteria.where("_id").gte(today().minusDays(trendDays - 1L).toString()));
+                List<PlatformDailyStats> days = mongoTemplate.find(query, PlatformDailyStats.class);
+                synchronized (lock) {
+                    totals = withPending(flatten(stored), pendingTotals);
+                    daily = withPending(flattenDaily(days), pendingDaily);
+                    loaded = true;
+                }
+                updatedAt = stored.getUpdatedAt();
+                reconciledAt = stored.getReconciledAt();
+                System.out.println("📈 Platform stats loaded (reconciled " + reconciledAt + ")");
+            } catch (RuntimeException e) {
+                System.err.println("❌ Platform stats load failed: " + e.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(cron = "${skillforge.platform-stats.reconcile-cron:0 45 3 * * *}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Platform stats reconcile failed: " + e.getMessage());
+        }
+    }
+
+    // 🟢 Recompute totals and the trend window from the source collections, in parallel
+    public Map<String, Object> reconcile() {
+        reconcileLock.lock();
+        try {
+            return reconcileAll();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private Map<String, Object> reconcileAll() {
+        flush();
+        // Deltas from before the scans are covered by them (if the flush failed they are kept
+        // to be put back should the reconcile fail). Events from now on stay pending: flushes
+        // are held until the recomputed documents are written, then re-applied on top.
+        Map<String, Long> earlierTotals;
+        Map<String, Long> earlierDaily;
+        synchronized (lock) {
+            reconciling = true;
+            earlierTotals = drain(pendingTotals);
+            earlierDaily = drain(pendingDaily);
+        }
+        try {
+            return recomputeAll();
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                earlierTotals.forEach((path, delta) -> pendingTotals.merge(path, delta, Long::sum));
+                earlierDaily.forEach((key, delta) -> pendingDaily.merge(key, delta, Long::sum));
+            }
+            throw e;
+        } finally {
+            reconciling = false;
+        }
+    }
+
+    private Map<String, Object> recomputeAll() {
+        long started = System.currentTimeMillis();
+        Instant since = today().minusDays(trendDays - 1L).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        PlatformStats stats = new PlatformStats();
+        stats.setId(GLOBAL_ID);
+        Map<String, Long> dailyCounts = new HashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<Document>> users = executor.submit(() -> groupCount(User.class, "role"));
+            Future<List<Document>> courses = executor.submit(() -> groupCount(Course.class, "status"));
+            Future<Long> enrollments = executor.submit(() -> mongoTemplate.count(new Query(), Enrollment.class));
+            Future<List<Document>> quizzes = executor.submit(() -> mongoTemplate.aggregate(Aggregation.newAggregation(
+                    Aggregation.group()
+                            .count().as("submissions")
+                            .sum(ConditionalOperators.when(Criteria.where("passed").is(true)).then(1).otherwise(0))
+                            .as("passed")
+            ), QuizResponse.class, Document.class).getMappedResults());
+            Future<Long> videos = executor.submit(() -> mongoTemplate.count(new Query(), VideoEntity.class));
+            // Each stored asset once, however many rows (clones) point at it
+            Future<List<Document>> storage = executor.submit(() -> mongoTemplate.aggregate(Aggregation.newAggregation(
+                    Aggregation.group("videoUrl").max("sizeBytes").as("bytes"),
+                    Aggregation.group().sum("bytes").as("bytes")
+            ), VideoEntity.class, Document.class).getMappedResults());
+            Map<String, Future<List<Document>>> perDay = new LinkedHashMap<>();
+            perDay.put("signups", executor.submit(() -> countByDay(User.class, since)));
+            perDay.put("coursesCreated", executor.submit(() -> countByDay(Course.class, since)));
+            perDay.put("enrollments", executor.submit(() -> countByDay(Enrollment.class, since)));
+            perDay.put("quizSubmissions", executor.submit(() -> countByDay(QuizResponse.class, since)));
+            perDay.put("videosAdded", executor.submit(() -> countByDay(VideoEntity.class, since)));
+
+            for (Document group : users.get()) {
+                stats.getUsersByRole().put(key(group.get("_id")), number(group, "count"));
+            }
+            for (Document group : courses.get()) {
+                stats.getCoursesByStatus().put(key(group.get("_id")), number(group, "count"));
+            }
+            stats.setEnrollments(enrollments.get());
+            for (Document group : quizzes.get()) {
+                stats.setQuizSubmissions(number(group, "submissions"));
+                stats.setQuizPassed(number(group, "passed"));
+            }
+            stats.setVideos(videos.get());
+            for (Document group : storage.get()) {
+                stats.setStorageBytes(number(group, "bytes"));
+            }
+            for (Map.Entry<String, Future<List<Document>>> entry : perDay.entrySet()) {
+                for (Document group : entry.getValue().get()) {
+                    dailyCounts.put(group.get("_id") + "|" + entry.getKey(), number(group, "count"));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Platform stats reconcile interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Platform stats reconcile failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        Instant now = Instant.now();
+        stats.setUpdatedAt(now);
+        stats.setReconciledAt(now);
+
+        mongoTemplate.findAndReplace(Query.query(Criteria.where("_id").is(GLOBAL_ID)), stats,
+                FindAndReplaceOptions.options().upsert());
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlatformDailyStats.class);
+        for (PlatformDailyStats day : toDailyDocuments(dailyCounts, since)) {
+            ops.replaceOne(Query.query(Criteria.where("_id").is(day.getId())), day, FindAndReplaceOptions.options().upsert());
+        }
+        ops.execute();
+
+        synchronized (lock) {
+            // Events that arrived during the scans are still pending: serve them on top of the
+            // recomputed numbers and let the next flush $inc them into the new documents. One
+            // whose document a scan already saw is counted twice until the next reconcile.
+            totals = withPending(flatten(stats), pendingTotals);
+            daily = withPending(dailyCounts, pendingDaily);
+            loaded = true;
+        }
+        updatedAt = now;
+        reconciledAt = now;
+
+        long elapsed = System.currentTimeMillis() - started;
+        System.out.println("📈 Platform stats reconciled in " + elapsed + " ms");
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("elapsedMs", elapsed);
+        result.put("stats", getStats(trendDays));
+        return result;
+    }
+
+    private void record(String path, long delta, String dailyField) {
+        synchronized (lock) {
+            totals.merge(path, delta, Long::sum);
+            pendingTotals.merge(path, delta, Long::sum);
+            if (dailyField != null) {
+                String key = today() + "|" + dailyField;
+                daily.merge(key, delta, Long::sum);
+                pendingDaily.merge(key, delta, Long::sum);
+            }
+        }
+    }
+
+    private List<Document> groupCount(Class<?> type, String field) {
+        return mongoTemplate.aggregate(Aggregation.newAggregation(
+                Aggregation.group(field).count().as("count")
+        ), type, Document.class).getMappedResults();
+    }
+
+    // Documents created per UTC day since the cutoff, from the timestamp inside the ObjectId
+    private List<Document> countByDay(Class<?> type, Instant since) {
+        AggregationOperation byDay = context -> new Document("$group", new Document("_id",
+                new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                        .append("date", new Document("$toDate", "$_id"))))
+                .append("count", new Document("$sum", 1)));
+        return mongoTemplate.aggregate(Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").gte(new ObjectId(Date.from(since)))),
+                byDay
+        ), type, Document.class).getMappedResults();
+    }
+
+    // Zero rows for every day in the window so days without activity are reset too
+    private List<PlatformDailyStats> toDailyDocuments(Map<String, Long> counts, Instant since) {
+        List<PlatformDailyStats> days = new ArrayList<>();
+        LocalDate today = today();
+        for (LocalDate day = LocalDate.ofInstant(since, ZoneOffset.UTC); !day.isAfter(today); day = day.plusDays(1)) {
+            String id = day.toString();
+            PlatformDailyStats stats = new PlatformDailyStats();
+            stats.setId(id);
+            stats.setSignups(counts.getOrDefault(id + "|signups", 0L));
+            stats.setCoursesCreated(counts.getOrDefault(id + "|coursesCreated", 0L));
+            stats.setEnrollments(counts.getOrDefault(id + "|enrollments", 0L));
+            stats.setQuizSubmissions(counts.getOrDefault(id + "|quizSubmissions", 0L));
+            stats.setVideosAdded(counts.getOrDefault(id + "|videosAdded", 0L));
+            days.add(stats);
+        }
+        return days;
+    }
+
+    private static Map<String, Long> flatten(PlatformStats stats) {
+        Map<String, Long> paths = new HashMap<>();
+        stats.getUsersByRole().forEach((role, count) -> paths.put("usersByRole." + role, count));
+        stats.getCoursesByStatus().forEach((status, count) -> paths.put("coursesByStatus." + status, count));
+        paths.put("enrollments", stats.getEnrollments());
+        paths.put("quizSubmissions", stats.getQuizSubmissions());
+        paths.put("quizPassed", stats.getQuizPassed());
+        paths.put("videos", stats.getVideos());
+        paths.put("storageBytes", stats.getStorageBytes());
+        return paths;
+    }
+
+    private static Map<String, Long> flattenDaily(List<PlatformDailyStats> days) {
+        Map<String, Long> keys = new HashMap<>();
+        for (PlatformDailyStats day : days) {
+            keys.put(day.getId() + "|signups", day.getSignups());
+            keys.put(day.getId() + "|coursesCreated", day.getCoursesCreated());
+            keys.put(day.getId() + "|enrollments", day.getEnrollments());
+            keys.put(day.getId() + "|quizSubmissions", day.getQuizSubmissions());
+            keys.put(day.getId() + "|videosAdded", day.getVideosAdded());
+        }
+        return keys;
+    }
+
+    private static Map<String, Long> withPending(Map<String, Long> base, Map<String, Long> pending) {
+        Map<String, Long> merged = new ConcurrentHashMap<>(base);
+        pending.forEach((key, delta) -> merged.merge(key, delta, Long::sum));
+        return merged;
+    }
+
+    private static Map<String, Long> drain(Map<String, Long> pending) {
+        Map<String, Long> batch = new HashMap<>();
+        for (String key : new ArrayList<>(pending.keySet())) {
+            Long delta = pending.remove(key);
+            if (delta != null && delta != 0) batch.put(key, delta);
+        }
+        return batch;
+    }
+
+    // Map keys become Mongo field names, so dots and dollars are not allowed
+    private static String key(Object value) {
+        String text = value == null ? "" : value.toString().trim();
+        return text.isEmpty() ? "none" : text.replace('.', '_').replace('$', '_');
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static long number(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number n ? n.longValue() : 0L;
+    }
+}
@@ -0,0 +1,120 @@
+package com.skill_forge.infy_intern.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.skill_forge.infy_intern.model.Enrollment;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for course player progress heartbeats.
+ *
+ * Only the highest progress seen per (student, course) is kept between flushes, and a
+ * flush writes every pending entry with one unordered bulk request. Progress never goes
+ * backwards: values are merged with max in memory and written with {@code $max} in Mongo.
+ * Heartbeats are client-reported, so they land in {@code watchProgress}; the enrollment's
+ * {@code progress} is derived from completed items by {@link CompletionService} alone.
+ *
+ * Heartbeats are only accepted for existing enrollments, so junk keys never reach the buffer.
+ * Enrollments are never deleted, so the ones seen once are remembered; unknown keys are
+ * looked up again each time, since the student may enroll in the meantime.
+ */
+@Component
+public class ProgressWriteBuffer {
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxKnownEnrollments;
+    private final Map<Key, Double> pending = new ConcurrentHashMap<>();
+    private final Set<Key> knownEnrollments = ConcurrentHashMap.newKeySet();
+
+    public ProgressWriteBuffer(MongoTemplate mongoTemplate,
+                               @Value("${skillforge.progress.known-enrollments:100000}") int maxKnownEnrollments) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxKnownEnrollments = Math.max(1, maxKnownEnrollments);
+    }
+
+    public boolean isEnrolled(String studentEmail, String courseId) {
+        Key key = new Key(studentEmail, courseId);
+        if (knownEnrollments.contains(key)) return true;
+        boolean exists = mongoTemplate.exists(Query.query(Criteria.where("studentEmail").is(studentEmail)
+                .and("courseId").is(courseId)), Enrollment.class);
+        if (exists) {
+            if (knownEnrollments.size() >= maxKnownEnrollments) {
+                knownEnrollments.clear(); // crude bound; active students are looked up again once
+            }
+            knownEnrollments.add(key);
+        }
+        return exists;
+    }
+
+    public void record(String studentEmail, String courseId, double progress) {
+        pending.merge(new Key(studentEmail, courseId), progress, Math::max);
+    }
+
+    // Latest progress not yet written to Mongo, or null when nothing is buffered
+    public Double pendingProgress(String studentEmail, String courseId) {
+        return pending.get(new Key(studentEmail, courseId));
+    }
+
+    // Raise an enrollment read from Mongo to the progress still waiting in the buffer
+    public Enrollment overlay(Enrollment enrollment) {
+        Double buffered = pendingProgress(enrollment.getStudentEmail(), enrollment.getCourseId());
+        if (buffered != null && buffered > enrollment.getWatchProgress()) {
+            enrollment.setWatchProgress(buffered);
+        }
+        return enrollment;
+    }
+
+    @Scheduled(fixedDelayString = "${skillforge.progress.flush-interval-ms:2000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        Map<Key, Double> batch = new HashMap<>();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Enrollment.class);
+        for (Map.Entry<Key, Double> entry : pending.entrySet()) {
+            Key key = entry.getKey();
+            Double progress = entry.getValue();
+            // Only drop the entry if no newer heartbeat arrived while we were collecting
+            if (!pending.remove(key, progress)) {
+                progress = pending.remove(key);
+                if (progress == null) continue;
+            }
+            batch.put(key, progress);
+            ops.updateOne(
+                    Query.query(Criteria.where("studentEmail").is(key.studentEmail())
+                            .and("courseId").is(key.courseId())),
+                    new Update().max("watchProgress", progress));
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            BulkWriteResult result = ops.execute();
+            if (result.getMatchedCount() < batch.size()) {
+                System.out.println("⚠️  Progress flush: " + (batch.size() - result.getMatchedCount())
+                        + " update(s) had no matching enrollment");
+            }
+        } catch (RuntimeException e) {
+            // Put the batch back so the next flush retries it
+            batch.forEach((key, progress) -> pending.merge(key, progress, Math::max));
+            System.err.println("❌ Progress flush failed for " + batch.size() + " enrollment(s): " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private record Key(String studentEmail, String courseId) {}
+}
@@ -0,0 +1,133 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Quiz;
+import com.skill_forge.infy_intern.model.QuizQuestion;
+import com.skill_forge.infy_intern.model.Section;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled answer keys for grading, keyed by (courseId, sectionId, quizId).
+ *
+ * A key is a primitive array of correct option indexes plus the passing score, so grading
+ * a cached quiz needs no course read and no boxing. Entries are loaded with a projection
+ * on first use and must be invalidated by every operation that changes a quiz.
+ *
+ * Invalidation bumps a per-course generation instead of only removing entries: a key is
+ * served only while the generation it was loaded under is current, so a load that read the
+ * course before an edit can never be served after the edit's invalidate() returns. Edits on
+ * other instances are not seen here; the TTL bounds how long those keep grading with the
+ * old key.
+ */
+@Component
+public class QuizAnswerKeyCache {
+
+    // Stored for questions without a correct option, never equal to a submitted index
+    public static final int NO_CORRECT_OPTION = Integer.MIN_VALUE;
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Key, Entry> keys = new ConcurrentHashMap<>();
+    // Bumped by every invalidation of a course; absent means generation 0
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    public QuizAnswerKeyCache(MongoTemplate mongoTemplate,
+                              @Value("${skillforge.quiz.answer-key-cache-size:10000}") int maxEntries,
+                              @Value("${skillforge.quiz.answer-key-ttl-seconds:60}") long ttlSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, ttlSeconds));
+    }
+
+    public AnswerKey get(String courseId, String sectionId, String quizId) {
+        Key key = new Key(courseId, sectionId, quizId);
+        // Read before loading: an invalidation during the load makes this entry stale at once
+        long generation = generation(courseId);
+        Entry cached = keys.get(key);
+        if (cached != null && cached.generation() == generation && System.nanoTime() - cached.loadedAt() < ttlNanos) {
+            return cached.answerKey();
+        }
+
+        long loadedAt = System.nanoTime();
+        AnswerKey loaded = load(courseId, sectionId, quizId);
+        if (keys.size() >= maxEntries) {
+            keys.clear(); // crude bound; hot quizzes are reloaded on their next submission
+        }
+        keys.put(key, new Entry(loaded, generation, loadedAt));
+        return loaded;
+    }
+
+    public void invalidate(String courseId, String sectionId, String quizId) {
+        generations.merge(courseId, 1L, Long::sum);
+        keys.remove(new Key(courseId, sectionId, quizId));
+    }
+
+    public void invalidateSection(String courseId, String sectionId) {
+        generations.merge(courseId, 1L, Long::sum);
+        keys.keySet().removeIf(k -> k.courseId().equals(courseId) && k.sectionId().equals(sectionId));
+    }
+
+    public void invalidateCourse(String courseId) {
+        generations.merge(courseId, 1L, Long::sum);
+        keys.keySet().removeIf(k -> k.courseId().equals(courseId));
+    }
+
+    private long generation(String courseId) {
+        return generations.getOrDefault(courseId, 0L);
+    }
+
+    private AnswerKey load(String courseId, String sectionId, String quizId) {
+        Query query = Query.query(Criteria.where("_id").is(courseId));
+        query.fields().include("sections.id", "sections.quizzes.id", "sections.quizzes.passingScore",
+                "sections.quizzes.timeLimitSeconds",
+                "sections.quizzes.questions.correctOptionIndex", "sections.quizzes.questions.options");
+        Course course = mongoTemplate.findOne(query, Course.class);
+        if (course == null) {
+            throw new RuntimeException("Course not found");
+        }
+
+        Section section = course.getSections().stream()
+                .filter(s -> sectionId.equals(s.getId()))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Section not found"));
+
+        Quiz quiz = section.getQuizzes().stream()
+                .filter(q -> quizId.equals(q.getId()))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Quiz not found"));
+
+        return compile(quiz);
+    }
+
+    public static AnswerKey compile(Quiz quiz) {
+        List<QuizQuestion> questions = quiz.getQuestions();
+        int[] correct = new int[questions == null ? 0 : questions.size()];
+        int maxOptions = 0;
+        for (int i = 0; i < correct.length; i++) {
+            Integer index = questions.get(i).getCorrectOptionIndex();
+            correct[i] = index == null ? NO_CORRECT_OPTION : index;
+            maxOptions = Math.max(maxOptions, questions.get(i).getOptions().size());
+        }
+        return new AnswerKey(correct, quiz.getPassingScore() == null ? 70 : quiz.getPassingScore(), maxOptions,
+                quiz.getTimeLimitSeconds() == null ? 0 : quiz.getTimeLimitSeconds());
+    }
+
+    // timeLimitSeconds is 0 for untimed quizzes
+    public record AnswerKey(int[] correctOptions, int passingScore, int maxOptions, int timeLimitSeconds) {
+        public int questionCount() { return correctOptions.length; }
+    }
+
+    private record Key(String courseId, String sectionId, String quizId) {}
+
+    private record Entry(AnswerKey answerKey, long generation, long loadedAt) {}
+}
@@ -0,0 +1,189 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.QuizAttempt;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Server-side quiz attempts with enforced time limits.
+ *
+ * Starting a quiz persists an ACTIVE attempt and every submission must name one; a
+ * submission atomically moves it to SUBMITTED, so duplicates and submissions after the
+ * deadline (plus a small grace for network latency) are rejected. Expiry is driven by one hashed timer wheel rather than a
+ * scheduled task per attempt, and ACTIVE attempts are re-armed from Mongo on startup.
+ */
+@Service
+public class QuizAttemptService {
+
+    private final MongoTemplate mongoTemplate;
+    private final QuizAnswerKeyCache answerKeyCache;
+    private final Duration grace;
+    private final HashedTimerWheel<String> expiryWheel;
+    private final Map<String, HashedTimerWheel.Timeout<String>> timers = new ConcurrentHashMap<>();
+
+    public QuizAttemptService(MongoTemplate mongoTemplate,
+                              QuizAnswerKeyCache answerKeyCache,
+                              @Value("${skillforge.quiz-attempts.grace-seconds:5}") long graceSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.answerKeyCache = answerKeyCache;
+        this.grace = Duration.ofSeconds(Math.max(0, graceSeconds));
+        this.expiryWheel = new HashedTimerWheel<>("quiz-attempt-expiry", 1, TimeUnit.SECONDS, 512, this::expire);
+    }
+
+    // 🟢 Start (or resume) the student's attempt; the clock starts on the first call
+    public QuizAttempt start(String email, String courseId, String sectionId, String quizId) {
+        QuizAnswerKeyCache.AnswerKey answerKey = answerKeyCache.get(courseId, sectionId, quizId);
+        Instant now = Instant.now();
+        Query active = activeAttempt(email, quizId);
+
+        // An attempt whose time ran out stays ACTIVE until the wheel's next tick; close it
+        // now so it is not resumed and does not block a fresh one
+        mongoTemplate.updateMulti(Query.query(Criteria.where("studentEmail").is(email)
+                        .and("quizId").is(quizId)
+                        .and("status").is(QuizAttempt.ACTIVE)
+                        .and("expiresAt").lte(now)),
+                new Update().set("status", QuizAttempt.EXPIRED), QuizAttempt.class);
+
+        // One upsert resumes the active attempt or creates it; student_quiz_active (unique
+        // over ACTIVE attempts) stops two concurrent starts from both inserting
+        ObjectId newId = new ObjectId();
+        Update update = new Update()
+                .setOnInsert("_id", newId)
+                .setOnInsert("courseId", courseId)
+                .setOnInsert("sectionId", sectionId)
+                .setOnInsert("startedAt", now);
+        if (answerKey.timeLimitSeconds() > 0) {
+            update.setOnInsert("expiresAt", now.plusSeconds(answerKey.timeLimitSeconds()));
+        }
+        QuizAttempt attempt;
+        try {
+            attempt = mongoTemplate.findAndModify(active, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), QuizAttempt.class);
+        } catch (DuplicateKeyException e) {
+            // A concurrent start inserted the attempt first
+            attempt = mongoTemplate.findOne(active, QuizAttempt.class);
+            if (attempt == null) throw new RuntimeException("Could not start the quiz, please try again");
+        }
+
+        if (newId.toHexString().equals(attempt.getId())) {
+            arm(attempt);
+        }
+        return attempt;
+    }
+
+    /**
+     * Atomically closes an attempt for grading. Throws when the attempt does not belong to
+     * this student and course/section/quiz, was already submitted, or its time ran out.
+     */
+    public QuizAttempt claimForSubmission(String attemptId, String email, String courseId, String sectionId, String quizId) {
+        Instant now = Instant.now();
+        Query claimable = Query.query(Criteria.where("_id").is(attemptId)
+                .and("studentEmail").is(email)
+                .and("courseId").is(courseId)
+                .and("sectionId").is(sectionId)
+                .and("quizId").is(quizId)
+                .and("status").is(QuizAttempt.ACTIVE)
+                .orOperator(Criteria.where("expiresAt").is(null),
+                        Criteria.where("expiresAt").gte(now.minus(grace))));
+        QuizAttempt claimed = mongoTemplate.findAndModify(claimable,
+                new Update().set("status", QuizAttempt.SUBMITTED).set("submittedAt", now),
+                FindAndModifyOptions.options().returnNew(true), QuizAttempt.class);
+        if (claimed != null) {
+            HashedTimerWheel.Timeout<String> timer = timers.remove(attemptId);
+            if (timer != null) timer.cancel();
+            return claimed;
+        }
+
+        QuizAttempt attempt = mongoTemplate.findById(attemptId, QuizAttempt.class);
+        if (attempt == null || !email.equals(attempt.getStudentEmail()) || !courseId.equals(attempt.getCourseId())
+                || !sectionId.equals(attempt.getSectionId()) || !quizId.equals(attempt.getQuizId())) {
+            throw new RuntimeException("Quiz attempt not found");
+        }
+        if (QuizAttempt.SUBMITTED.equals(attempt.getStatus())) {
+            throw new RuntimeException("This attempt has already been submitted");
+        }
+        throw new RuntimeException("Time limit exceeded for this attempt");
+    }
+
+    // Undo a claim whose grading failed; the deadline is unchanged, so a timed attempt still expires on time
+    public void reopen(QuizAttempt claimed) {
+        Query query = Query.query(Criteria.where("_id").is(claimed.getId())
+                .and("status").is(QuizAttempt.SUBMITTED)
+                .and("submittedAt").is(claimed.getSubmittedAt()));
+        if (mongoTemplate.updateFirst(query, new Update().set("status", QuizAttempt.ACTIVE).unset("submittedAt"),
+                QuizAttempt.class).getModifiedCount() > 0) {
+            arm(claimed);
+        }
+    }
+
+    // Server-measured duration, replacing the client-reported value
+    public static int durationSeconds(QuizAttempt attempt) {
+        Instant end = attempt.getSubmittedAt() != null ? attempt.getSubmittedAt() : Instant.now();
+        return (int) Duration.between(attempt.getStartedAt(), end).getSeconds();
+    }
+
+    // Re-arm expiry timers for attempts that were active when the node stopped
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverActiveAttempts() {
+        Thread.ofVirtual().name("quiz-attempt-recovery").start(() -> {
+            Query query = Query.query(Criteria.where("status").is(QuizAttempt.ACTIVE).and("expiresAt").ne(null));
+            query.fields().include("_id", "expiresAt");
+            int recovered = 0;
+            try (Stream<QuizAttempt> attempts = mongoTemplate.stream(query, QuizAttempt.class)) {
+                for (QuizAttempt attempt : (Iterable<QuizAttempt>) attempts::iterator) {
+                    arm(attempt);
+                    recovered++;
+                }
+                if (recovered > 0) {
+                    System.out.println("⏱️ Re-armed " + recovered + " active quiz attempt(s)");
+                }
+            } catch (RuntimeException e) {
+                System.err.println("❌ Could not recover active quiz attempts: " + e.getMessage());
+            }
+        });
+    }
+
+    private static Query activeAttempt(String email, String quizId) {
+        return Query.query(Criteria.where("studentEmail").is(email)
+                .and("quizId").is(quizId)
+                .and("status").is(QuizAttempt.ACTIVE));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiryWheel.close();
+    }
+
+    private void arm(QuizAttempt attempt) {
+        if (attempt.getExpiresAt() == null) return;
+        long delayMs = Duration.between(Instant.now(), attempt.getExpiresAt().plus(grace)).toMillis();
+        timers.put(attempt.getId(), expiryWheel.schedule(attempt.getId(), delayMs, TimeUnit.MILLISECONDS));
+    }
+
+    // Wheel callback: every attempt that ran out in the last tick, closed with one update
+    private void expire(List<String> attemptIds) {
+        attemptIds.forEach(timers::remove);
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(attemptIds).and("status").is(QuizAttempt.ACTIVE)),
+                new Update().set("status", QuizAttempt.EXPIRED),
+                QuizAttempt.class);
+    }
+}
@@ -0,0 +1,485 @@
+package com.skill_forge.infy_intern.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skill_forge.infy_intern.metrics.RequestTiming;
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Quiz;
+import com.skill_forge.infy_intern.model.QuizGenerationJob;
+import com.skill_forge.infy_intern.model.QuizQuestion;
+import com.skill_forge.infy_intern.model.Section;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * AI quiz generation (Perplexity), with the mock generator as the local stand-in when no
+ * API key is configured.
+ *
+ * One pooled {@link HttpClient} with connect/request timeouts is shared by all calls, and
+ * the response body is parsed as a token stream. Generated questions are cached by the
+ * normalized (topic, numQuestions); concurrent identical requests share one remote call.
+ * Generation can run as a background job that instructors poll, or fan out over every
+ * section of a course with a concurrency cap and per-section deadline.
+ */
+@Service
+public class QuizGenerationService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+    static final String AI_TIMER = "skillforge.ai.calls";
+
+    private final CourseService courseService;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String perplexityApiKey;
+    private final String perplexityApiUrl;
+    private final Duration requestTimeout;
+    private final int maxCacheSize;
+    private final Duration cacheTtl;
+    private final HttpClient httpClient;
+    private final Semaphore remoteCalls;
+    private final int fanOutConcurrency;
+    private final Duration sectionDeadline;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CachedQuestions> cache = new ConcurrentHashMap<>();
+    private final Map<String, QuizGenerationJob> jobs = new ConcurrentHashMap<>();
+
+    public QuizGenerationService(CourseService courseService,
+                                 MongoTemplate mongoTemplate,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${perplexity.api.key:}") String perplexityApiKey,
+                                 @Value("${perplexity.api.url:https://api.perplexity.ai/v1/generate}") String perplexityApiUrl,
+                                 @Value("${skillforge.ai.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                 @Value("${skillforge.ai.request-timeout-ms:60000}") long requestTimeoutMs,
+                                 @Value("${skillforge.ai.max-concurrency:4}") int maxConcurrency,
+                                 @Value("${skillforge.ai.quiz-cache-size:500}") int maxCacheSize,
+                                 @Value("${skillforge.ai.quiz-cache-ttl-minutes:1440}") long cacheTtlMinutes,
+                                 @Value("${skillforge.ai.fan-out-concurrency:4}") int fanOutConcurrency,
+                                 @Value("${skillforge.ai.section-deadline-ms:90000}") long sectionDeadlineMs) {
+        this.courseService = courseService;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.perplexityApiKey = perplexityApiKey;
+        this.perplexityApiUrl = perplexityApiUrl;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.maxCacheSize = Math.max(1, maxCacheSize);
+        this.cacheTtl = Duration.ofMinutes(cacheTtlMinutes);
+        this.remoteCalls = new Semaphore(Math.max(1, maxConcurrency));
+        this.fanOutConcurrency = Math.max(1, fanOutConcurrency);
+        this.sectionDeadline = Duration.ofMillis(sectionDeadlineMs);
+        // HttpClient keeps its connections pooled and is safe to share across threads
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    // 🟢 Generate a quiz and attach it to the section, blocking until it is saved
+    public Course generateQuiz(String courseId, String sectionId, String topic, int numQuestions, Integer timeLimitSeconds) {
+        requireSection(courseId, sectionId);
+        GeneratedQuestions generated = await(questionsFor(topic, numQuestions).future());
+        return courseService.addQuizToSection(courseId, sectionId, buildQuiz(topic, generated, timeLimitSeconds));
+    }
+
+    // 🟢 Queue generation in the background; poll the returned job for the quiz id
+    public QuizGenerationJob submitJob(String courseId, String sectionId, String topic, int numQuestions, Integer timeLimitSeconds) {
+        requireSection(courseId, sectionId);
+        QuizGenerationJob job = new QuizGenerationJob(UUID.randomUUID().toString(), courseId, sectionId, topic, numQuestions);
+        jobs.put(job.getId(), job);
+
+        Lookup lookup = questionsFor(topic, numQuestions);
+        lookup.future().whenCompleteAsync((generated, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                job.fail("Failed to generate quiz from AI: " + cause.getMessage());
+                return;
+            }
+            try {
+                Quiz quiz = buildQuiz(topic, generated, timeLimitSeconds);
+                courseService.addQuizToSection(courseId, sectionId, quiz);
+                job.complete(quiz.getId(), lookup.shared());
+            } catch (RuntimeException e) {
+                job.fail(e.getMessage());
+            }
+        }, executor);
+        return job;
+    }
+
+    // 🟢 Generate one quiz per section (topic defaults to the section title) and attach them all
+    // in a single course update. Sections that fail or miss the deadline are reported, not fatal.
+    public Map<String, Object> generateForCourse(String courseId, Map<String, String> topicsBySection,
+                                                 int numQuestions, Integer timeLimitSeconds) {
+        Query query = Query.query(Criteria.where("_id").is(courseId));
+        query.fields().include("sections.id", "sections.title");
+        Course course = mongoTemplate.findOne(query, Course.class);
+        if (course == null) {
+            throw new RuntimeException("Course not found");
+        }
+
+        List<SectionTopic> targets = new ArrayList<>();
+        for (Section section : course.getSections()) {
+            String topic = topicsBySection == null || topicsBySection.isEmpty()
+                    ? section.getTitle()
+                    : topicsBySection.get(section.getId());
+            if (topic != null && !topic.isBlank()) {
+                targets.add(new SectionTopic(section.getId(), topic));
+            }
+        }
+        if (targets.isEmpty()) {
+            throw new RuntimeException("No sections to generate quizzes for");
+        }
+
+        // Each section waits at most sectionDeadline once its call starts; a timed-out
+        // generation keeps running and lands in the cache for the next attempt
+        Semaphore permits = new Semaphore(fanOutConcurrency);
+        List<Future<GeneratedQuestions>> futures = new ArrayList<>(targets.size());
+        try (ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (SectionTopic target : targets) {
+                futures.add(fanOut.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return questionsFor(target.topic(), numQuestions).future()
+                                .get(sectionDeadline.toMillis(), TimeUnit.MILLISECONDS);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        Map<String, List<Quiz>> quizzesBySection = new LinkedHashMap<>();
+        List<Map<String, String>> generated = new ArrayList<>();
+        List<Map<String, String>> failures = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            SectionTopic target = targets.get(i);
+            try {
+                Quiz quiz = buildQuiz(target.topic(), futures.get(i).get(), timeLimitSeconds);
+                quizzesBySection.computeIfAbsent(target.sectionId(), k -> new ArrayList<>()).add(quiz);
+                generated.add(Map.of("sectionId", target.sectionId(), "quizId", quiz.getId()));
+            } catch (Exception e) {
+                Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof ExecutionException && cause.getCause() != null) cause = cause.getCause();
+                String error = cause instanceof TimeoutException
+                        ? "Timed out after " + sectionDeadline.toSeconds() + "s"
+                        : String.valueOf(cause.getMessage());
+                System.err.println("❌ Quiz generation failed for section " + target.sectionId() + ": " + error);
+                failures.add(Map.of("sectionId", target.sectionId(), "error", error));
+            }
+        }
+
+        Course updated = null;
+        if (!quizzesBySection.isEmpty()) {
+            // One atomic update for every section that received a quiz
+            Update update = new Update();
+            int alias = 0;
+            for (Map.Entry<String, List<Quiz>> entry : quizzesBySection.entrySet()) {
+                String name = "s" + alias++;
+                update.push("sections.$[" + name + "].quizzes").each(entry.getValue().toArray());
+                update.filterArray(Criteria.where(name + ".id").is(entry.getKey()));
+            }
+            updated = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(courseId)),
+                    update,
+                    FindAndModifyOptions.options().returnNew(true),
+                    Course.class);
+        }
+
+        System.out.println("✅ Course-wide quiz generation for " + courseId + ": " + generated.size()
+                + " generated, " + failures.size() + " failed");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("course", updated);
+        result.put("generated", generated);
+        result.put("failed", failures);
+        return result;
+    }
+
+    public QuizGenerationJob getJob(String jobId) {
+        QuizGenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Quiz generation job not found");
+        }
+        return job;
+    }
+
+    // Finished jobs are kept for an hour so slow pollers still see the outcome
+    @Scheduled(fixedDelay = 600_000)
+    public void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Cached (or in-flight) questions for the topic; starts one generation on a miss
+    private Lookup questionsFor(String topic, int numQuestions) {
+        String key = cacheKey(topic, numQuestions);
+        long now = System.nanoTime();
+        CachedQuestions cached = cache.get(key);
+        if (cached != null && !cached.isExpired(now, cacheTtl)) {
+            return new Lookup(cached.future(), true);
+        }
+
+        if (cache.size() >= maxCacheSize) {
+            cache.clear();
+        }
+        CachedQuestions fresh = new CachedQuestions(new CompletableFuture<>(), now);
+        CachedQuestions winner = cache.compute(key, (k, existing) ->
+                existing == null || existing.isExpired(now, cacheTtl) ? fresh : existing);
+        if (winner != fresh) {
+            return new Lookup(winner.future(), true);
+        }
+
+        executor.execute(() -> {
+            try {
+                fresh.future().complete(fetchQuestions(topic, numQuestions));
+            } catch (Exception e) {
+                // Failures are not cached; the next request retries
+                cache.remove(key, fresh);
+                fresh.future().completeExceptionally(e);
+            }
+        });
+        return new Lookup(fresh.future(), false);
+    }
+
+    private GeneratedQuestions fetchQuestions(String topic, int numQuestions) throws IOException, InterruptedException {
+        if (perplexityApiKey == null || perplexityApiKey.isBlank()) {
+            System.out.println("⚠️  Perplexity API key not configured. Using mock quiz generator for testing.");
+            return new GeneratedQuestions(mockQuestions(topic, numQuestions), true);
+        }
+
+        String prompt = String.format(
+                "Generate %d multiple-choice questions (4 options each) about the topic: %s. " +
+                "Return a JSON object with key 'questions' which is an array of objects {question, options, correctOptionIndex, explanation}. " +
+                "Do not include any extra text outside JSON.",
+                numQuestions, topic
+        );
+        byte[] payload = objectMapper.writeValueAsBytes(Map.of("prompt", prompt, "max_questions", numQuestions));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(perplexityApiUrl))
+                .timeout(requestTimeout)
+                .header("Authorization", "Bearer " + perplexityApiKey)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+                .build();
+
+        remoteCalls.acquire();
+        long started = System.nanoTime();
+        String outcome = "ERROR";
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() >= 400) {
+                    throw new RuntimeException("AI API returned HTTP " + response.statusCode());
+                }
+                GeneratedQuestions generated = new GeneratedQuestions(parseQuestions(body), false);
+                outcome = "SUCCESS";
+                return generated;
+            }
+        } finally {
+            remoteCalls.release();
+            long elapsed = System.nanoTime() - started;
+            Timer.builder(AI_TIMER).description("AI quiz generation calls").tag("outcome", outcome)
+                    .register(meterRegistry).record(elapsed, TimeUnit.NANOSECONDS);
+            RequestTiming.record(RequestTiming.AI, elapsed);
+        }
+    }
+
+    // Streams the response: only one question object is materialized at a time
+    private List<QuizQuestion> parseQuestions(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                if (!seekArrayField(parser, "questions")) {
+                    throw new RuntimeException("AI response did not include a 'questions' array");
+                }
+            } else if (token != JsonToken.START_ARRAY) {
+                throw new RuntimeException("AI response did not include a 'questions' array");
+            }
+
+            List<QuizQuestion> questions = new ArrayList<>();
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonNode qn = parser.readValueAsTree();
+                QuizQuestion qq = new QuizQuestion();
+                qq.setQuestion(qn.path("question").asText(""));
+                List<String> opts = new ArrayList<>();
+                for (JsonNode on : qn.path("options")) {
+                    opts.add(on.asText());
+                }
+                qq.setOptions(opts);
+                qq.setCorrectOptionIndex(qn.path("correctOptionIndex").asInt(0));
+                qq.setExplanation(qn.path("explanation").asText(null));
+                questions.add(qq);
+            }
+            return questions;
+        }
+    }
+
+    // Advances to the value of a top-level array field, skipping everything before it
+    private static boolean seekArrayField(JsonParser parser, String field) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (field.equals(name) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    // 🟢 Mock questions for testing when the API is not configured
+    private static List<QuizQuestion> mockQuestions(String topic, int numQuestions) {
+        String[][] questionTemplates = {
+            {
+                "What is the primary definition of " + topic + "?",
+                "A fundamental concept in " + topic,
+                "An advanced technique in " + topic,
+                "A historical reference to " + topic,
+                "A modern interpretation of " + topic
+            },
+            {
+                "Which of the following is a key characteristic of " + topic + "?",
+                "It focuses on efficiency and speed",
+                "It emphasizes scalability and flexibility",
+                "It prioritizes security and reliability",
+                "It combines all of the above"
+            },
+            {
+                "How is " + topic + " typically implemented?",
+                "Through a top-down approach",
+                "Using a bottom-up methodology",
+                "By iterative development cycles",
+                "By waterfall project management"
+            },
+            {
+                "What is one major advantage of " + topic + "?",
+                "Reduces complexity significantly",
+                "Improves performance and throughput",
+                "Enhances user experience",
+                "Lowers overall costs"
+            },
+            {
+                "Which field or industry benefits most from " + topic + "?",
+                "Software development",
+                "Data science and analytics",
+                "Cloud computing",
+                "All fields that require structured solutions"
+            }
+        };
+
+        List<QuizQuestion> qlist = new ArrayList<>();
+        for (int i = 0; i < Math.min(numQuestions, questionTemplates.length); i++) {
+            String[] template = questionTemplates[i];
+
+            QuizQuestion qq = new QuizQuestion();
+            qq.setQuestion(template[0]);
+            qq.setOptions(List.of(template[1], template[2], template[3], template[4]));
+            qq.setCorrectOptionIndex((i + 1) % 4); // Rotate correct answer position
+            qq.setExplanation("This is a sample question generated without API access. To enable real AI-generated questions with " + topic + ", configure your Perplexity API key in the server environment.");
+            qlist.add(qq);
+        }
+        return qlist;
+    }
+
+    // Cached questions are shared templates; every quiz gets its own copies and ids
+    private static Quiz buildQuiz(String topic, GeneratedQuestions generated, Integer timeLimitSeconds) {
+        Quiz quiz = new Quiz();
+        quiz.setId(UUID.randomUUID().toString());
+        quiz.setTitle("Quiz: " + topic);
+        quiz.setDescription("Auto-generated quiz on: " + topic + (generated.mock() ? " (Mock - API not configured)" : ""));
+        quiz.setPassingScore(70);
+        quiz.setIsPublished(true);
+        quiz.setGeneratedByAI(true);
+        quiz.setTimeLimitSeconds(timeLimitSeconds);
+
+        List<QuizQuestion> questions = new ArrayList<>(generated.questions().size());
+        for (QuizQuestion template : generated.questions()) {
+            QuizQuestion qq = new QuizQuestion(UUID.randomUUID().toString(), template.getQuestion());
+            qq.setOptions(new ArrayList<>(template.getOptions()));
+            qq.setCorrectOptionIndex(template.getCorrectOptionIndex());
+            qq.setExplanation(template.getExplanation());
+            questions.add(qq);
+        }
+        quiz.setQuestions(questions);
+        return quiz;
+    }
+
+    private void requireSection(String courseId, String sectionId) {
+        Query section = Query.query(Criteria.where("_id").is(courseId).and("sections.id").is(sectionId));
+        if (!mongoTemplate.exists(section, Course.class)) {
+            boolean courseExists = mongoTemplate.exists(Query.query(Criteria.where("_id").is(courseId)), Course.class);
+            throw new RuntimeException(courseExists ? "Section not found" : "Course not found");
+        }
+    }
+
+    private static GeneratedQuestions await(CompletableFuture<GeneratedQuestions> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("Failed to generate quiz from AI: " + cause.getMessage(), cause);
+        }
+    }
+
+    static String cacheKey(String topic, int numQuestions) {
+        String normalized = topic == null ? "" : topic.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized + "|" + numQuestions;
+    }
+
+    private record GeneratedQuestions(List<QuizQuestion> questions, boolean mock) {}
+
+    private record CachedQuestions(CompletableFuture<GeneratedQuestions> future, long createdAtNanos) {
+        boolean isExpired(long nowNanos, Duration ttl) {
+            return nowNanos - createdAtNanos > ttl.toNanos();
+        }
+    }
+
+    private record SectionTopic(String sectionId, String topic) {}
+
+    private record Lookup(CompletableFuture<GeneratedQuestions> future, boolean shared) {}
+}
@@ -0,0 +1,429 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.CompactAnswers;
+import com.skill_forge.infy_intern.model.QuizItemStats;
+import com.skill_forge.infy_intern.model.QuizResponse;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Per-question item analysis for quizzes: difficulty, discrimination and distractor counts.
+ *
+ * Counters live in primitive arrays and are updated as each submission is graded. Each
+ * instance only keeps the counts it has not saved yet and adds them to the shared
+ * {@code quiz_item_stats} snapshot with $inc on a schedule, so instances never overwrite each
+ * other; reports merge the snapshot with the local unsaved counts. A snapshot is tied to a
+ * hash of the answer key it was counted against and starts over when the quiz is edited.
+ * Discrimination compares the upper and lower ~27% of responses, approximated with
+ * per-score-decile correct counts so it can be maintained incrementally. A rebuild
+ * recomputes a quiz from {@code quiz_responses} by counting cursor batches in parallel and
+ * merging the partial counters.
+ */
+@Service
+public class QuizItemAnalysisService {
+
+    private static final int BUCKETS = 10;
+    private static final double GROUP_FRACTION = 0.27;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int REBUILD_PARALLELISM = 4;
+
+    private final MongoTemplate mongoTemplate;
+    private final QuizAnswerKeyCache answerKeyCache;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public QuizItemAnalysisService(MongoTemplate mongoTemplate, QuizAnswerKeyCache answerKeyCache) {
+        this.mongoTemplate = mongoTemplate;
+        this.answerKeyCache = answerKeyCache;
+    }
+
+    // Called for every graded submission
+    public void record(String courseId, String sectionId, String quizId,
+                       QuizAnswerKeyCache.AnswerKey answerKey, CompactAnswers answers, int score) {
+        countersFor(courseId, sectionId, quizId, answerKey).add(answers, answerKey.correctOptions(), score);
+    }
+
+    public Map<String, Object> getStats(String courseId, String sectionId, String quizId) {
+        QuizAnswerKeyCache.AnswerKey answerKey = answerKeyCache.get(courseId, sectionId, quizId);
+        String key = key(courseId, sectionId, quizId);
+        Counters view = new Counters(answerKey.questionCount(), Math.max(1, answerKey.maxOptions()), answerKeyHash(answerKey));
+
+        QuizItemStats snapshot = mongoTemplate.findById(key, QuizItemStats.class);
+        if (snapshot != null && view.matches(snapshot.getQuestionCount(), snapshot.getOptionStride(), snapshot.getAnswerKeyHash())) {
+            view.merge(Counters.fromSnapshot(snapshot));
+        }
+        Counters unsaved = counters.get(key);
+        if (unsaved != null && unsaved.matches(view.questions, view.stride, view.keyHash)) {
+            view.merge(unsaved.copy());
+        }
+        return view.report(answerKey.correctOptions());
+    }
+
+    // 🟢 Recompute a quiz's counters from every stored response
+    public Map<String, Object> rebuild(String courseId, String sectionId, String quizId) {
+        QuizAnswerKeyCache.AnswerKey answerKey = answerKeyCache.get(courseId, sectionId, quizId);
+        int[] correct = answerKey.correctOptions();
+        int stride = Math.max(1, answerKey.maxOptions());
+        int keyHash = answerKeyHash(answerKey);
+
+        Query query = Query.query(Criteria.where("courseId").is(courseId)
+                .and("sectionId").is(sectionId)
+                .and("quizId").is(quizId));
+        query.fields().include("answers", "score");
+        query.cursorBatchSize(REBUILD_BATCH_SIZE);
+
+        Counters total = new Counters(correct.length, stride, keyHash);
+        Semaphore inFlight = new Semaphore(REBUILD_PARALLELISM);
+        List<Future<Counters>> partials = new ArrayList<>();
+        try (Stream<QuizResponse> responses = mongoTemplate.stream(query, QuizResponse.class);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<QuizResponse> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+            for (QuizResponse response : (Iterable<QuizResponse>) responses::iterator) {
+                batch.add(response);
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    partials.add(submitBatch(executor, inFlight, batch, correct, stride, keyHash));
+                    batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                partials.add(submitBatch(executor, inFlight, batch, correct, stride, keyHash));
+            }
+            for (Future<Counters> partial : partials) {
+                total.merge(partial.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Rebuild interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Rebuild failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        // The snapshot is replaced; unsaved counts on this instance are already in the total.
+        // Other instances may still add the few submissions they graded while the scan ran.
+        String key = key(courseId, sectionId, quizId);
+        Counters unsaved = counters.get(key);
+        if (unsaved != null) unsaved.drain();
+        mongoTemplate.save(total.toSnapshot(key, courseId, sectionId, quizId));
+        return total.report(correct);
+    }
+
+    @Scheduled(fixedDelayString = "${skillforge.quiz-stats.snapshot-ms:30000}")
+    public void snapshotDirty() {
+        counters.forEach((key, value) -> {
+            if (value.dirty) {
+                try {
+                    flush(key, value);
+                } catch (RuntimeException e) {
+                    System.err.println("❌ Quiz stats snapshot failed for " + key + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    private Future<Counters> submitBatch(ExecutorService executor, Semaphore inFlight,
+                                         List<QuizResponse> batch, int[] correct, int stride, int keyHash) throws InterruptedException {
+        inFlight.acquire();
+        return executor.submit(() -> {
+            try {
+                Counters partial = new Counters(correct.length, stride, keyHash);
+                for (QuizResponse response : batch) {
+                    CompactAnswers answers = response.getAnswers() == null ? CompactAnswers.empty() : response.getAnswers();
+                    partial.add(answers, correct, response.getScore() == null ? 0 : response.getScore());
+                }
+                return partial;
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private Counters countersFor(String courseId, String sectionId, String quizId, QuizAnswerKeyCache.AnswerKey answerKey) {
+        String key = key(courseId, sectionId, quizId);
+        int questions = answerKey.questionCount();
+        int stride = Math.max(1, answerKey.maxOptions());
+        int keyHash = answerKeyHash(answerKey);
+
+        Counters current = counters.get(key);
+        if (current != null && current.matches(questions, stride, keyHash)) return current;
+
+        Counters fresh = new Counters(questions, stride, keyHash);
+        if (current == null) {
+            Counters raced = counters.putIfAbsent(key, fresh);
+            return raced != null ? raced : fresh;
+        }
+        // The quiz was edited: unsaved counts against the old answer key are dropped
+        counters.replace(key, current, fresh);
+        return counters.get(key);
+    }
+
+    // Adds the unsaved counts to the shared snapshot; they are put back if the write fails
+    void flush(String key, Counters value) {
+        Counters delta = value.drain();
+        if (delta.responses == 0) return;
+        try {
+            Query sameKey = Query.query(Criteria.where("_id").is(key)
+                    .and("answerKeyHash").is(delta.keyHash)
+                    .and("questionCount").is(delta.questions)
+                    .and("optionStride").is(delta.stride));
+            if (mongoTemplate.updateFirst(sameKey, delta.increments(), QuizItemStats.class).getMatchedCount() > 0) return;
+
+            // No snapshot yet, or it was counted against another answer key: start over from this delta
+            String[] parts = key.split(":", 3);
+            try {
+                mongoTemplate.upsert(Query.query(Criteria.where("_id").is(key).and("answerKeyHash").ne(delta.keyHash)),
+                        delta.replacement(parts[0], parts[1], parts[2]), QuizItemStats.class);
+            } catch (DuplicateKeyException e) {
+                // Another instance created the snapshot for this answer key first
+                mongoTemplate.updateFirst(sameKey, delta.increments(), QuizItemStats.class);
+            }
+        } catch (RuntimeException e) {
+            value.merge(delta);
+            throw e;
+        }
+    }
+
+    // Counters are only comparable when counted against the same correct options and layout
+    static int answerKeyHash(QuizAnswerKeyCache.AnswerKey answerKey) {
+        return 31 * Arrays.hashCode(answerKey.correctOptions()) + Math.max(1, answerKey.maxOptions());
+    }
+
+    private static String key(String courseId, String sectionId, String quizId) {
+        return courseId + ":" + sectionId + ":" + quizId;
+    }
+
+    static final class Counters {
+        final int questions;
+        final int stride;
+        final int keyHash;
+        long responses;
+        long scoreSum;
+        final int[] bucketTotals = new int[BUCKETS];
+        final int[] correctByBucket;
+        final int[] optionCounts;
+        final int[] unanswered;
+        volatile boolean dirty;
+
+        Counters(int questions, int stride, int keyHash) {
+            this.questions = questions;
+            this.stride = stride;
+            this.keyHash = keyHash;
+            this.correctByBucket = new int[questions * BUCKETS];
+            this.optionCounts = new int[questions * stride];
+            this.unanswered = new int[questions];
+        }
+
+        boolean matches(int questions, int stride, int keyHash) {
+            return this.questions == questions && this.stride == stride && this.keyHash == keyHash;
+        }
+
+        synchronized void add(CompactAnswers answers, int[] correct, int score) {
+            int bucket = bucket(score);
+            responses++;
+            scoreSum += score;
+            bucketTotals[bucket]++;
+            for (int q = 0; q < questions; q++) {
+                int selected = answers.get(q);
+                if (selected == CompactAnswers.UNANSWERED) {
+                    unanswered[q]++;
+                    continue;
+                }
+                if (selected < stride) optionCounts[q * stride + selected]++;
+                if (selected == correct[q]) correctByBucket[q * BUCKETS + bucket]++;
+            }
+            dirty = true;
+        }
+
+        synchronized void merge(Counters other) {
+            responses += other.responses;
+            scoreSum += other.scoreSum;
+            addInto(bucketTotals, other.bucketTotals);
+            addInto(correctByBucket, other.correctByBucket);
+            addInto(optionCounts, other.optionCounts);
+            addInto(unanswered, other.unanswered);
+            dirty = true;
+        }
+
+        synchronized Counters copy() {
+            Counters copy = new Counters(questions, stride, keyHash);
+            copy.merge(this);
+            copy.dirty = false;
+            return copy;
+        }
+
+        // Returns the counts so far and resets these counters to zero
+        synchronized Counters drain() {
+            Counters drained = copy();
+            responses = 0;
+            scoreSum = 0;
+            Arrays.fill(bucketTotals, 0);
+            Arrays.fill(correctByBucket, 0);
+            Arrays.fill(optionCounts, 0);
+            Arrays.fill(unanswered, 0);
+            dirty = false;
+            return drained;
+        }
+
+        // $inc of every non-zero counter, for adding this delta to an existing snapshot
+        synchronized Update increments() {
+            Update update = new Update()
+                    .inc("responses", responses)
+                    .inc("scoreSum", scoreSum)
+                    .set("updatedAt", Instant.now());
+            incNonZero(update, "bucketTotals", bucketTotals);
+            incNonZero(update, "correctByBucket", correctByBucket);
+            incNonZero(update, "optionCounts", optionCounts);
+            incNonZero(update, "unanswered", unanswered);
+            return update;
+        }
+
+        // Every field of a snapshot holding just these counts
+        synchronized Update replacement(String courseId, String sectionId, String quizId) {
+            return new Update()
+                    .set("courseId", courseId)
+                    .set("sectionId", sectionId)
+                    .set("quizId", quizId)
+                    .set("questionCount", questions)
+                    .set("optionStride", stride)
+                    .set("answerKeyHash", keyHash)
+                    .set("responses", responses)
+                    .set("scoreSum", scoreSum)
+                    .set("bucketTotals", bucketTotals.clone())
+                    .set("correctByBucket", correctByBucket.clone())
+                    .set("optionCounts", optionCounts.clone())
+                    .set("unanswered", unanswered.clone())
+                    .set("updatedAt", Instant.now());
+        }
+
+        synchronized Map<String, Object> report(int[] correct) {
+            int lowerEnd = groupEnd(true);
+            int upperStart = groupEnd(false);
+            int lowerCount = sum(bucketTotals, 0, lowerEnd);
+            int upperCount = sum(bucketTotals, upperStart, BUCKETS);
+
+            List<Map<String, Object>> items = new ArrayList<>(questions);
+            for (int q = 0; q < questions; q++) {
+                int correctTotal = sum(correctByBucket, q * BUCKETS, q * BUCKETS + BUCKETS);
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("question", q);
+                item.put("correctOption", correct[q] == QuizAnswerKeyCache.NO_CORRECT_OPTION ? null : correct[q]);
+                item.put("difficulty", ratio(correctTotal, responses));
+                item.put("discrimination", responses == 0 ? null : round(
+                        ratio(sum(correctByBucket, q * BUCKETS + upperStart, q * BUCKETS + BUCKETS), upperCount)
+                                - ratio(sum(correctByBucket, q * BUCKETS, q * BUCKETS + lowerEnd), lowerCount)));
+                item.put("unanswered", unanswered[q]);
+
+                List<Map<String, Object>> options = new ArrayList<>(stride);
+                for (int o = 0; o < stride; o++) {
+                    Map<String, Object> option = new LinkedHashMap<>();
+                    option.put("option", o);
+                    option.put("count", optionCounts[q * stride + o]);
+                    option.put("share", ratio(optionCounts[q * stride + o], responses));
+                    option.put("correct", o == correct[q]);
+                    options.add(option);
+                }
+                item.put("options", options);
+                items.add(item);
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("responses", responses);
+            result.put("averageScore", ratio(scoreSum, responses));
+            result.put("questions", items);
+            return result;
+        }
+
+        // Buckets [0, end) for the lower group, or the start bucket of the upper group
+        private int groupEnd(boolean lower) {
+            long target = (long) Math.ceil(responses * GROUP_FRACTION);
+            long seen = 0;
+            if (lower) {
+                int b = 0;
+                while (b < BUCKETS && seen < target) seen += bucketTotals[b++];
+                return b;
+            }
+            int b = BUCKETS;
+            while (b > 0 && seen < target) seen += bucketTotals[--b];
+            return b;
+        }
+
+        synchronized QuizItemStats toSnapshot(String id, String courseId, String sectionId, String quizId) {
+            QuizItemStats snapshot = new QuizItemStats();
+            snapshot.setId(id);
+            snapshot.setCourseId(courseId);
+            snapshot.setSectionId(sectionId);
+            snapshot.setQuizId(quizId);
+            snapshot.setQuestionCount(questions);
+            snapshot.setOptionStride(stride);
+            snapshot.setAnswerKeyHash(keyHash);
+            snapshot.setResponses(responses);
+            snapshot.setScoreSum(scoreSum);
+            snapshot.setBucketTotals(bucketTotals.clone());
+            snapshot.setCorrectByBucket(correctByBucket.clone());
+            snapshot.setOptionCounts(optionCounts.clone());
+            snapshot.setUnanswered(unanswered.clone());
+            snapshot.setUpdatedAt(Instant.now());
+            return snapshot;
+        }
+
+        static Counters fromSnapshot(QuizItemStats snapshot) {
+            Counters counters = new Counters(snapshot.getQuestionCount(), snapshot.getOptionStride(), snapshot.getAnswerKeyHash());
+            counters.responses = snapshot.getResponses();
+            counters.scoreSum = snapshot.getScoreSum();
+            copyInto(counters.bucketTotals, snapshot.getBucketTotals());
+            copyInto(counters.correctByBucket, snapshot.getCorrectByBucket());
+            copyInto(counters.optionCounts, snapshot.getOptionCounts());
+            copyInto(counters.unanswered, snapshot.getUnanswered());
+            return counters;
+        }
+
+        private static int bucket(int score) {
+            return Math.max(0, Math.min(BUCKETS - 1, score / (100 / BUCKETS)));
+        }
+
+        private static void addInto(int[] target, int[] source) {
+            for (int i = 0; i < target.length; i++) target[i] += source[i];
+        }
+
+        private static void incNonZero(Update update, String field, int[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != 0) update.inc(field + "." + i, values[i]);
+            }
+        }
+
+        private static void copyInto(int[] target, int[] source) {
+            if (source != null) System.arraycopy(source, 0, target, 0, Math.min(target.length, source.length));
+        }
+
+        private static int sum(int[] values, int from, int to) {
+            int total = 0;
+            for (int i = from; i < to; i++) total += values[i];
+            return total;
+        }
+
+        private static double ratio(long part, long whole) {
+            return whole == 0 ? 0.0 : round(part / (double) whole);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Enrollment;
+import com.skill_forge.infy_intern.model.VideoEntity;
+import com.skill_forge.infy_intern.repository.ReactiveCourseRepository;
+import com.skill_forge.infy_intern.repository.ReactiveEnrollmentRepository;
+import com.skill_forge.infy_intern.repository.ReactiveVideoRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Student-facing reads (catalog, course player, my courses) on the reactive Mongo driver.
+ *
+ * No thread is held while Mongo works: documents are pulled from the cursor as the
+ * response is written (demand-driven, so a slow client slows the cursor instead of
+ * buffering the collection). Everything that writes stays on the blocking services.
+ */
+@Service
+public class StudentCatalogService {
+
+    private final ReactiveCourseRepository courses;
+    private final ReactiveVideoRepository videos;
+    private final ReactiveEnrollmentRepository enrollments;
+    private final ProgressWriteBuffer progressWriteBuffer;
+
+    public StudentCatalogService(ReactiveCourseRepository courses, ReactiveVideoRepository videos,
+                                 ReactiveEnrollmentRepository enrollments, ProgressWriteBuffer progressWriteBuffer) {
+        this.courses = courses;
+        this.videos = videos;
+        this.enrollments = enrollments;
+        this.progressWriteBuffer = progressWriteBuffer;
+    }
+
+    // 🟢 Every course in the catalog
+    public Flux<Course> browseCourses() {
+        return courses.findAll();
+    }
+
+    public Mono<Course> getCourse(String courseId) {
+        return courses.findById(courseId);
+    }
+
+    public Flux<VideoEntity> getCourseVideos(String courseId) {
+        return videos.findByCourseId(courseId);
+    }
+
+    // 🟢 The student's enrollments, with progress still in the write-behind buffer applied
+    public Flux<Enrollment> getMyCourses(String email) {
+        return enrollments.findByStudentEmail(email).map(progressWriteBuffer::overlay);
+    }
+}
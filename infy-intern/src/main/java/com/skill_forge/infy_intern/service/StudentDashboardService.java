@@ -0,0 +1,139 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Enrollment;
+import com.skill_forge.infy_intern.model.QuizResponse;
+import com.skill_forge.infy_intern.model.Section;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds the whole student dashboard in one request.
+ *
+ * Enrollments and recent quiz results are fetched concurrently on virtual threads, then
+ * the enrolled courses are loaded with one projected {@code $in} query. This replaces the
+ * client-side waterfall of my-courses, per-course and per-course-videos calls.
+ */
+@Service
+public class StudentDashboardService {
+
+    private static final int RECENT_QUIZ_RESULTS = 5;
+
+    private final StudentService studentService;
+    private final MongoTemplate mongoTemplate;
+
+    public StudentDashboardService(StudentService studentService, MongoTemplate mongoTemplate) {
+        this.studentService = studentService;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Map<String, Object> getDashboard(String email) {
+        List<Enrollment> enrollments;
+        List<QuizResponse> recentResults;
+        Map<String, Course> courses;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<Enrollment>> enrollmentsFuture = executor.submit(() -> studentService.getMyCourses(email));
+            Future<List<QuizResponse>> resultsFuture = executor.submit(() -> findRecentResults(email));
+
+            enrollments = enrollmentsFuture.get();
+            Future<Map<String, Course>> coursesFuture = executor.submit(() -> findCourseSummaries(enrollments));
+            recentResults = resultsFuture.get();
+            courses = coursesFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dashboard loading interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Dashboard loading failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        int completed = 0;
+        double progressSum = 0;
+        for (Enrollment enrollment : enrollments) {
+            Course course = courses.get(enrollment.getCourseId());
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("enrollment", enrollment);
+            item.put("course", course);
+            item.put("nextItem", nextItem(enrollment, course));
+            items.add(item);
+
+            progressSum += enrollment.getProgress();
+            if (enrollment.getProgress() >= 100 || "Completed".equals(enrollment.getStatus())) completed++;
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enrolledCourses", enrollments.size());
+        stats.put("completedCourses", completed);
+        stats.put("averageProgress", enrollments.isEmpty() ? 0.0 : Math.round(progressSum * 10 / enrollments.size()) / 10.0);
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put("stats", stats);
+        dashboard.put("courses", items);
+        dashboard.put("recentQuizResults", recentResults);
+        return dashboard;
+    }
+
+    private List<QuizResponse> findRecentResults(String email) {
+        Query query = Query.query(Criteria.where("studentEmail").is(email))
+                .with(Sort.by(Sort.Direction.DESC, "submittedAt"))
+                .limit(RECENT_QUIZ_RESULTS);
+        query.fields().exclude("answers");
+        return mongoTemplate.find(query, QuizResponse.class);
+    }
+
+    // Card-level course data plus the outline ids/titles needed to point at the next lecture
+    private Map<String, Course> findCourseSummaries(List<Enrollment> enrollments) {
+        Map<String, Course> courses = new HashMap<>();
+        if (enrollments.isEmpty()) return courses;
+
+        List<String> ids = enrollments.stream().map(Enrollment::getCourseId).distinct().toList();
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("title", "instructorName", "thumbnail", "category", "level", "videoCount",
+                "sections.id", "sections.title",
+                "sections.lectures.id", "sections.lectures.title",
+                "sections.quizzes.id", "sections.quizzes.title");
+        for (Course course : mongoTemplate.find(query, Course.class)) {
+            courses.put(course.getId(), course);
+        }
+        return courses;
+    }
+
+    // Stored resume pointer when there is one, otherwise the course's first lecture
+    private Map<String, Object> nextItem(Enrollment enrollment, Course course) {
+        if (enrollment.getNextItemId() != null) {
+            Map<String, Object> next = new LinkedHashMap<>();
+            next.put("sectionId", enrollment.getNextSectionId());
+            next.put("itemId", enrollment.getNextItemId());
+            next.put("itemType", enrollment.getNextItemType());
+            return next;
+        }
+        if (course == null || enrollment.getLastItemId() != null) return null;
+        for (Section section : course.getSections()) {
+            for (Object lecture : section.getLectures()) {
+                if (lecture instanceof Map<?, ?> map && map.get("id") != null) {
+                    Map<String, Object> next = new LinkedHashMap<>();
+                    next.put("sectionId", section.getId());
+                    next.put("itemId", map.get("id"));
+                    next.put("itemType", CompletionService.LECTURE);
+                    next.put("title", map.get("title"));
+                    return next;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -2,66 +2,157 @@ package com.skill_forge.infy_intern.service;
 
 import com.skill_forge.infy_intern.model.Course;
 import com.skill_forge.infy_intern.model.Enrollment;
-import com.skill_forge.infy_intern.repository.CourseRepository;
 import com.skill_forge.infy_intern.repository.EnrollmentRepository;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
 
 @Service
 public class StudentService {
 
-    private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final CourseService courseService;
+    private final ProgressWriteBuffer progressWriteBuffer;
+    private final CompletionService completionService;
+    private final QuizAttemptService quizAttemptService;
+    private final AnalyticsRollupService rollupService;
+    private final PlatformStatsService platformStats;
+    private final MongoTemplate mongoTemplate;
 
-    public StudentService(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository, CourseService courseService) {
-        this.courseRepository = courseRepository;
+    public StudentService(EnrollmentRepository enrollmentRepository,
+                          CourseService courseService, ProgressWriteBuffer progressWriteBuffer,
+                          CompletionService completionService, QuizAttemptService quizAttemptService,
+                          AnalyticsRollupService rollupService, PlatformStatsService platformStats,
+                          MongoTemplate mongoTemplate) {
         this.enrollmentRepository = enrollmentRepository;
         this.courseService = courseService;
-    }
-
-    public List<Course> browseCourses() {
-        return courseRepository.findAll();
+        this.progressWriteBuffer = progressWriteBuffer;
+        this.completionService = completionService;
+        this.quizAttemptService = quizAttemptService;
+        this.rollupService = rollupService;
+        this.platformStats = platformStats;
+        this.mongoTemplate = mongoTemplate;
     }
 
     public List<Enrollment> getMyCourses(String email) {
-        return enrollmentRepository.findByStudentEmail(email);
+        List<Enrollment> enrollments = enrollmentRepository.findByStudentEmail(email);
+        // Overlay heartbeats that are still waiting in the write-behind buffer
+        enrollments.forEach(progressWriteBuffer::overlay);
+        return enrollments;
     }
 
-    public String enrollInCourse(String email, String courseId) {
-        var courseOpt = courseRepository.findById(courseId);
-        if (courseOpt.isEmpty()) return "Course not found";
+    // Idempotent enrollment: one upsert on the unique (studentEmail, courseId) index.
+    // Repeated calls return the existing enrollment instead of creating a duplicate.
+    public Enrollment enrollInCourse(String email, String courseId) {
+        Course course = findEnrollmentSummary(courseId);
+        if (course == null) {
+            throw new RuntimeException("Course not found");
+        }
 
-        var course = courseOpt.get();
+        Query query = enrollmentQuery(email, courseId);
+        ObjectId newId = new ObjectId();
+        Update update = enrollmentUpsert(course).setOnInsert("_id", newId);
 
-        if (enrollmentRepository.findByStudentEmailAndCourseId(email, courseId).isPresent()) {
-            return "Already enrolled in this course";
+        Enrollment enrollment;
+        try {
+            enrollment = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Enrollment.class);
+        } catch (DuplicateKeyException e) {
+            // A concurrent request inserted the same enrollment first
+            enrollment = mongoTemplate.findOne(query, Enrollment.class);
         }
 
-        Enrollment enrollment = new Enrollment(email, courseId, course.getTitle(), course.getInstructorName());
-        enrollment.setThumbnail(course.getThumbnail()); // Include course thumbnail
-        enrollmentRepository.save(enrollment);
-        return "Enrolled successfully!";
+        if (enrollment != null && newId.toHexString().equals(enrollment.getId())) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(courseId)),
+                    new Update().inc("studentsCount", 1), Course.class);
+            rollupService.enrollmentsAdded(courseId, 1);
+            platformStats.enrollmentsAdded(1);
+        }
+        return enrollment;
     }
 
-    public String updateProgress(String email, String courseId, double progress) {
-        Enrollment enrollment = enrollmentRepository
-                .findByStudentEmailAndCourseId(email, courseId)
-                .orElseThrow(() -> new RuntimeException("Enrollment not found"));
+    // Only the fields an enrollment copies from its course
+    public Course findEnrollmentSummary(String courseId) {
+        Query query = Query.query(Criteria.where("_id").is(courseId));
+        query.fields().include("title", "instructorName", "thumbnail");
+        return mongoTemplate.findOne(query, Course.class);
+    }
 
-        enrollment.setProgress(progress);
-        enrollmentRepository.save(enrollment);
+    // Insert-only fields of an enrollment; matching documents are left untouched
+    public static Update enrollmentUpsert(Course course) {
+        return new Update()
+                .setOnInsert("courseTitle", course.getTitle())
+                .setOnInsert("instructorName", course.getInstructorName())
+                .setOnInsert("thumbnail", course.getThumbnail())
+                .setOnInsert("progress", 0.0)
+                .setOnInsert("status", "Enrolled");
+    }
+
+    public static Query enrollmentQuery(String email, String courseId) {
+        return Query.query(Criteria.where("studentEmail").is(email).and("courseId").is(courseId));
+    }
+
+    // Heartbeats are coalesced in ProgressWriteBuffer and written in bulk on the next flush.
+    // They move the player position (watchProgress) only; progress comes from completions.
+    public String updateProgress(String email, String courseId, double progress) {
+        if (!progressWriteBuffer.isEnrolled(email, courseId)) {
+            throw new RuntimeException("Enrollment not found");
+        }
+        progressWriteBuffer.record(email, courseId, progress);
         return "Progress updated successfully!";
     }
 
-    public Optional<Course> getCourseById(String courseId) {
-        return courseRepository.findById(courseId);
+    public java.util.Map<String, Object> completeItem(String email, String courseId, String itemId) {
+        return completionService.markCompleted(email, courseId, itemId);
+    }
+
+    public java.util.Map<String, Object> getResumePosition(String email, String courseId) {
+        return completionService.resumePosition(email, courseId);
+    }
+
+    // 🟢 Paginated quiz attempt history
+    public java.util.Map<String, Object> getQuizHistory(String studentEmail, String quizId, int page, int size) {
+        return courseService.getStudentQuizHistory(studentEmail, quizId, page, size);
     }
 
-    // Delegate grading to CourseService
-    public com.skill_forge.infy_intern.model.QuizResponse gradeQuiz(String courseId, String sectionId, String quizId, String studentEmail, java.util.Map<Integer,Integer> answers, Integer durationSeconds) {
-        return courseService.gradeQuizSubmission(courseId, sectionId, quizId, studentEmail, answers, durationSeconds);
+    // 🟢 Start a quiz attempt; every submission is graded against a started attempt
+    public com.skill_forge.infy_intern.model.QuizAttempt startQuizAttempt(String courseId, String sectionId, String quizId, String studentEmail) {
+        return quizAttemptService.start(studentEmail, courseId, sectionId, quizId);
+    }
+
+    // Delegate grading to CourseService; a passed quiz counts as a completed course item
+    public com.skill_forge.infy_intern.model.QuizResponse gradeQuiz(String courseId, String sectionId, String quizId, String studentEmail, com.skill_forge.infy_intern.model.CompactAnswers answers, String attemptId) {
+        if (attemptId == null || attemptId.isBlank()) {
+            throw new RuntimeException("Start the quiz before submitting");
+        }
+        // Closing the attempt first rejects duplicate and late submissions before grading;
+        // the duration is measured by the server, never taken from the client
+        com.skill_forge.infy_intern.model.QuizAttempt attempt = quizAttemptService.claimForSubmission(attemptId, studentEmail, courseId, sectionId, quizId);
+        com.skill_forge.infy_intern.model.QuizResponse resp;
+        try {
+            resp = courseService.gradeQuizSubmission(courseId, sectionId, quizId, studentEmail, answers,
+                    attempt.getId(), QuizAttemptService.durationSeconds(attempt));
+        } catch (RuntimeException e) {
+            // The response is saved last among the steps that can throw, so a failure here
+            // left nothing behind: give the attempt back and let the student submit again
+            quizAttemptService.reopen(attempt);
+            throw e;
+        }
+        if (Boolean.TRUE.equals(resp.getPassed())) {
+            try {
+                completionService.markCompleted(studentEmail, courseId, quizId);
+            } catch (RuntimeException e) {
+                // Grading must not fail because the student is not enrolled (e.g. instructor preview)
+                System.out.println("⚠️  Quiz completion not recorded: " + e.getMessage());
+            }
+        }
+        return resp;
     }
 }
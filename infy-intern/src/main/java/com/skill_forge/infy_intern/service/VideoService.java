@@ -14,10 +14,13 @@ public class VideoService {
 
     private final VideoRepository videoRepository;
     private final CloudinaryService cloudinaryService;
+    private final PlatformStatsService platformStats;
 
-    public VideoService(VideoRepository videoRepository, CloudinaryService cloudinaryService) {
+    public VideoService(VideoRepository videoRepository, CloudinaryService cloudinaryService,
+                        PlatformStatsService platformStats) {
         this.videoRepository = videoRepository;
         this.cloudinaryService = cloudinaryService;
+        this.platformStats = platformStats;
     }
 
     public VideoEntity uploadVideo(MultipartFile file, String title, String courseId, String uploadedBy) {
@@ -30,7 +33,10 @@ public class VideoService {
             
             VideoEntity video = new VideoEntity(title, videoUrl, courseId, uploadedBy);
             video.setThumbnail(thumbnailUrl);
-            return videoRepository.save(video);
+            video.setSizeBytes(file.getSize());
+            VideoEntity saved = videoRepository.save(video);
+            platformStats.videosAdded(1, file.getSize());
+            return saved;
         } catch (Exception e) {
             throw new RuntimeException("Video upload failed: " + e.getMessage());
         }
@@ -41,6 +47,9 @@ public class VideoService {
     }
 
     public void deleteVideo(String videoId) {
-        videoRepository.deleteById(videoId);
+        if (videoRepository.existsById(videoId)) {
+            videoRepository.deleteById(videoId);
+            platformStats.videoDeleted();
+        }
     }
 }
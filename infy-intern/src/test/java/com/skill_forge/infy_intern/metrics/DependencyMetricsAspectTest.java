@@ -0,0 +1,73 @@
+package com.skill_forge.infy_intern.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DependencyMetricsAspectTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final DependencyMetricsAspect aspect = new DependencyMetricsAspect(registry);
+
+	@AfterEach
+	void clear() {
+		RequestTiming.clear();
+	}
+
+	@Test
+	void reactiveCallIsTimedUntilThePublisherCompletes() throws Throwable {
+		RequestTiming timing = RequestTiming.start();
+		Object result = aspect.timeRepository(call("findById", Mono.just("course").delayElement(Duration.ofMillis(50))));
+		RequestTiming.clear();
+		assertThat(registry.find(DependencyMetricsAspect.REPOSITORY_TIMER).timer()).isNull();
+
+		assertThat(((Mono<?>) result).block()).isEqualTo("course");
+
+		Timer timer = registry.get(DependencyMetricsAspect.REPOSITORY_TIMER).tag("outcome", "SUCCESS").timer();
+		assertThat(timer.count()).isEqualTo(1);
+		assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+		assertThat(timing.spans()).singleElement().satisfies(span -> assertThat(span.ms()).isGreaterThanOrEqualTo(50));
+	}
+
+	@Test
+	void fluxErrorsAndCancellationsAreTagged() throws Throwable {
+		Flux<?> failing = (Flux<?>) aspect.timeRepository(call("findAll", Flux.error(new IllegalStateException("down"))));
+		Flux<?> endless = (Flux<?>) aspect.timeRepository(call("findAll", Flux.interval(Duration.ofMillis(1))));
+
+		failing.onErrorResume(e -> Flux.empty()).blockLast();
+		endless.take(3).blockLast();
+
+		assertThat(registry.get(DependencyMetricsAspect.REPOSITORY_TIMER)
+				.tag("outcome", "ERROR").tag("exception", "IllegalStateException").timer().count()).isEqualTo(1);
+		assertThat(registry.get(DependencyMetricsAspect.REPOSITORY_TIMER).tag("outcome", "CANCELLED").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void blockingCallIsTimedWhenItReturns() throws Throwable {
+		aspect.timeRepository(call("count", 3L));
+
+		assertThat(registry.get(DependencyMetricsAspect.REPOSITORY_TIMER).tag("method", "count").timer().count()).isEqualTo(1);
+	}
+
+	private static ProceedingJoinPoint call(String method, Object result) throws Throwable {
+		ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+		Signature signature = mock(Signature.class);
+		when(signature.getName()).thenReturn(method);
+		when(pjp.getSignature()).thenReturn(signature);
+		when(pjp.getThis()).thenReturn(new Object());
+		when(pjp.proceed()).thenReturn(result);
+		return pjp;
+	}
+}
@@ -0,0 +1,51 @@
+package com.skill_forge.infy_intern.metrics;
+
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingFilterTest {
+
+	private final SlowRequestLog slowRequestLog = new SlowRequestLog(0, 10);
+	private final RequestTimingFilter filter = new RequestTimingFilter(slowRequestLog, true);
+
+	@Test
+	void blockingRequestIsFinishedWhenTheChainReturns() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, (req, res) -> RequestTiming.record(RequestTiming.REPOSITORY, 1_000_000));
+
+		assertThat(slowRequestLog.slowest(10)).hasSize(1);
+		assertThat(response.getHeader("Server-Timing")).startsWith("repo;dur=1.0");
+	}
+
+	@Test
+	void asyncRequestIsFinishedWhenTheAsyncContextCompletes() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/student/browse");
+		request.setAsyncSupported(true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, (req, res) -> req.startAsync(req, res));
+		assertThat(slowRequestLog.slowest(10)).isEmpty();
+
+		// The Flux completed on a driver thread and the result is written on the async dispatch
+		MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+		Thread.sleep(20);
+		request.setDispatcherType(DispatcherType.ASYNC);
+		request.setAsyncStarted(false);
+		filter.doFilter(request, response, (req, res) -> RequestTiming.record(RequestTiming.SERIALIZATION, 1_000_000));
+		assertThat(slowRequestLog.slowest(10)).isEmpty();
+
+		asyncContext.complete();
+
+		assertThat(slowRequestLog.slowest(10)).singleElement().satisfies(slow -> {
+			assertThat(slow.totalMs()).isGreaterThanOrEqualTo(20);
+			assertThat(slow.spans()).extracting(RequestTiming.Span::name).containsExactly(RequestTiming.SERIALIZATION);
+		});
+	}
+}
@@ -0,0 +1,41 @@
+package com.skill_forge.infy_intern.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminUserServiceTest {
+
+	@Test
+	void plainValuesAreWrittenAsIs() {
+		assertThat(AdminUserService.csv("Ada Lovelace")).isEqualTo("Ada Lovelace");
+		assertThat(AdminUserService.csv("")).isEmpty();
+		assertThat(AdminUserService.csv(null)).isEmpty();
+	}
+
+	@Test
+	void separatorsQuotesAndLineBreaksAreQuoted() {
+		assertThat(AdminUserService.csv("Lovelace, Ada")).isEqualTo("\"Lovelace, Ada\"");
+		assertThat(AdminUserService.csv("the \"Enchantress\"")).isEqualTo("\"the \"\"Enchantress\"\"\"");
+		assertThat(AdminUserService.csv("line\nbreak")).isEqualTo("\"line\nbreak\"");
+		assertThat(AdminUserService.csv("line\rbreak")).isEqualTo("\"line\rbreak\"");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"=1+1", "+1", "-1", "@SUM(A1)", "\t=1+1"})
+	void formulaPrefixesAreNeutralised(String value) {
+		assertThat(AdminUserService.csv(value)).isEqualTo("'" + value);
+	}
+
+	@Test
+	void leadingCarriageReturnIsNeutralisedAndQuoted() {
+		assertThat(AdminUserService.csv("\r=1+1")).isEqualTo("\"'\r=1+1\"");
+	}
+
+	@Test
+	void neutralisedValueIsStillQuoted() {
+		assertThat(AdminUserService.csv("=HYPERLINK(\"x\",\"y\")")).isEqualTo("\"'=HYPERLINK(\"\"x\"\",\"\"y\"\")\"");
+	}
+}
@@ -0,0 +1,49 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.CourseRollup;
+import com.skill_forge.infy_intern.model.Role;
+import com.skill_forge.infy_intern.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalyticsRollupServiceTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final AnalyticsRollupService service = new AnalyticsRollupService(mongoTemplate);
+	private final CourseRollup rollup = new CourseRollup();
+
+	@BeforeEach
+	void storedRollup() {
+		rollup.setInstructorEmail("owner@x.dev");
+		when(mongoTemplate.findById("c1", CourseRollup.class)).thenReturn(rollup);
+	}
+
+	@Test
+	void instructorReadsOwnCourse() {
+		assertThat(service.getCourseRollup("c1", user("owner@x.dev", Role.INSTRUCTOR))).isSameAs(rollup);
+	}
+
+	@Test
+	void instructorCannotReadAnotherInstructorsCourse() {
+		assertThatThrownBy(() -> service.getCourseRollup("c1", user("other@x.dev", Role.INSTRUCTOR)))
+				.isInstanceOf(SecurityException.class);
+	}
+
+	@Test
+	void adminReadsAnyCourse() {
+		assertThat(service.getCourseRollup("c1", user("admin@x.dev", Role.ADMIN))).isSameAs(rollup);
+	}
+
+	private static User user(String email, Role role) {
+		User user = new User();
+		user.setEmail(email);
+		user.setRole(role);
+		return user;
+	}
+}
@@ -0,0 +1,146 @@
+package com.skill_forge.infy_intern.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Enrollment;
+import com.skill_forge.infy_intern.model.Quiz;
+import com.skill_forge.infy_intern.model.Section;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CompletionServiceTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final AnalyticsRollupService rollupService = mock(AnalyticsRollupService.class);
+	private final CompletionService service = new CompletionService(mongoTemplate, rollupService);
+
+	@Test
+	void countCompletedMasksBitsPastTheOutline() {
+		// Three items left after lectures were removed; bits 3 and 63 are stale
+		long[] words = {0b1011L | (1L << 63)};
+
+		assertThat(CompletionService.countCompleted(words, 3)).isEqualTo(2);
+		assertThat(CompletionService.countCompleted(new long[]{-1L, 0b1L}, 65)).isEqualTo(65);
+	}
+
+	@Test
+	void unchangedSinceMatchesAMissingWordAsZero() {
+		Document query = CompletionService.unchangedSince("s@x.dev", "c1", new long[]{0L, 5L}).getQueryObject();
+
+		assertThat(query.get("completion.0", Document.class).get("$in", List.class)).containsExactly(0L, null);
+		assertThat(query).containsEntry("completion.1", 5L);
+	}
+
+	@Test
+	void nextItemWrapsToTheStartOfTheCourse() {
+		course("l1", "l2", "q1");
+		enrollment(0b010L); // l2 done, l1 not
+		updated(1);
+
+		Map<String, Object> result = service.markCompleted("s@x.dev", "c1", "q1");
+
+		assertThat(result).containsEntry("completedItems", 2).containsEntry("progress", 66.7);
+		assertThat(((Map<?, ?>) result.get("next")).get("itemId")).isEqualTo("l1");
+	}
+
+	@Test
+	void lastItemCompletesTheCourse() {
+		course("l1", "l2");
+		enrollment(0b01L).setProgress(50.0);
+		updated(1);
+
+		Map<String, Object> result = service.markCompleted("s@x.dev", "c1", "l2");
+
+		assertThat(result.get("next")).isNull();
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Enrollment.class));
+		assertThat(update.getValue().getUpdateObject().get("$set", Document.class)).containsEntry("status", "Completed");
+		verify(rollupService).progressAdvanced("c1", 50.0, true);
+	}
+
+	@Test
+	void conflictingUpdateIsRetriedFromAFreshRead() {
+		course("l1", "l2", "l3");
+		Enrollment before = enrollment(0L);
+		Enrollment after = enrollment(0b100L);
+		after.setProgress(33.3);
+		when(mongoTemplate.findOne(any(Query.class), eq(Enrollment.class))).thenReturn(before, after);
+		updated(0, 1);
+
+		Map<String, Object> result = service.markCompleted("s@x.dev", "c1", "l1");
+
+		assertThat(result).containsEntry("completedItems", 2);
+		ArgumentCaptor<Query> guard = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate, times(2)).updateFirst(guard.capture(), any(Update.class), eq(Enrollment.class));
+		assertThat(guard.getAllValues().get(1).getQueryObject()).containsEntry("completion.0", 0b100L);
+		verify(rollupService).progressAdvanced(eq("c1"), eq(66.7 - 33.3), eq(false));
+	}
+
+	@Test
+	void persistentConflictsGiveUp() {
+		course("l1");
+		enrollment(0L);
+		updated(0);
+
+		assertThatThrownBy(() -> service.markCompleted("s@x.dev", "c1", "l1"))
+				.hasMessage("Completion update conflicted with concurrent updates, please retry");
+		verify(rollupService, never()).progressAdvanced(any(), anyDouble(), anyBoolean());
+	}
+
+	// One section: the given lectures, then any id starting with "q" as a quiz
+	private void course(String... itemIds) {
+		Section section = new Section();
+		section.setId("s1");
+		List<Object> lectures = new ArrayList<>();
+		List<Quiz> quizzes = new ArrayList<>();
+		Arrays.stream(itemIds).forEach(id -> {
+			if (id.startsWith("q")) {
+				Quiz quiz = new Quiz();
+				quiz.setId(id);
+				quizzes.add(quiz);
+			} else {
+				lectures.add(Map.of("id", id));
+			}
+		});
+		section.setLectures(lectures);
+		section.setQuizzes(quizzes);
+		Course course = new Course();
+		course.setId("c1");
+		course.setSections(List.of(section));
+		when(mongoTemplate.findOne(any(Query.class), eq(Course.class))).thenReturn(course);
+	}
+
+	private Enrollment enrollment(long word) {
+		Enrollment enrollment = new Enrollment();
+		enrollment.setCompletion(word == 0 ? Map.of() : Map.of("0", word));
+		when(mongoTemplate.findOne(any(Query.class), eq(Enrollment.class))).thenReturn(enrollment);
+		return enrollment;
+	}
+
+	private void updated(long first, long... more) {
+		UpdateResult[] rest = Arrays.stream(more).mapToObj(n -> UpdateResult.acknowledged(n, n, null)).toArray(UpdateResult[]::new);
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Enrollment.class)))
+				.thenReturn(UpdateResult.acknowledged(first, first, null), rest);
+	}
+}
@@ -0,0 +1,88 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Note;
+import com.skill_forge.infy_intern.model.Quiz;
+import com.skill_forge.infy_intern.model.QuizQuestion;
+import com.skill_forge.infy_intern.model.Section;
+import com.skill_forge.infy_intern.model.VideoEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseRemapperTest {
+
+	@Test
+	void everyIdInsideTheCourseIsReplaced() {
+		Course course = course(new ArrayList<>());
+
+		CourseRemapper.remap(course, List.of());
+
+		assertThat(course.getId()).isNotEqualTo("c1");
+		Section section = course.getSections().get(0);
+		Quiz quiz = section.getQuizzes().get(0);
+		assertThat(section.getId()).isNotEqualTo("sec1");
+		assertThat(quiz.getId()).isNotEqualTo("q1");
+		assertThat(quiz.getQuestions().get(0).getId()).isNotEqualTo("qq1");
+		assertThat(course.getNotes().get(0).getId()).isNotEqualTo("n1");
+		assertThat(course.getStudentsCount()).isZero();
+	}
+
+	@Test
+	void lectureReferencesFollowTheirVideoRow() {
+		List<Object> lectures = new ArrayList<>();
+		lectures.add(Map.of("id", "v1", "videoId", "v1", "title", "Intro"));
+		lectures.add(Map.of("id", "external", "url", "https://example.com/talk"));
+		Course course = course(lectures);
+		VideoEntity video = new VideoEntity();
+		video.setId("v1");
+		video.setCourseId("c1");
+
+		CourseRemapper.remap(course, List.of(video));
+
+		assertThat(video.getId()).isNotEqualTo("v1");
+		assertThat(video.getCourseId()).isEqualTo(course.getId());
+		Map<?, ?> uploaded = (Map<?, ?>) course.getSections().get(0).getLectures().get(0);
+		assertThat(uploaded.get("id")).isEqualTo(video.getId());
+		assertThat(uploaded.get("videoId")).isEqualTo(video.getId());
+		assertThat(uploaded.get("title")).isEqualTo("Intro");
+		Map<?, ?> linked = (Map<?, ?>) course.getSections().get(0).getLectures().get(1);
+		assertThat(linked.get("id")).isNotEqualTo("external");
+		assertThat(linked.get("url")).isEqualTo("https://example.com/talk");
+	}
+
+	@Test
+	void lectureThatIsNotAMapIsKeptAsIs() {
+		List<Object> lectures = new ArrayList<>();
+		lectures.add("legacy lecture title");
+		Course course = course(lectures);
+
+		CourseRemapper.remap(course, List.of());
+
+		assertThat(course.getSections().get(0).getLectures()).containsExactly("legacy lecture title");
+	}
+
+	private static Course course(List<Object> lectures) {
+		QuizQuestion question = new QuizQuestion();
+		question.setId("qq1");
+		Quiz quiz = new Quiz();
+		quiz.setId("q1");
+		quiz.setQuestions(new ArrayList<>(List.of(question)));
+		Section section = new Section();
+		section.setId("sec1");
+		section.setLectures(lectures);
+		section.setQuizzes(new ArrayList<>(List.of(quiz)));
+		Note note = new Note();
+		note.setId("n1");
+		Course course = new Course();
+		course.setId("c1");
+		course.setStudentsCount(42);
+		course.setSections(new ArrayList<>(List.of(section)));
+		course.setNotes(new ArrayList<>(List.of(note)));
+		return course;
+	}
+}
@@ -0,0 +1,61 @@
+package com.skill_forge.infy_intern.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimerWheelTest {
+
+	private static final long TICK_MS = 20;
+
+	private final BlockingQueue<Fired> fired = new LinkedBlockingQueue<>();
+	// Four slots, so any delay past 80 ms has to survive at least one full rotation
+	private final HashedTimerWheel<String> wheel = new HashedTimerWheel<>("test-wheel", TICK_MS, TimeUnit.MILLISECONDS, 4,
+			items -> fired.add(new Fired(items, System.nanoTime())));
+
+	@AfterEach
+	void close() {
+		wheel.close();
+	}
+
+	@Test
+	void deadlineBeyondOneRotationWaitsForItsRound() throws InterruptedException {
+		long scheduledAt = System.nanoTime();
+		wheel.schedule("late", 10 * TICK_MS, TimeUnit.MILLISECONDS);
+
+		Fired batch = fired.poll(2, TimeUnit.SECONDS);
+		assertThat(batch).isNotNull();
+		assertThat(batch.items()).containsExactly("late");
+		// Accurate to one tick: never fired on an earlier pass over the same slot
+		assertThat(TimeUnit.NANOSECONDS.toMillis(batch.at() - scheduledAt)).isGreaterThanOrEqualTo(9 * TICK_MS);
+	}
+
+	@Test
+	void deadlinesInTheSameTickExpireAsOneBatch() throws InterruptedException {
+		wheel.schedule("a", 3 * TICK_MS, TimeUnit.MILLISECONDS);
+		wheel.schedule("b", 3 * TICK_MS, TimeUnit.MILLISECONDS);
+
+		Fired batch = fired.poll(2, TimeUnit.SECONDS);
+		assertThat(batch).isNotNull();
+		assertThat(batch.items()).containsExactlyInAnyOrder("a", "b");
+	}
+
+	@Test
+	void cancelledTimeoutNeverFires() throws InterruptedException {
+		wheel.schedule("cancelled", 2 * TICK_MS, TimeUnit.MILLISECONDS).cancel();
+		wheel.schedule("kept", 6 * TICK_MS, TimeUnit.MILLISECONDS);
+
+		Fired batch = fired.poll(2, TimeUnit.SECONDS);
+		assertThat(batch).isNotNull();
+		assertThat(batch.items()).containsExactly("kept");
+		assertThat(fired.poll(10 * TICK_MS, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	private record Fired(List<String> items, long at) {}
+}
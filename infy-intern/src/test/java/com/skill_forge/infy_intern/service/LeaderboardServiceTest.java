@@ -0,0 +1,95 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.QuizResponse;
+import com.skill_forge.infy_intern.service.LeaderboardService.Board;
+import com.skill_forge.infy_intern.service.LeaderboardService.Entry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LeaderboardServiceTest {
+
+	@Test
+	void offerKeepsEachStudentsBestEntry() {
+		Board board = new Board(10);
+		Entry first = entry("a", 80, 100);
+
+		assertThat(board.offer(first)).isNull();
+		Entry worse = entry("a", 70, 50);
+		assertThat(board.offer(worse)).isSameAs(worse);
+		assertThat(board.offer(entry("a", 80, 90))).isSameAs(first);
+		assertThat(board.top(10)).extracting(Entry::durationSeconds).containsExactly(90);
+		assertThat(board.size()).isEqualTo(1);
+	}
+
+	@Test
+	void topIsBoundedAndRanksReachPastIt() {
+		Board board = new Board(2);
+		board.offer(entry("a", 90, 60));
+		board.offer(entry("b", 80, 60));
+		board.offer(entry("c", 85, 60));
+
+		assertThat(board.top(10)).extracting(Entry::email).containsExactly("a", "c");
+		assertThat(board.rank("b").rank()).isEqualTo(3);
+		assertThat(board.rank("nobody")).isNull();
+	}
+
+	@Test
+	void tiesOutsideTheTopAreOrderedByDuration() {
+		Board board = new Board(1);
+		board.offer(entry("a", 90, 10));
+		board.offer(entry("b", 80, 30));
+		board.offer(entry("c", 80, 20));
+
+		assertThat(board.rank("c").rank()).isEqualTo(2);
+		assertThat(board.rank("b").rank()).isEqualTo(3);
+	}
+
+	@Test
+	void adjustedEntryThatFallsIsReplacedFromOutsideTheTop() {
+		Board board = new Board(1);
+		board.adjust("a", 90, 60, 0, 1);
+		board.adjust("b", 80, 60, 0, 2);
+		assertThat(board.top(10)).extracting(Entry::email).containsExactly("a");
+
+		board.adjust("a", -20, 0, 0, 3);
+
+		assertThat(board.top(10)).extracting(Entry::email).containsExactly("b");
+		assertThat(board.rank("a").rank()).isEqualTo(2);
+	}
+
+	@Test
+	void durationWithoutAServerAttemptDoesNotWinTies() {
+		LeaderboardService leaderboards = new LeaderboardService(mock(MongoTemplate.class), 10);
+		leaderboards.record(response("fast@x.dev", null, 0));
+		leaderboards.record(response("timed@x.dev", "attempt-1", 120));
+
+		Map<String, Object> board = leaderboards.quizLeaderboard("c1", "q1", 10, null, true);
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> top = (List<Map<String, Object>>) board.get("top");
+		assertThat(top).extracting(row -> row.get("student")).containsExactly("timed@x.dev", "fast@x.dev");
+		assertThat(top.get(1).get("durationSeconds")).isNull();
+	}
+
+	private static Entry entry(String email, int score, int durationSeconds) {
+		return new Entry(email, score, durationSeconds, 0, 0L);
+	}
+
+	private static QuizResponse response(String email, String attemptId, int durationSeconds) {
+		QuizResponse response = new QuizResponse();
+		response.setStudentEmail(email);
+		response.setCourseId("c1");
+		response.setQuizId("q1");
+		response.setScore(90);
+		response.setAttemptId(attemptId);
+		response.setDurationSeconds(durationSeconds);
+		response.setSubmittedAt(Instant.parse("2026-10-18T10:00:00Z"));
+		return response;
+	}
+}
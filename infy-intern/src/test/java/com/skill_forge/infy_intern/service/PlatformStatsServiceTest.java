@@ -0,0 +1,81 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Enrollment;
+import com.skill_forge.infy_intern.model.PlatformStats;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlatformStatsServiceTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final PlatformStatsService service = new PlatformStatsService(mongoTemplate, 30);
+
+	@BeforeEach
+	void emptyCollections() {
+		when(mongoTemplate.aggregate(any(Aggregation.class), any(Class.class), eq(Document.class)))
+				.thenReturn(new AggregationResults<>(List.of(), new Document()));
+		when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), any(Class.class))).thenReturn(mock(BulkOperations.class));
+	}
+
+	@Test
+	void eventsDuringTheScansSurviveTheSwap() {
+		service.enrollmentsAdded(2);
+		when(mongoTemplate.count(any(Query.class), eq(Enrollment.class))).thenAnswer(invocation -> {
+			service.enrollmentsAdded(1); // arrives after the scan counted
+			service.flush(); // the scheduled flush must not write it into the old documents
+			return 10L;
+		});
+
+		service.reconcile();
+
+		assertThat(service.getStats(30)).containsEntry("enrollments", 11L);
+		service.flush();
+		InOrder order = inOrder(mongoTemplate);
+		order.verify(mongoTemplate).findAndReplace(any(Query.class), any(PlatformStats.class), any(FindAndReplaceOptions.class));
+		order.verify(mongoTemplate).upsert(any(Query.class), increment(1), eq(PlatformStats.class));
+	}
+
+	@Test
+	void failedReconcileKeepsEarlierDeltas() {
+		when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(PlatformStats.class)))
+				.thenThrow(new IllegalStateException("down"))
+				.thenReturn(null);
+		when(mongoTemplate.count(any(Query.class), eq(Enrollment.class))).thenThrow(new IllegalStateException("down"));
+		service.enrollmentsAdded(2);
+
+		assertThatThrownBy(service::reconcile).hasMessageContaining("down");
+		service.flush();
+
+		ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate, times(2)).upsert(any(Query.class), updates.capture(), eq(PlatformStats.class));
+		assertThat(updates.getValue().getUpdateObject().get("$inc", Document.class)).containsEntry("enrollments", 2L);
+	}
+
+	private static Update increment(long enrollments) {
+		return argThat(update ->
+				update != null && update.getUpdateObject().get("$inc", Document.class).get("enrollments").equals(enrollments));
+	}
+}
@@ -0,0 +1,50 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Enrollment;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProgressWriteBufferTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final ProgressWriteBuffer buffer = new ProgressWriteBuffer(mongoTemplate, 2);
+
+	@Test
+	void existingEnrollmentIsLookedUpOnce() {
+		when(mongoTemplate.exists(any(Query.class), eq(Enrollment.class))).thenReturn(true);
+
+		assertThat(buffer.isEnrolled("s@x.dev", "c1")).isTrue();
+		assertThat(buffer.isEnrolled("s@x.dev", "c1")).isTrue();
+
+		verify(mongoTemplate, times(1)).exists(any(Query.class), eq(Enrollment.class));
+	}
+
+	@Test
+	void unknownEnrollmentIsLookedUpAgain() {
+		when(mongoTemplate.exists(any(Query.class), eq(Enrollment.class))).thenReturn(false, true);
+
+		assertThat(buffer.isEnrolled("s@x.dev", "c1")).isFalse();
+		assertThat(buffer.isEnrolled("s@x.dev", "c1")).isTrue();
+	}
+
+	@Test
+	void knownEnrollmentsAreBounded() {
+		when(mongoTemplate.exists(any(Query.class), eq(Enrollment.class))).thenReturn(true);
+
+		buffer.isEnrolled("a@x.dev", "c1");
+		buffer.isEnrolled("b@x.dev", "c1");
+		buffer.isEnrolled("c@x.dev", "c1");
+		buffer.isEnrolled("a@x.dev", "c1");
+
+		verify(mongoTemplate, times(4)).exists(any(Query.class), eq(Enrollment.class));
+	}
+}
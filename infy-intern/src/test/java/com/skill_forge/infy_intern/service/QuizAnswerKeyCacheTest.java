@@ -0,0 +1,88 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.Course;
+import com.skill_forge.infy_intern.model.Quiz;
+import com.skill_forge.infy_intern.model.QuizQuestion;
+import com.skill_forge.infy_intern.model.Section;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuizAnswerKeyCacheTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final QuizAnswerKeyCache cache = new QuizAnswerKeyCache(mongoTemplate, 100, 3600);
+
+	@Test
+	void cachedKeyIsServedWithoutReloading() {
+		when(mongoTemplate.findOne(any(Query.class), eq(Course.class))).thenReturn(course(1));
+
+		assertThat(cache.get("c1", "s1", "q1").correctOptions()).containsExactly(1);
+		assertThat(cache.get("c1", "s1", "q1").correctOptions()).containsExactly(1);
+		verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(Course.class));
+	}
+
+	@Test
+	void invalidateDuringLoadIsNotUndoneByTheLoad() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch edited = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		when(mongoTemplate.findOne(any(Query.class), eq(Course.class))).thenAnswer(invocation -> {
+			if (loads.incrementAndGet() == 1) {
+				// The first load reads the course before the edit and finishes after it
+				loading.countDown();
+				assertThat(edited.await(5, TimeUnit.SECONDS)).isTrue();
+				return course(1);
+			}
+			return course(2);
+		});
+
+		CompletableFuture<QuizAnswerKeyCache.AnswerKey> inFlight =
+				CompletableFuture.supplyAsync(() -> cache.get("c1", "s1", "q1"));
+		assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+		cache.invalidate("c1", "s1", "q1");
+		edited.countDown();
+		assertThat(inFlight.get(5, TimeUnit.SECONDS).correctOptions()).containsExactly(1);
+
+		assertThat(cache.get("c1", "s1", "q1").correctOptions()).containsExactly(2);
+	}
+
+	@Test
+	void courseInvalidationDropsEveryQuizOfTheCourse() {
+		when(mongoTemplate.findOne(any(Query.class), eq(Course.class))).thenReturn(course(1), course(3));
+
+		cache.get("c1", "s1", "q1");
+		cache.invalidateCourse("c1");
+
+		assertThat(cache.get("c1", "s1", "q1").correctOptions()).containsExactly(3);
+	}
+
+	private static Course course(int correctOption) {
+		QuizQuestion question = new QuizQuestion("q1-1", "Pick one");
+		question.setOptions(List.of("a", "b", "c", "d"));
+		question.setCorrectOptionIndex(correctOption);
+		Quiz quiz = new Quiz("q1", "Quiz");
+		quiz.setQuestions(List.of(question));
+		Section section = new Section();
+		section.setId("s1");
+		section.setQuizzes(List.of(quiz));
+		Course course = new Course();
+		course.setId("c1");
+		course.setSections(List.of(section));
+		return course;
+	}
+}
@@ -0,0 +1,196 @@
+package com.skill_forge.infy_intern.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.skill_forge.infy_intern.model.QuizAttempt;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuizAttemptServiceTest {
+
+	private static final long GRACE_SECONDS = 5;
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final QuizAnswerKeyCache answerKeyCache = mock(QuizAnswerKeyCache.class);
+	private final QuizAttemptService service = new QuizAttemptService(mongoTemplate, answerKeyCache, GRACE_SECONDS);
+
+	@AfterEach
+	void shutdown() {
+		service.shutdown();
+	}
+
+	@Test
+	void claimOnlyMatchesActiveAttemptsWithinDeadlinePlusGrace() {
+		when(claim()).thenReturn(attempt(QuizAttempt.SUBMITTED, Instant.now().plusSeconds(60)));
+
+		service.claimForSubmission("a1", "s@x.dev", "c1", "s1", "q1");
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(QuizAttempt.class));
+		Document claimable = query.getValue().getQueryObject();
+		assertThat(claimable.get("status")).isEqualTo(QuizAttempt.ACTIVE);
+		Document deadline = (Document) ((Document) ((List<?>) claimable.get("$or")).get(1)).get("expiresAt");
+		assertThat((Instant) deadline.get("$gte")).isCloseTo(Instant.now().minusSeconds(GRACE_SECONDS), within(Duration.ofSeconds(2)));
+	}
+
+	@Test
+	void lateSubmissionIsRejected() {
+		when(claim()).thenReturn(null);
+		when(mongoTemplate.findById("a1", QuizAttempt.class))
+				.thenReturn(attempt(QuizAttempt.ACTIVE, Instant.now().minusSeconds(GRACE_SECONDS + 1)));
+
+		assertThatThrownBy(() -> service.claimForSubmission("a1", "s@x.dev", "c1", "s1", "q1"))
+				.hasMessage("Time limit exceeded for this attempt");
+	}
+
+	@Test
+	void duplicateClaimIsRejected() {
+		QuizAttempt submitted = attempt(QuizAttempt.SUBMITTED, null);
+		when(claim()).thenReturn(submitted, (QuizAttempt) null);
+		when(mongoTemplate.findById("a1", QuizAttempt.class)).thenReturn(submitted);
+
+		assertThat(service.claimForSubmission("a1", "s@x.dev", "c1", "s1", "q1")).isSameAs(submitted);
+		assertThatThrownBy(() -> service.claimForSubmission("a1", "s@x.dev", "c1", "s1", "q1"))
+				.hasMessage("This attempt has already been submitted");
+	}
+
+	@Test
+	void claimBySomeoneElseLooksLikeAMissingAttempt() {
+		when(claim()).thenReturn(null);
+		when(mongoTemplate.findById("a1", QuizAttempt.class)).thenReturn(attempt(QuizAttempt.ACTIVE, null));
+
+		assertThatThrownBy(() -> service.claimForSubmission("a1", "other@x.dev", "c1", "s1", "q1"))
+				.hasMessage("Quiz attempt not found");
+	}
+
+	@Test
+	void claimIsScopedToTheCourseAndSectionOfTheAttempt() {
+		when(claim()).thenReturn(null);
+		when(mongoTemplate.findById("a1", QuizAttempt.class)).thenReturn(attempt(QuizAttempt.ACTIVE, null));
+
+		assertThatThrownBy(() -> service.claimForSubmission("a1", "s@x.dev", "c1", "other-section", "q1"))
+				.hasMessage("Quiz attempt not found");
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(QuizAttempt.class));
+		assertThat(query.getValue().getQueryObject())
+				.containsEntry("courseId", "c1")
+				.containsEntry("sectionId", "other-section");
+	}
+
+	@Test
+	void startIsOneUpsertOnTheActiveAttempt() {
+		when(answerKeyCache.get("c1", "s1", "q1")).thenReturn(new QuizAnswerKeyCache.AnswerKey(new int[]{0}, 70, 4, 0));
+		QuizAttempt active = attempt(QuizAttempt.ACTIVE, null);
+		when(claim()).thenReturn(active);
+
+		assertThat(service.start("s@x.dev", "c1", "s1", "q1")).isSameAs(active);
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+		verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(QuizAttempt.class));
+		assertThat(query.getValue().getQueryObject())
+				.containsEntry("studentEmail", "s@x.dev")
+				.containsEntry("quizId", "q1")
+				.containsEntry("status", QuizAttempt.ACTIVE);
+		assertThat(update.getValue().getUpdateObject().get("$setOnInsert", Document.class))
+				.containsEntry("courseId", "c1")
+				.containsEntry("sectionId", "s1")
+				.containsKey("startedAt")
+				.doesNotContainKey("expiresAt");
+		assertThat(options.getValue().isUpsert()).isTrue();
+		verify(mongoTemplate, never()).insert(any(QuizAttempt.class));
+	}
+
+	@Test
+	void concurrentStartResumesTheAttemptThatWon() {
+		when(answerKeyCache.get("c1", "s1", "q1")).thenReturn(new QuizAnswerKeyCache.AnswerKey(new int[]{0}, 70, 4, 0));
+		when(claim()).thenThrow(new DuplicateKeyException("student_quiz_active"));
+		QuizAttempt winner = attempt(QuizAttempt.ACTIVE, null);
+		when(mongoTemplate.findOne(any(Query.class), eq(QuizAttempt.class))).thenReturn(winner);
+
+		assertThat(service.start("s@x.dev", "c1", "s1", "q1")).isSameAs(winner);
+	}
+
+	@Test
+	void reopenOnlyUndoesTheSameClaim() {
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(QuizAttempt.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+		QuizAttempt claimed = attempt(QuizAttempt.SUBMITTED, null);
+		claimed.setSubmittedAt(Instant.parse("2026-10-18T10:00:00Z"));
+
+		service.reopen(claimed);
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(QuizAttempt.class));
+		assertThat(query.getValue().getQueryObject())
+				.containsEntry("status", QuizAttempt.SUBMITTED)
+				.containsEntry("submittedAt", claimed.getSubmittedAt());
+		assertThat(update.getValue().getUpdateObject().get("$set", Document.class))
+				.containsEntry("status", QuizAttempt.ACTIVE);
+	}
+
+	@Test
+	void expiredAttemptIsClosedByTheWheel() {
+		when(answerKeyCache.get("c1", "s1", "q1")).thenReturn(new QuizAnswerKeyCache.AnswerKey(new int[]{0}, 70, 4, 1));
+		when(claim()).thenAnswer(invocation -> {
+			Update update = invocation.getArgument(1);
+			Document inserted = update.getUpdateObject().get("$setOnInsert", Document.class);
+			QuizAttempt attempt = attempt(QuizAttempt.ACTIVE, inserted.get("expiresAt", Instant.class));
+			attempt.setId(inserted.get("_id", ObjectId.class).toHexString());
+			return attempt;
+		});
+		QuizAttemptService noGrace = new QuizAttemptService(mongoTemplate, answerKeyCache, 0);
+		try {
+			QuizAttempt started = noGrace.start("s@x.dev", "c1", "s1", "q1");
+
+			// The first update closes stale attempts during start, the second comes from the wheel
+			ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+			verify(mongoTemplate, timeout(5_000).times(2)).updateMulti(query.capture(), any(Update.class), eq(QuizAttempt.class));
+			assertThat(query.getValue().getQueryObject().toJson()).contains(started.getId()).contains(QuizAttempt.ACTIVE);
+		} finally {
+			noGrace.shutdown();
+		}
+	}
+
+	private QuizAttempt claim() {
+		return mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(QuizAttempt.class));
+	}
+
+	private static QuizAttempt attempt(String status, Instant expiresAt) {
+		QuizAttempt attempt = new QuizAttempt();
+		attempt.setId("a1");
+		attempt.setStudentEmail("s@x.dev");
+		attempt.setCourseId("c1");
+		attempt.setSectionId("s1");
+		attempt.setQuizId("q1");
+		attempt.setStatus(status);
+		attempt.setStartedAt(Instant.now().minusSeconds(30));
+		attempt.setExpiresAt(expiresAt);
+		return attempt;
+	}
+}
@@ -0,0 +1,124 @@
+package com.skill_forge.infy_intern.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.skill_forge.infy_intern.model.CompactAnswers;
+import com.skill_forge.infy_intern.model.QuizItemStats;
+import com.skill_forge.infy_intern.service.QuizAnswerKeyCache.AnswerKey;
+import com.skill_forge.infy_intern.service.QuizItemAnalysisService.Counters;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuizItemAnalysisServiceTest {
+
+	private static final String KEY = "c1:s1:q1";
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final QuizAnswerKeyCache answerKeyCache = mock(QuizAnswerKeyCache.class);
+	private final QuizItemAnalysisService service = new QuizItemAnalysisService(mongoTemplate, answerKeyCache);
+
+	private final AnswerKey answerKey = new AnswerKey(new int[]{0, 1}, 70, 3, 0);
+	private final AnswerKey edited = new AnswerKey(new int[]{2, 1}, 70, 3, 0);
+
+	@Test
+	void snapshotIsOnlyAddedToWithIncrements() {
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(QuizItemStats.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+		Counters counters = counters(answerKey);
+		counters.add(CompactAnswers.fromList(List.of(0, 2)), answerKey.correctOptions(), 50);
+
+		service.flush(KEY, counters);
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(QuizItemStats.class));
+		assertThat(query.getValue().getQueryObject())
+				.containsEntry("answerKeyHash", QuizItemAnalysisService.answerKeyHash(answerKey));
+		Document inc = update.getValue().getUpdateObject().get("$inc", Document.class);
+		assertThat(inc).containsEntry("responses", 1L)
+				.containsEntry("optionCounts.0", 1)
+				.containsEntry("optionCounts.5", 1)
+				.doesNotContainKey("optionCounts.1");
+		verify(mongoTemplate, never()).save(any());
+		assertThat(counters.dirty).isFalse();
+		assertThat(counters.responses).isZero();
+	}
+
+	@Test
+	void snapshotForAnotherAnswerKeyIsReplaced() {
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(QuizItemStats.class)))
+				.thenReturn(UpdateResult.acknowledged(0, 0L, null));
+		Counters counters = counters(edited);
+		counters.add(CompactAnswers.fromList(List.of(2, 1)), edited.correctOptions(), 100);
+
+		service.flush(KEY, counters);
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(QuizItemStats.class));
+		assertThat(query.getValue().getQueryObject().get("answerKeyHash", Document.class))
+				.containsEntry("$ne", QuizItemAnalysisService.answerKeyHash(edited));
+		assertThat(update.getValue().getUpdateObject().get("$set", Document.class))
+				.containsEntry("responses", 1L)
+				.containsEntry("answerKeyHash", QuizItemAnalysisService.answerKeyHash(edited));
+	}
+
+	@Test
+	void failedFlushKeepsTheCounts() {
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(QuizItemStats.class)))
+				.thenThrow(new DataAccessResourceFailureException("down"));
+		Counters counters = counters(answerKey);
+		counters.add(CompactAnswers.fromList(List.of(0, 1)), answerKey.correctOptions(), 100);
+
+		assertThatThrownBy(() -> service.flush(KEY, counters)).isInstanceOf(DataAccessResourceFailureException.class);
+		assertThat(counters.responses).isEqualTo(1);
+		assertThat(counters.dirty).isTrue();
+	}
+
+	@Test
+	void statsMergeTheSharedSnapshotWithUnsavedCounts() {
+		when(answerKeyCache.get("c1", "s1", "q1")).thenReturn(answerKey);
+		Counters otherInstances = counters(answerKey);
+		otherInstances.add(CompactAnswers.fromList(List.of(0, 1)), answerKey.correctOptions(), 100);
+		otherInstances.add(CompactAnswers.fromList(List.of(1, 1)), answerKey.correctOptions(), 50);
+		when(mongoTemplate.findById(KEY, QuizItemStats.class)).thenReturn(otherInstances.toSnapshot(KEY, "c1", "s1", "q1"));
+
+		service.record("c1", "s1", "q1", answerKey, CompactAnswers.fromList(List.of(0, 0)), 50);
+
+		assertThat(service.getStats("c1", "s1", "q1")).containsEntry("responses", 3L);
+	}
+
+	@Test
+	void editedAnswerKeyIgnoresTheOldSnapshotAndCounts() {
+		when(answerKeyCache.get("c1", "s1", "q1")).thenReturn(edited);
+		Counters old = counters(answerKey);
+		old.add(CompactAnswers.fromList(List.of(0, 1)), answerKey.correctOptions(), 100);
+		when(mongoTemplate.findById(KEY, QuizItemStats.class)).thenReturn(old.toSnapshot(KEY, "c1", "s1", "q1"));
+		service.record("c1", "s1", "q1", answerKey, CompactAnswers.fromList(List.of(0, 1)), 100);
+
+		service.record("c1", "s1", "q1", edited, CompactAnswers.fromList(List.of(2, 1)), 100);
+
+		Map<String, Object> stats = service.getStats("c1", "s1", "q1");
+		assertThat(stats).containsEntry("responses", 1L);
+	}
+
+	private Counters counters(AnswerKey key) {
+		return new Counters(key.questionCount(), key.maxOptions(), QuizItemAnalysisService.answerKeyHash(key));
+	}
+}
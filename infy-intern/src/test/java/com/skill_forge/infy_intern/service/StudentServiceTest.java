@@ -0,0 +1,64 @@
+package com.skill_forge.infy_intern.service;
+
+import com.skill_forge.infy_intern.model.CompactAnswers;
+import com.skill_forge.infy_intern.model.QuizAttempt;
+import com.skill_forge.infy_intern.repository.EnrollmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class StudentServiceTest {
+
+	private final CourseService courseService = mock(CourseService.class);
+	private final QuizAttemptService quizAttemptService = mock(QuizAttemptService.class);
+	private final ProgressWriteBuffer progressWriteBuffer = mock(ProgressWriteBuffer.class);
+	private final StudentService studentService = new StudentService(mock(EnrollmentRepository.class), courseService,
+			progressWriteBuffer, mock(CompletionService.class), quizAttemptService,
+			mock(AnalyticsRollupService.class), mock(PlatformStatsService.class), mock(MongoTemplate.class));
+
+	private final CompactAnswers answers = CompactAnswers.fromList(List.of(1, 2));
+
+	@Test
+	void progressForUnknownEnrollmentIsRejected() {
+		when(progressWriteBuffer.isEnrolled("s@x.dev", "junk")).thenReturn(false);
+
+		assertThatThrownBy(() -> studentService.updateProgress("s@x.dev", "junk", 0.5))
+				.hasMessage("Enrollment not found");
+		verify(progressWriteBuffer, never()).record(anyString(), anyString(), anyDouble());
+	}
+
+	@Test
+	void submissionWithoutAttemptIsRejected() {
+		assertThatThrownBy(() -> studentService.gradeQuiz("c1", "s1", "q1", "s@x.dev", answers, null))
+				.hasMessage("Start the quiz before submitting");
+		verifyNoInteractions(quizAttemptService, courseService);
+	}
+
+	@Test
+	void gradingFailureReopensTheAttempt() {
+		QuizAttempt claimed = new QuizAttempt();
+		claimed.setId("a1");
+		claimed.setStartedAt(Instant.now().minusSeconds(40));
+		claimed.setSubmittedAt(Instant.now());
+		when(quizAttemptService.claimForSubmission("a1", "s@x.dev", "c1", "s1", "q1")).thenReturn(claimed);
+		when(courseService.gradeQuizSubmission(anyString(), anyString(), anyString(), anyString(), any(), anyString(), anyInt()))
+				.thenThrow(new RuntimeException("Course not found"));
+
+		assertThatThrownBy(() -> studentService.gradeQuiz("c1", "s1", "q1", "s@x.dev", answers, "a1"))
+				.hasMessage("Course not found");
+		verify(quizAttemptService).reopen(claimed);
+	}
+}
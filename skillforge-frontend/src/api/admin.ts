@@ -1,4 +1,5 @@
 import apiClient from './http'
+import type { AdminUserPage, PlatformStats, UserRole } from '../types'
 
 export const getAdminSnapshot = async (): Promise<string> => {
   const { data } = await apiClient.get<string>('/api/user/admin')
@@ -15,3 +16,26 @@ export const getStudentSnapshot = async (): Promise<string> => {
   return data
 }
 
+
+export const getAdminUsers = async (params: { role?: UserRole; after?: string; size?: number }) => {
+  const { data } = await apiClient.get<AdminUserPage>('/api/admin/users', { params })
+  return data
+}
+
+export const downloadUsersCsv = async (role?: UserRole) => {
+  const { data } = await apiClient.get<Blob>('/api/admin/users/export', {
+    params: role ? { role } : undefined,
+    responseType: 'blob',
+  })
+  const url = URL.createObjectURL(data)
+  const link = document.createElement('a')
+  link.href = url
+  link.download = role ? `users-${role.toLowerCase()}.csv` : 'users.csv'
+  link.click()
+  URL.revokeObjectURL(url)
+}
+
+export const getPlatformStats = async (days = 14): Promise<PlatformStats> => {
+  const { data } = await apiClient.get<PlatformStats>('/api/admin/stats', { params: { days } })
+  return data
+}
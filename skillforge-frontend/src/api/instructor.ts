@@ -1,16 +1,30 @@
 import apiClient from './http'
-import type { Course, VideoEntity, Quiz } from '../types'
+import type { Course, VideoEntity, Quiz, InstructorDashboard } from '../types'
 
 export const getInstructorCourses = async (): Promise<Course[]> => {
   const { data } = await apiClient.get<Course[]>('/api/instructor/courses')
   return data
 }
 
+export const getInstructorDashboard = async (): Promise<InstructorDashboard> => {
+  const { data } = await apiClient.get<InstructorDashboard>('/api/instructor/dashboard')
+  return data
+}
+
 export const createCourse = async (course: Partial<Course>) => {
   const { data } = await apiClient.post<Course>('/api/instructor/courses/create', course)
   return data
 }
 
+export const cloneCourse = async (courseId: string, title?: string) => {
+  const { data } = await apiClient.post<{ course: Course; videos: number; failedVideos: number }>(
+    `/api/instructor/courses/${courseId}/clone`,
+    null,
+    { params: title ? { title } : undefined }
+  )
+  return data
+}
+
 export const addSection = async (courseId: string, sectionTitle: string) => {
   const { data } = await apiClient.post<Course>(
     `/api/instructor/courses/${courseId}/add-section`,
@@ -39,16 +39,42 @@ export const updateProgress = async (email: string, courseId: string, progress:
   return data
 }
 
+// Marks a lecture or quiz as finished; the server derives the enrollment's progress from these
+export const completeItem = async (email: string, courseId: string, itemId: string) => {
+  const { data } = await apiClient.post(
+    `/api/student/course/${courseId}/items/${itemId}/complete`,
+    null,
+    { params: { email } }
+  )
+  return data as { progress: number; completedItems: number; totalItems: number }
+}
+
+export const startQuizAttempt = async (
+  courseId: string,
+  sectionId: string,
+  quizId: string,
+  email: string
+) => {
+  const { data } = await apiClient.post(
+    `/api/student/course/${courseId}/sections/${sectionId}/quizzes/${quizId}/start`,
+    null,
+    { params: { email } }
+  )
+  return data as { id: string; expiresAt?: string | null }
+}
+
 export const submitQuiz = async (
   courseId: string,
   sectionId: string,
   quizId: string,
   studentEmail: string,
   answers: Record<number, number>,
-  durationSeconds?: number
+  durationSeconds?: number,
+  attemptId?: string
 ) => {
   const payload: any = { studentEmail, answers }
   if (durationSeconds !== undefined) payload.durationSeconds = durationSeconds
+  if (attemptId) payload.attemptId = attemptId
   const { data } = await apiClient.post(`/api/student/course/${courseId}/sections/${sectionId}/quizzes/${quizId}/submit`, payload)
   return data
 }
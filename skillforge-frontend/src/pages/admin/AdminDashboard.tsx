@@ -1,6 +1,6 @@
 import { useQuery } from '@tanstack/react-query'
 import { browseCourses } from '../../api/student'
-import { getAdminSnapshot } from '../../api/admin'
+import { getAdminSnapshot, getPlatformStats } from '../../api/admin'
 import LoadingScreen from '../../components/common/LoadingScreen'
 import StatCard from '../../components/common/StatCard'
 
@@ -10,6 +10,12 @@ const AdminDashboard = () => {
     queryFn: getAdminSnapshot,
   })
 
+  const { data: stats } = useQuery({
+    queryKey: ['platform-stats'],
+    queryFn: () => getPlatformStats(14),
+    refetchInterval: 60_000,
+  })
+
   const { data: courses, isLoading } = useQuery({
     queryKey: ['catalog'],
     queryFn: browseCourses,
@@ -20,6 +26,8 @@ const AdminDashboard = () => {
   }
 
   const totalVideos = courses.reduce((sum, course) => sum + (course.videoCount ?? 0), 0)
+  const storageGb = stats ? (stats.storageBytes / 1024 ** 3).toFixed(2) : null
+  const peak = Math.max(1, ...(stats?.daily.map((day) => day.enrollments) ?? []))
 
   return (
     <div className="space-y-8">
@@ -33,6 +41,51 @@ const AdminDashboard = () => {
         <StatCard label="Video assets" value={totalVideos} helper="Pulled from MongoDB counts" />
         <StatCard label="Storage provider" value="Cloudinary" helper="Streaming-ready" />
       </div>
+      {stats && (
+        <div className="grid md:grid-cols-4 gap-4">
+          <StatCard
+            label="Users"
+            value={stats.users.total}
+            helper={Object.entries(stats.users.byRole)
+              .map(([role, count]) => `${count} ${role.toLowerCase()}`)
+              .join(' · ')}
+          />
+          <StatCard
+            label="Courses"
+            value={stats.courses.total}
+            helper={Object.entries(stats.courses.byStatus)
+              .map(([status, count]) => `${count} ${status}`)
+              .join(' · ')}
+          />
+          <StatCard label="Enrollments" value={stats.enrollments} />
+          <StatCard
+            label="Quiz submissions"
+            value={stats.quizSubmissions}
+            helper={`${stats.quizPassRate}% passed · ${stats.videos} videos · ${storageGb} GB stored`}
+          />
+        </div>
+      )}
+      {stats && (
+        <div className="glass-panel p-6">
+          <h2 className="text-xl font-semibold text-slate-900 mb-4">Last 14 days</h2>
+          <div className="space-y-2">
+            {stats.daily.map((day) => (
+              <div key={day.date} className="flex items-center gap-3 text-xs text-slate-500">
+                <span className="w-20 shrink-0">{day.date.slice(5)}</span>
+                <div className="flex-1 h-2 bg-slate-100 rounded-full overflow-hidden">
+                  <div
+                    className="h-full bg-brand-500"
+                    style={{ width: `${(day.enrollments / peak) * 100}%` }}
+                  />
+                </div>
+                <span className="w-64 shrink-0 text-right">
+                  {day.enrollments} enrollments · {day.signups} signups · {day.quizSubmissions} quizzes
+                </span>
+              </div>
+            ))}
+          </div>
+        </div>
+      )}
       <div className="glass-panel p-6">
         <h2 className="text-xl font-semibold text-slate-900 mb-4">Catalog overview</h2>
         <div className="space-y-3 max-h-[420px] overflow-y-auto">
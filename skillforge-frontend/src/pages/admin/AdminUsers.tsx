@@ -1,9 +1,22 @@
-import { useMemo } from 'react'
-import { useQuery } from '@tanstack/react-query'
+import { useMemo, useState } from 'react'
+import { useInfiniteQuery, useQuery } from '@tanstack/react-query'
+import toast from 'react-hot-toast'
 import { browseCourses } from '../../api/student'
+import { downloadUsersCsv, getAdminUsers } from '../../api/admin'
+import type { UserRole } from '../../types'
 import LoadingScreen from '../../components/common/LoadingScreen'
 
+const ROLES: UserRole[] = ['STUDENT', 'INSTRUCTOR', 'ADMIN']
+
 const AdminUsers = () => {
+  const [role, setRole] = useState<UserRole | undefined>()
+  const [exporting, setExporting] = useState(false)
+  const users = useInfiniteQuery({
+    queryKey: ['admin-users', role],
+    queryFn: ({ pageParam }) => getAdminUsers({ role, after: pageParam, size: 50 }),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextCursor ?? undefined,
+  })
   const { data: courses, isLoading } = useQuery({
     queryKey: ['catalog'],
     queryFn: browseCourses,
@@ -23,6 +36,17 @@ const AdminUsers = () => {
     return <LoadingScreen message="Aggregating instructors..." />
   }
 
+  const exportCsv = async () => {
+    setExporting(true)
+    try {
+      await downloadUsersCsv(role)
+    } catch {
+      toast.error('Unable to export users')
+    } finally {
+      setExporting(false)
+    }
+  }
+
   return (
     <div className="space-y-6">
       <div>
@@ -32,6 +56,61 @@ const AdminUsers = () => {
           here.
         </p>
       </div>
+      <div className="glass-panel p-6 space-y-4">
+        <div className="flex flex-wrap items-center justify-between gap-3">
+          <h2 className="text-lg font-semibold text-slate-900">Registered users</h2>
+          <div className="flex items-center gap-2">
+            <select
+              value={role ?? ''}
+              onChange={(event) => setRole((event.target.value || undefined) as UserRole | undefined)}
+              className="border border-slate-200 rounded-lg px-3 py-2 text-sm"
+            >
+              <option value="">All roles</option>
+              {ROLES.map((value) => (
+                <option key={value} value={value}>
+                  {value}
+                </option>
+              ))}
+            </select>
+            <button
+              type="button"
+              onClick={exportCsv}
+              disabled={exporting}
+              className="bg-brand-500 hover:bg-brand-600 text-white px-4 py-2 rounded-lg text-sm transition"
+            >
+              {exporting ? 'Exporting...' : 'Export CSV'}
+            </button>
+          </div>
+        </div>
+        <div className="space-y-2">
+          {users.data?.pages.flatMap((page) => page.users).map((person) => (
+            <div
+              key={person.id}
+              className="flex items-center justify-between border border-slate-200 rounded-lg px-4 py-2 text-sm"
+            >
+              <div>
+                <p className="font-semibold text-slate-800">{person.name}</p>
+                <p className="text-slate-500">{person.email}</p>
+              </div>
+              <span className="text-xs font-semibold text-brand-600 uppercase">{person.role}</span>
+            </div>
+          ))}
+          {users.isLoading && <p className="text-sm text-slate-500">Loading users...</p>}
+          {users.data && !users.data.pages[0].users.length && (
+            <p className="text-sm text-slate-500">No users found.</p>
+          )}
+        </div>
+        {users.hasNextPage && (
+          <button
+            type="button"
+            onClick={() => users.fetchNextPage()}
+            disabled={users.isFetchingNextPage}
+            className="w-full border border-slate-200 rounded-lg py-2 text-sm text-slate-700 hover:bg-slate-50"
+          >
+            {users.isFetchingNextPage ? 'Loading...' : 'Load more'}
+          </button>
+        )}
+      </div>
       <div className="glass-panel p-6 space-y-4">
         <h2 className="text-lg font-semibold text-slate-900">Instructor footprint</h2>
         <div className="space-y-2">
@@ -53,7 +132,6 @@ const AdminUsers = () => {
       <div className="glass-panel p-6">
         <h2 className="text-lg font-semibold text-slate-900 mb-2">Roadmap</h2>
         <ul className="list-disc text-sm text-slate-600 pl-5 space-y-1">
-          <li>Wire dedicated `/api/admin/users` endpoint to list all registered users</li>
           <li>Attach moderation actions (ban/reset password) via JWT-protected routes</li>
           <li>Plug analytics (active sessions, Cloudinary bandwidth) for compliance</li>
         </ul>
@@ -1,5 +1,6 @@
-import { useQuery } from '@tanstack/react-query'
-import { getInstructorCourses } from '../../api/instructor'
+import { useMutation, useQuery, useQueryClient } from '@tanstack/react-query'
+import toast from 'react-hot-toast'
+import { cloneCourse, getInstructorCourses, getInstructorDashboard } from '../../api/instructor'
 import LoadingScreen from '../../components/common/LoadingScreen'
 import StatCard from '../../components/common/StatCard'
 import CourseCard from '../../components/common/CourseCard'
@@ -7,10 +8,24 @@ import { useAuth } from '../../contexts/AuthContext'
 
 const InstructorDashboard = () => {
   const { user } = useAuth()
+  const queryClient = useQueryClient()
   const { data: courses, isLoading } = useQuery({
     queryKey: ['instructor-courses'],
     queryFn: getInstructorCourses,
   })
+  const { data: analytics } = useQuery({
+    queryKey: ['instructor-dashboard'],
+    queryFn: getInstructorDashboard,
+  })
+  const cloneMutation = useMutation({
+    mutationFn: (courseId: string) => cloneCourse(courseId),
+    onSuccess: (result) => {
+      toast.success(`Cloned as "${result.course.title}"`)
+      queryClient.invalidateQueries({ queryKey: ['instructor-courses'] })
+      queryClient.invalidateQueries({ queryKey: ['instructor-dashboard'] })
+    },
+    onError: () => toast.error('Unable to clone course'),
+  })
 
   if (isLoading || !courses) {
     return <LoadingScreen message="Fetching courses..." />
@@ -29,12 +44,32 @@ const InstructorDashboard = () => {
         <StatCard label="Published" value={published} />
         <StatCard label="Cloud videos" value={courses.reduce((sum, c) => sum + (c.videoCount ?? 0), 0)} />
       </div>
+      {analytics && (
+        <div className="grid md:grid-cols-3 gap-4">
+          <StatCard
+            label="Enrollments"
+            value={analytics.totals.enrollments}
+            helper={`${analytics.totals.completedEnrollments} completed`}
+          />
+          <StatCard label="Average progress" value={`${analytics.totals.averageProgress}%`} />
+          <StatCard
+            label="Quiz pass rate"
+            value={`${analytics.totals.quizPassRate}%`}
+            helper={`${analytics.totals.quizAttempts} attempts`}
+          />
+        </div>
+      )}
       <section className="space-y-4">
         <h2 className="text-xl font-semibold text-slate-900">Your catalog</h2>
         {courses.length ? (
           <div className="grid md:grid-cols-2 gap-4">
             {courses.map((course) => (
-              <CourseCard key={course.id} course={course} />
+              <CourseCard
+                key={course.id}
+                course={course}
+                actionLabel={cloneMutation.isPending ? 'Cloning...' : 'Duplicate for new cohort'}
+                onAction={(courseId) => cloneMutation.mutate(courseId)}
+              />
             ))}
           </div>
         ) : (
@@ -1,7 +1,7 @@
 import { useMemo, useState, useRef, useEffect } from 'react'
 import { useParams } from 'react-router-dom'
-import { useMutation, useQueries } from '@tanstack/react-query'
-import { getCourseById, getCourseVideos, updateProgress, getMyCourses, submitQuiz as submitQuizApi } from '../../api/student'
+import { useMutation, useQueries, useQueryClient } from '@tanstack/react-query'
+import { getCourseById, getCourseVideos, updateProgress, getMyCourses, submitQuiz as submitQuizApi, startQuizAttempt, completeItem } from '../../api/student'
 import LoadingScreen from '../../components/common/LoadingScreen'
 import VideoPlayer from '../../components/common/VideoPlayer'
 import { useAuth } from '../../contexts/AuthContext'
@@ -11,6 +11,7 @@ import type { Quiz } from '../../types'
 const CoursePlayer = () => {
   const { courseId } = useParams<{ courseId: string }>()
   const { user } = useAuth()
+  const queryClient = useQueryClient()
 
   const [courseQuery, videoQuery] = useQueries({
     queries: [
@@ -33,6 +34,7 @@ const CoursePlayer = () => {
   const [quizAnswers, setQuizAnswers] = useState<{ [questionId: number]: number }>({})
   const [quizSubmitted, setQuizSubmitted] = useState(false)
   const [quizScore, setQuizScore] = useState(0)
+  const [quizAttemptId, setQuizAttemptId] = useState<string | null>(null)
 
   const videos = videoQuery.data ?? []
   const currentVideo = useMemo(
@@ -49,6 +51,16 @@ const CoursePlayer = () => {
 
   const [currentProgress, setCurrentProgress] = useState<number>(0)
   const debounceRef = useRef<any>(null)
+  // Lectures already reported as finished in this session (lecture id = video id)
+  const completedRef = useRef<Set<string>>(new Set())
+
+  const completeMutation = useMutation({
+    mutationFn: (itemId: string) => completeItem(user?.email ?? '', courseId ?? '', itemId),
+    onSuccess: () => queryClient.invalidateQueries({ queryKey: ['my-courses'] }),
+    onError: (_err, itemId) => {
+      completedRef.current.delete(itemId) // let the next heartbeat retry
+    },
+  })
 
   // Fetch existing enrollment progress for this course
   useEffect(() => {
@@ -57,7 +69,8 @@ const CoursePlayer = () => {
     getMyCourses(user.email).then((enrollments) => {
       if (!mounted) return
       const enrollment = enrollments.find((e) => e.courseId === courseId)
-      if (enrollment) setCurrentProgress(Math.round(enrollment.progress ?? 0))
+      // Player position; enrollment.progress counts completed lectures and quizzes
+      if (enrollment) setCurrentProgress(Math.round(enrollment.watchProgress ?? 0))
     })
     return () => {
       mounted = false
@@ -68,6 +81,13 @@ const CoursePlayer = () => {
     // update UI immediately
     setCurrentProgress(percent)
 
+    // Course progress counts finished lectures: report each one once, near its end
+    const videoId = currentVideo?.id
+    if (percent >= 95 && videoId && user?.email && !completedRef.current.has(videoId)) {
+      completedRef.current.add(videoId)
+      completeMutation.mutate(videoId)
+    }
+
     // debounce server updates to once per 2s
     if (debounceRef.current) clearTimeout(debounceRef.current)
     debounceRef.current = setTimeout(() => {
@@ -75,11 +95,30 @@ const CoursePlayer = () => {
     }, 2000)
   }
 
+  const sectionIdOf = (quiz: Quiz) =>
+    courseQuery.data?.sections?.find((s) => s.quizzes?.some((q) => q.id === quiz.id))?.id ?? ''
+
+  // The server starts the clock; every quiz is only graded against this attempt
+  const startQuiz = async (quiz: Quiz) => {
+    setSelectedQuiz(quiz)
+    setQuizAnswers({})
+    setQuizSubmitted(false)
+    setQuizAttemptId(null)
+    if (!user?.email || !quiz.id) return
+    try {
+      const attempt = await startQuizAttempt(courseId ?? '', sectionIdOf(quiz), quiz.id, user.email)
+      setQuizAttemptId(attempt.id)
+    } catch (err) {
+      console.error(err)
+      toast.error('Unable to start quiz')
+    }
+  }
+
   const submitQuiz = async () => {
     if (!selectedQuiz || !user?.email) return
 
     try {
-      const sectionId = courseQuery.data?.sections?.find((s) => s.quizzes?.some((q) => q.id === selectedQuiz.id))?.id ?? ''
+      const sectionId = sectionIdOf(selectedQuiz)
       const answersPayload: Record<number, number> = {}
       Object.keys(quizAnswers).forEach((k) => {
         answersPayload[Number(k)] = quizAnswers[Number(k)]
@@ -91,7 +130,8 @@ const CoursePlayer = () => {
         selectedQuiz.id ?? '',
         user.email,
         answersPayload,
-        undefined
+        undefined,
+        quizAttemptId ?? undefined
       )
 
       setQuizScore(resp.score ?? 0)
@@ -110,6 +150,7 @@ const CoursePlayer = () => {
     setQuizAnswers({})
     setQuizSubmitted(false)
     setQuizScore(0)
+    setQuizAttemptId(null)
   }
 
   // Get all quizzes from current course sections
@@ -179,11 +220,7 @@ const CoursePlayer = () => {
                     <button
                       key={quiz.id}
                       type="button"
-                      onClick={() => {
-                        setSelectedQuiz(quiz)
-                        setQuizAnswers({})
-                        setQuizSubmitted(false)
-                      }}
+                      onClick={() => startQuiz(quiz)}
                       className="w-full text-left p-3 rounded-xl border border-amber-200 bg-amber-50 hover:bg-amber-100 transition"
                     >
                       <p className="text-sm font-semibold text-slate-900">{quiz.title}</p>
@@ -7,6 +7,18 @@ export interface UserProfile {
   role: UserRole
 }
 
+export interface AdminUser extends UserProfile {
+  headline?: string
+  avatarUrl?: string
+}
+
+export interface AdminUserPage {
+  users: AdminUser[]
+  size: number
+  hasMore: boolean
+  nextCursor: string | null
+}
+
 export interface Lecture {
   id: string
   title: string
@@ -30,6 +42,7 @@ export interface Quiz {
   description?: string
   questions: QuizQuestion[]
   passingScore?: number
+  timeLimitSeconds?: number
   isPublished?: boolean
 }
 
@@ -40,6 +53,46 @@ export interface Section {
   quizzes?: Quiz[]
 }
 
+export interface RollupCounters {
+  title?: string
+  enrollments: number
+  completedEnrollments: number
+  averageProgress: number
+  quizAttempts: number
+  quizPassRate: number
+}
+
+export interface InstructorDashboard {
+  id: string
+  courseCount: number
+  totals: RollupCounters
+  courses: Record<string, RollupCounters>
+  updatedAt?: string
+}
+
+export interface PlatformDailyPoint {
+  date: string
+  signups: number
+  coursesCreated: number
+  enrollments: number
+  quizSubmissions: number
+  videosAdded: number
+}
+
+export interface PlatformStats {
+  users: { total: number; byRole: Record<string, number> }
+  courses: { total: number; byStatus: Record<string, number> }
+  enrollments: number
+  quizSubmissions: number
+  quizPassRate: number
+  videos: number
+  storageBytes: number
+  daily: PlatformDailyPoint[]
+  loaded: boolean
+  updatedAt?: string
+  reconciledAt?: string
+}
+
 export interface Course {
   id: string
   title: string
@@ -66,6 +119,7 @@ export interface Enrollment {
   instructorName?: string
   thumbnail?: string
   progress: number
+  watchProgress?: number
   status?: string
 }
 